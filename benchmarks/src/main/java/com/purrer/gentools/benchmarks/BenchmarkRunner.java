@@ -0,0 +1,28 @@
+package com.purrer.gentools.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with {@link GCProfiler}, so allocation rate and GC counts are reported for every benchmark.
+ * Accepts the usual JMH command line options, for example:
+ * <pre>
+ *     java -jar target/benchmarks.jar CrossingBenchmark -p loci=8 -p vocabulary=MULTI_CHAR
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
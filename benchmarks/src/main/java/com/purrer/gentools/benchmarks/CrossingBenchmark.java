@@ -0,0 +1,75 @@
+package com.purrer.gentools.benchmarks;
+
+import com.purrer.gentools.crossing.PolyhybridCrossing;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
+import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.validation.SequenceValidationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enumeration of gametes and the Punnett square. Both grow exponentially with the number of heterozygous loci,
+ * so the number of loci is limited to the sizes which finish in seconds. Both parents have the same zygosity,
+ * so homozygous parents can be measured up to 26 loci with <code>-p loci=26 -p zygosity=HOMOZYGOUS</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrossingBenchmark {
+
+    @Param({"1", "2", "4", "6", "8", "10"})
+    private int loci;
+
+    @Param({"SINGLE_CHAR", "MULTI_CHAR"})
+    private Sequences.Vocabulary vocabulary;
+
+    @Param({"HOMOZYGOUS", "HETEROZYGOUS"})
+    private Sequences.Zygosity zygosity;
+
+    private GameteCombiner combiner;
+    private PolyhybridCrossing crossing;
+    private String male;
+    private String female;
+
+    @Setup
+    public void setUp() {
+        Set<AllelePair> allelePairs = Sequences.allelePairs(vocabulary);
+        TokenizingGameteGroupsExtractor extractor =
+                new TokenizingGameteGroupsExtractor(new TrieAllelePairsTokenizer(allelePairs));
+        SequenceValidationImpl validation = new SequenceValidationImpl(extractor, allelePairs);
+        combiner = new GameteCombiner(validation);
+        crossing = new PolyhybridCrossing(combiner, validation, allelePairs);
+        male = Sequences.sequence(vocabulary, zygosity, loci);
+        female = Sequences.sequence(vocabulary, zygosity, loci);
+    }
+
+    @Benchmark
+    public List<String> getGametes() {
+        return combiner.getGametes(male);
+    }
+
+    @Benchmark
+    public Map<String, Integer> crossing() {
+        return crossing.crossing(male, female);
+    }
+
+}
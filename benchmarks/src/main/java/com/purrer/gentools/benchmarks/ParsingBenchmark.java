@@ -0,0 +1,77 @@
+package com.purrer.gentools.benchmarks;
+
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
+import com.purrer.gentools.interfaces.Token;
+import com.purrer.gentools.tokenizers.AllelePairsTokenizer;
+import com.purrer.gentools.validation.SequenceValidationImpl;
+import com.purrer.gentools.validation.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenization, extraction of gamete groups and validation of a pair of parents
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+
+    @Param({"1", "2", "4", "8", "13", "26"})
+    private int loci;
+
+    @Param({"SINGLE_CHAR", "MULTI_CHAR"})
+    private Sequences.Vocabulary vocabulary;
+
+    @Param({"HOMOZYGOUS", "HETEROZYGOUS"})
+    private Sequences.Zygosity zygosity;
+
+    private AllelePairsTokenizer tokenizer;
+    private TokenizingGameteGroupsExtractor extractor;
+    private SequenceValidationImpl validation;
+    private String male;
+    private String female;
+
+    @Setup
+    public void setUp() {
+        Set<AllelePair> allelePairs = Sequences.allelePairs(vocabulary);
+        tokenizer = new AllelePairsTokenizer(allelePairs);
+        extractor = new TokenizingGameteGroupsExtractor(tokenizer);
+        validation = new SequenceValidationImpl(extractor, allelePairs);
+        male = Sequences.sequence(vocabulary, zygosity, loci);
+        female = Sequences.sequence(vocabulary, Sequences.Zygosity.HETEROZYGOUS, loci);
+    }
+
+    @Benchmark
+    public List<Token> tokenize() {
+        return tokenizer.tokenize(male);
+    }
+
+    @Benchmark
+    public List<GametePair> tokenizingExtractor() {
+        return extractor.getGameteGroups(male);
+    }
+
+    @Benchmark
+    public ValidationResult validateSequencePair() {
+        return validation.validateSequencePair(male, female);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.purrer.gentools.benchmarks;
+
+import com.purrer.gentools.entities.AllelePair;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Allele vocabularies and parents of the benchmarks
+ */
+public final class Sequences {
+
+    private Sequences() {
+    }
+
+    public enum Vocabulary {
+        /**
+         * Latin letters: A/a, B/b, ...
+         */
+        SINGLE_CHAR,
+
+        /**
+         * Two-letter alleles, which can't be split by symbols: Ax/ax, Bx/bx, ...
+         */
+        MULTI_CHAR;
+
+        AllelePair pair(int locus) {
+            String letter = String.valueOf((char) ('a' + locus));
+            String suffix = this == SINGLE_CHAR ? "" : "x";
+            return new AllelePair(letter.toUpperCase() + suffix, letter + suffix);
+        }
+    }
+
+    public enum Zygosity {
+        /**
+         * Every locus is dominant homozygous, so the parent has a single distinct gamete
+         */
+        HOMOZYGOUS,
+
+        /**
+         * Every locus is heterozygous, so the parent has 2 ^ loci distinct gametes
+         */
+        HETEROZYGOUS
+    }
+
+    /**
+     * @return allele pairs of all the latin letters, so sequences of any number of loci can be parsed
+     */
+    static Set<AllelePair> allelePairs(Vocabulary vocabulary) {
+        Set<AllelePair> pairs = new LinkedHashSet<>();
+        for (int locus = 0; locus < 26; locus++) {
+            pairs.add(vocabulary.pair(locus));
+        }
+        return pairs;
+    }
+
+    static String sequence(Vocabulary vocabulary, Zygosity zygosity, int loci) {
+        StringBuilder builder = new StringBuilder();
+        for (int locus = 0; locus < loci; locus++) {
+            AllelePair pair = vocabulary.pair(locus);
+            builder.append(pair.getDominant())
+                    .append(zygosity == Zygosity.HOMOZYGOUS ? pair.getDominant() : pair.getRecessive());
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.purrer.gentools.benchmarks;
+
+import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.extractor.SymbolGameteGroupsExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extraction of gamete groups by symbols, which supports only the single-char vocabulary
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolExtractorBenchmark {
+
+    @Param({"1", "2", "4", "8", "13", "26"})
+    private int loci;
+
+    @Param({"HOMOZYGOUS", "HETEROZYGOUS"})
+    private Sequences.Zygosity zygosity;
+
+    private final SymbolGameteGroupsExtractor extractor = new SymbolGameteGroupsExtractor();
+    private String sequence;
+
+    @Setup
+    public void setUp() {
+        sequence = Sequences.sequence(Sequences.Vocabulary.SINGLE_CHAR, zygosity, loci);
+    }
+
+    @Benchmark
+    public List<GametePair> symbolExtractor() {
+        return extractor.getGameteGroups(sequence);
+    }
+
+}
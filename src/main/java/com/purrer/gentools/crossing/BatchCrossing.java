@@ -0,0 +1,144 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.Crossing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Crosses every parent of one list with every parent of another list. The work which depends on a single parent
+ * (parsing, validation and enumeration of gametes) is done once per distinct parent, every unordered pair
+ * of parents is crossed once, because crossing of <code>a</code> with <code>b</code> gives the same result
+ * as crossing of <code>b</code> with <code>a</code>, and the pairs are crossed in parallel.
+ */
+public class BatchCrossing {
+
+    private final Crossing crossing;
+    private final Executor executor;
+
+    /**
+     * @param crossing crossing of the pairs, which runs in {@link ForkJoinPool#commonPool()}
+     */
+    public BatchCrossing(Crossing crossing) {
+        this(crossing, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param crossing crossing of the pairs
+     * @param executor executor in which parents are prepared and pairs are crossed
+     */
+    public BatchCrossing(Crossing crossing, Executor executor) {
+        this.crossing = Objects.requireNonNull(crossing);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Crosses every male with every female
+     *
+     * @param males   gene sequences of males in format: AaBbCc
+     * @param females gene sequences of females in same format and length as males
+     * @return counting maps of all possible genotypes: <code>result.get(i).get(j)</code> is the result of crossing
+     * of the <code>i</code>-th male with the <code>j</code>-th female. Results of the same pair of parents are
+     * shared and unmodifiable
+     * @throws IllegalArgumentException if some pair of sequences is invalid
+     */
+    public List<List<Map<String, Integer>>> crossAll(List<String> males, List<String> females) {
+        List<List<Map<String, Integer>>> result = new ArrayList<>(males.size());
+        for (int male = 0; male < males.size(); male++) {
+            result.add(new ArrayList<>(Collections.nCopies(females.size(), null)));
+        }
+        crossAll(males, females, (male, female, punnettSquare) -> result.get(male).set(female, punnettSquare));
+        return result;
+    }
+
+    /**
+     * Crosses every male with every female and passes every result to the consumer as soon as it's ready. The
+     * consumer is called from the threads of the executor, so it should be thread-safe. The method returns
+     * when all the pairs are crossed
+     *
+     * @param males    gene sequences of males in format: AaBbCc
+     * @param females  gene sequences of females in same format and length as males
+     * @param consumer consumer of the results
+     * @throws IllegalArgumentException if some pair of sequences is invalid. Results of the other pairs are still
+     *                                  passed to the consumer
+     */
+    public void crossAll(List<String> males, List<String> females, ResultConsumer consumer) {
+        Map<String, CompletableFuture<PreparedParent>> parents = new HashMap<>();
+        Map<List<String>, List<int[]>> pairs = new LinkedHashMap<>();
+        for (int male = 0; male < males.size(); male++) {
+            for (int female = 0; female < females.size(); female++) {
+                String maleSequence = males.get(male);
+                String femaleSequence = females.get(female);
+                List<String> pair = maleSequence.compareTo(femaleSequence) <= 0
+                        ? List.of(maleSequence, femaleSequence)
+                        : List.of(femaleSequence, maleSequence);
+                pairs.computeIfAbsent(pair, key -> new ArrayList<>()).add(new int[]{male, female});
+                for (String sequence : pair) {
+                    parents.computeIfAbsent(
+                            sequence,
+                            key -> CompletableFuture.supplyAsync(() -> prepare(key), executor)
+                    );
+                }
+            }
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(pairs.size());
+        pairs.forEach((pair, cells) -> tasks.add(
+                parents.get(pair.get(0))
+                        .thenCombineAsync(parents.get(pair.get(1)), this::crossing, executor)
+                        .thenAccept(punnettSquare -> {
+                            for (int[] cell : cells) {
+                                consumer.accept(cell[0], cell[1], punnettSquare);
+                            }
+                        })
+        ));
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private PreparedParent prepare(String sequence) {
+        ParsedSequence parsedSequence = crossing.parse(sequence);
+        if (crossing instanceof PreparingCrossing) {
+            return ((PreparingCrossing) crossing).prepare(parsedSequence);
+        }
+        return new PreparedParent(parsedSequence);
+    }
+
+    private Map<String, Integer> crossing(PreparedParent first, PreparedParent second) {
+        Map<String, Integer> punnettSquare = crossing instanceof PreparingCrossing
+                ? ((PreparingCrossing) crossing).crossing(first, second)
+                : crossing.crossing(first.sequence, second.sequence);
+        return Collections.unmodifiableMap(punnettSquare);
+    }
+
+    @FunctionalInterface
+    public interface ResultConsumer {
+        /**
+         * @param male          index of the male
+         * @param female        index of the female
+         * @param punnettSquare counting map of all possible genotypes of the pair
+         */
+        void accept(int male, int female, Map<String, Integer> punnettSquare);
+    }
+
+}
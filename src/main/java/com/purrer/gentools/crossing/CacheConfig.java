@@ -0,0 +1,73 @@
+package com.purrer.gentools.crossing;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Settings of {@link CachingCrossing}
+ */
+public class CacheConfig {
+
+    public static final long DEFAULT_MAX_SIZE = 10_000;
+
+    private long maxSize = DEFAULT_MAX_SIZE;
+    private long maxWeight = Long.MAX_VALUE;
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+    private Path directory = null;
+
+    /**
+     * Sets the maximum number of crossing results kept in memory, {@link #DEFAULT_MAX_SIZE} by default
+     */
+    public void setMaxSize(long maxSize) {
+        validatePositive("maxSize", maxSize);
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum total weight of crossing results kept in memory, the weight of a result is the number
+     * of its genotypes. Weight isn't limited by default
+     */
+    public void setMaxWeight(long maxWeight) {
+        validatePositive("maxWeight", maxWeight);
+        this.maxWeight = maxWeight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Sets the rule of eviction of results from memory, {@link EvictionPolicy#LRU} by default
+     */
+    public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+        this.evictionPolicy = Objects.requireNonNull(evictionPolicy);
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Sets the directory of the disk tier of the cache. Every computed result is also written to this directory
+     * and the results are read back from it after they are evicted from memory or after restart. There is
+     * no disk tier by default
+     */
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static void validatePositive(String name, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(String.format("%s should be positive, but was %d", name, value));
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.purrer.gentools.crossing;
+
+/**
+ * Snapshot of statistics of {@link CachingCrossing}
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long diskHitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long size;
+    private final long weight;
+
+    CacheStats(long hitCount, long diskHitCount, long missCount, long evictionCount, long size, long weight) {
+        this.hitCount = hitCount;
+        this.diskHitCount = diskHitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return number of results found in memory
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of results which weren't found in memory, but were read from the disk tier
+     */
+    public long getDiskHitCount() {
+        return diskHitCount;
+    }
+
+    /**
+     * @return number of results which were computed by the underlying crossing
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return number of results in memory
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return total number of genotypes of the results in memory
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return share of requests which were served from memory or from the disk tier, 0 if there were no requests
+     */
+    public double getHitRate() {
+        long requests = hitCount + diskHitCount + missCount;
+        return requests == 0 ? 0 : (double) (hitCount + diskHitCount) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "CacheStats{hits=%d, diskHits=%d, misses=%d, evictions=%d, size=%d, weight=%d}",
+                hitCount,
+                diskHitCount,
+                missCount,
+                evictionCount,
+                size,
+                weight
+        );
+    }
+
+}
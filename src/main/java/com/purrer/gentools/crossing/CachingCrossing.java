@@ -0,0 +1,429 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.CrossingResult;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.Crossing;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link Crossing} which remembers the results of the underlying crossing. Keys of the results are canonical:
+ * loci of the parents are sorted in the order of the config and the pair of parents is unordered, so
+ * "bBAAcC" x "bbaacc" and "aabbcc" x "AAbBCc" share the same entry. Results are computed by the underlying
+ * crossing for the canonical sequences of the parents.
+ * <p>
+ * Results are kept in memory until the cache exceeds its maximum size or weight, then they are evicted according
+ * to the {@link EvictionPolicy}. If the disk tier is configured, every computed result is also written to disk,
+ * so it can be read back after eviction or restart. Only {@link #crossing(ParsedSequence, ParsedSequence)}
+ * is cached, other methods are delegated to the underlying crossing.
+ * </p>
+ */
+public class CachingCrossing implements Crossing {
+
+    private static final String DISK_ENTRY_EXTENSION = ".psq";
+
+    private final Crossing crossing;
+    private final long maxSize;
+    private final long maxWeight;
+    private final Path directory;
+    private final String fingerprint;
+
+    /**
+     * Results which are being computed, so concurrent misses of the same key wait for a single computation
+     */
+    private final ConcurrentMap<String, CompletableFuture<Map<String, Integer>>> computations =
+            new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> evictionOrder;
+    private long clock;
+    private long weight;
+    private long hitCount;
+    private long diskHitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public CachingCrossing(Crossing crossing) {
+        this(crossing, new CacheConfig());
+    }
+
+    /**
+     * Results on disk are identified by the class of the underlying crossing, see
+     * {@link #CachingCrossing(Crossing, CacheConfig, String)}
+     */
+    public CachingCrossing(Crossing crossing, CacheConfig config) {
+        this(crossing, config, crossing.getClass().getName());
+    }
+
+    /**
+     * @param fingerprint identity of the configuration of the underlying crossing, like its allele pairs in their
+     *                    order. Results on disk which were written with another fingerprint are not read, so
+     *                    crossings with different configurations can share the directory
+     */
+    public CachingCrossing(Crossing crossing, CacheConfig config, String fingerprint) {
+        this.crossing = Objects.requireNonNull(crossing);
+        this.fingerprint = Objects.requireNonNull(fingerprint);
+        this.maxSize = config.getMaxSize();
+        this.maxWeight = config.getMaxWeight();
+        this.directory = config.getDirectory();
+        Comparator<Entry> recency = Comparator.comparingLong(entry -> entry.lastAccess);
+        this.evictionOrder = new TreeSet<>(
+                config.getEvictionPolicy() == EvictionPolicy.LFU
+                        ? Comparator.<Entry>comparingLong(entry -> entry.frequency).thenComparing(recency)
+                        : recency
+        );
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to create cache directory " + directory, e);
+            }
+        }
+    }
+
+    @Override
+    public ParsedSequence parse(String sequence) {
+        return crossing.parse(sequence);
+    }
+
+    @Override
+    public Map<String, Integer> crossing(String maleSequence, String femaleSequence) {
+        return crossing(parse(maleSequence), parse(femaleSequence));
+    }
+
+    /**
+     * Pairs which the underlying crossing rejects, like parents with loci in different orders, are passed to it
+     * without caching, so they are rejected with the same exception. Concurrent calls with the same key wait
+     * for a single computation of the result
+     *
+     * @return counting map of all possible genotypes, which is shared with other callers and can't be modified
+     * @throws IllegalArgumentException if sequences are invalid
+     */
+    @Override
+    public Map<String, Integer> crossing(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        if (!isCacheable(maleSequence) || !isCacheable(femaleSequence) || !haveSameLoci(maleSequence, femaleSequence)) {
+            return crossing.crossing(maleSequence, femaleSequence);
+        }
+        String maleKey = canonicalKey(maleSequence);
+        String femaleKey = canonicalKey(femaleSequence);
+        String key = pairKey(maleKey, femaleKey);
+
+        Map<String, Integer> result = get(key);
+        if (result != null) {
+            return result;
+        }
+
+        CompletableFuture<Map<String, Integer>> computation = new CompletableFuture<>();
+        CompletableFuture<Map<String, Integer>> running = computations.putIfAbsent(key, computation);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            result = get(key);
+            if (result == null) {
+                result = readFromDisk(key);
+                if (result != null) {
+                    put(key, result, true);
+                } else {
+                    result = Collections.unmodifiableMap(crossing.crossing(
+                            canonical(maleSequence, maleKey),
+                            canonical(femaleSequence, femaleKey)
+                    ));
+                    writeToDisk(key, result);
+                    put(key, result, false);
+                }
+            }
+            computation.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            computation.completeExceptionally(e);
+            throw e;
+        } finally {
+            computations.remove(key, computation);
+        }
+    }
+
+    /**
+     * Waits for the result which is computed by another call, the result is counted as a hit
+     */
+    private Map<String, Integer> await(CompletableFuture<Map<String, Integer>> computation) {
+        Map<String, Integer> result;
+        try {
+            result = computation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            hitCount++;
+        }
+        return result;
+    }
+
+    @Override
+    public CrossingResult exactCrossing(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        return crossing.exactCrossing(maleSequence, femaleSequence);
+    }
+
+    @Override
+    public Map<String, Double> probabilities(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        return crossing.probabilities(maleSequence, femaleSequence);
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hitCount, diskHitCount, missCount, evictionCount, entries.size(), weight);
+    }
+
+    /**
+     * Removes all the results from memory, the disk tier is kept
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        evictionOrder.clear();
+        weight = 0;
+    }
+
+    private synchronized Map<String, Integer> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        hitCount++;
+        evictionOrder.remove(entry);
+        entry.frequency++;
+        entry.lastAccess = ++clock;
+        evictionOrder.add(entry);
+        return entry.result;
+    }
+
+    private synchronized void put(String key, Map<String, Integer> result, boolean fromDisk) {
+        if (fromDisk) {
+            diskHitCount++;
+        } else {
+            missCount++;
+        }
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            // the same pair was computed concurrently
+            return;
+        }
+        Entry entry = new Entry(key, result, ++clock);
+        entries.put(key, entry);
+        evictionOrder.add(entry);
+        weight += entry.weight;
+
+        while (entries.size() > maxSize || weight > maxWeight) {
+            Entry evicted = evictionOrder.pollFirst();
+            entries.remove(evicted.key);
+            weight -= evicted.weight;
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Entries which can't be read are misses, malformed entries are deleted, so they are replaced by the computed
+     * result
+     */
+    private Map<String, Integer> readFromDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(fileName(fingerprint, key));
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Map<String, Integer> result;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!fingerprint.equals(reader.readLine()) || !key.equals(reader.readLine())) {
+                return null;
+            }
+            result = readGenotypes(reader);
+        } catch (IOException e) {
+            return null;
+        }
+        if (result == null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // the entry is replaced when the result is written
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return genotypes of the entry or <code>null</code> if the entry is malformed, for example truncated
+     */
+    private static Map<String, Integer> readGenotypes(BufferedReader reader) throws IOException {
+        try {
+            int size = Integer.parseInt(String.valueOf(reader.readLine()));
+            Map<String, Integer> result = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(' ');
+                if (separator <= 0) {
+                    return null;
+                }
+                int count = Integer.parseInt(line.substring(separator + 1));
+                if (count <= 0 || result.put(line.substring(0, separator), count) != null) {
+                    return null;
+                }
+            }
+            return result.size() == size ? Collections.unmodifiableMap(result) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Map<String, Integer> result) {
+        if (directory == null) {
+            return;
+        }
+        Path file = directory.resolve(fileName(fingerprint, key));
+        try {
+            Path temporaryFile = Files.createTempFile(directory, "entry", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write(fingerprint);
+                writer.newLine();
+                writer.write(key);
+                writer.newLine();
+                writer.write(Integer.toString(result.size()));
+                writer.newLine();
+                for (Map.Entry<String, Integer> genotype : result.entrySet()) {
+                    writer.write(genotype.getKey());
+                    writer.write(' ');
+                    writer.write(Integer.toString(genotype.getValue()));
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write cache entry " + file, e);
+        }
+    }
+
+    /**
+     * @return true if the sequences have the same loci on the same positions, which is required by the crossings
+     * of {@link Crossings}
+     */
+    /**
+     * @return the parsed sequence if it is already canonical, otherwise its canonical key parsed once
+     */
+    private ParsedSequence canonical(ParsedSequence sequence, String key) {
+        return key.equals(sequence.getSequence()) ? sequence : parse(key);
+    }
+
+    /**
+     * @return true if the sequence is valid or wasn't validated by {@link Crossing#parse(String)}, in which case
+     * it is its own key and the underlying crossing validates it on a miss
+     */
+    private static boolean isCacheable(ParsedSequence sequence) {
+        return sequence.isValid() || !sequence.isValidated();
+    }
+
+    private static boolean haveSameLoci(ParsedSequence first, ParsedSequence second) {
+        if (first.getSequence().length() != second.getSequence().length()
+                || first.getLocusCount() != second.getLocusCount()) {
+            return false;
+        }
+        for (int position = 0; position < first.getLocusCount() * 2; position++) {
+            if (first.getAlleleId(position) / 2 != second.getAlleleId(position) / 2) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return sequence with loci in the order of the config, the dominant allele of every locus goes first.
+     * Sequences which weren't split into loci by {@link Crossing#parse(String)} are their own keys
+     */
+    private static String canonicalKey(ParsedSequence sequence) {
+        if (sequence.getLocusCount() == 0) {
+            return sequence.getSequence();
+        }
+        String[] loci = new String[sequence.getLocusCount()];
+        Integer[] order = new Integer[loci.length];
+        for (int position = 0; position < loci.length; position++) {
+            String first = sequence.getAllele(2 * position);
+            String second = sequence.getAllele(2 * position + 1);
+            boolean dominantFirst =
+                    sequence.getAlleleId(2 * position) % 2 <= sequence.getAlleleId(2 * position + 1) % 2;
+            loci[position] = dominantFirst ? first + second : second + first;
+            order[position] = position;
+        }
+        Arrays.sort(order, Comparator.comparingInt(position -> sequence.getAlleleId(2 * position) / 2));
+
+        StringBuilder builder = new StringBuilder();
+        for (int position : order) {
+            builder.append(loci[position]);
+        }
+        return builder.toString();
+    }
+
+    private static String pairKey(String first, String second) {
+        return first.compareTo(second) <= 0 ? first + '|' + second : second + '|' + first;
+    }
+
+    private static String fileName(String fingerprint, String key) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) '\n');
+            byte[] digest = sha256.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(digest.length * 2 + DISK_ENTRY_EXTENSION.length());
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.append(DISK_ENTRY_EXTENSION).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final Map<String, Integer> result;
+        private final long weight;
+        private long frequency = 1;
+        private long lastAccess;
+
+        private Entry(String key, Map<String, Integer> result, long lastAccess) {
+            this.key = key;
+            this.result = result;
+            this.weight = Math.max(1, result.size());
+            this.lastAccess = lastAccess;
+        }
+    }
+
+}
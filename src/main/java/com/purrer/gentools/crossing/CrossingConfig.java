@@ -1,17 +1,23 @@
 package com.purrer.gentools.crossing;
 
 import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.interfaces.CrossingMetricsListener;
 
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class CrossingConfig {
 
     private final Set<AllelePair> allelePairs = new LinkedHashSet<>();
     private Comparator<AllelePair> allelePairsOrderComparator = null;
+    private CrossingStrategy crossingStrategy = CrossingStrategy.PUNNETT_SQUARE;
+    private ForkJoinPool forkJoinPool = null;
+    private CrossingMetricsListener metricsListener = null;
 
     public void addAllelePairs(AllelePair... pairs) {
         for (AllelePair pair : pairs) {
@@ -28,6 +34,44 @@ public class CrossingConfig {
         this.allelePairsOrderComparator = comparator;
     }
 
+    /**
+     * Sets the algorithm which {@link Crossings#create(CrossingConfig)} uses for crossing,
+     * {@link CrossingStrategy#PUNNETT_SQUARE} by default
+     */
+    public void setCrossingStrategy(CrossingStrategy crossingStrategy) {
+        this.crossingStrategy = Objects.requireNonNull(crossingStrategy);
+    }
+
+    public CrossingStrategy getCrossingStrategy() {
+        return crossingStrategy;
+    }
+
+    /**
+     * Sets the pool in which {@link CrossingStrategy#PUNNETT_SQUARE} crossing counts rows of the Punnett square
+     * in parallel, for example {@link ForkJoinPool#commonPool()}. The square is built sequentially by default
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * Sets the listener which receives the measurements of every call of the {@link CrossingStrategy#PUNNETT_SQUARE}
+     * crossing: time of parsing, enumeration of gametes, validation and counting of the Punnett square, the number
+     * of tokenizations, gametes, cells and distinct genotypes. Calls aren't measured by default. The listener
+     * is ignored by {@link CrossingStrategy#FACTORIZED} crossing, which has none of these stages
+     */
+    public void setMetricsListener(CrossingMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    public CrossingMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
     public Set<AllelePair> getAllelePairs() {
         Set<AllelePair> resultSet = allelePairs;
         if (allelePairsOrderComparator != null) {
@@ -0,0 +1,55 @@
+package com.purrer.gentools.crossing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a single crossing of {@link PolyhybridCrossing}, the duration of the event
+ * is the duration of the call
+ */
+@Name(CrossingEvent.NAME)
+@Label("Crossing")
+@Category("Punnett Square gentools")
+@Description("Crossing of two gene sequences into the Punnett square")
+@StackTrace(false)
+public final class CrossingEvent extends Event {
+
+    public static final String NAME = "com.purrer.gentools.Crossing";
+
+    @Label("Parsing")
+    @Timespan
+    long parsingNanos;
+
+    @Label("Gametes")
+    @Timespan
+    long gametesNanos;
+
+    @Label("Validation")
+    @Timespan
+    long validationNanos;
+
+    @Label("Punnett Square")
+    @Timespan
+    long squareNanos;
+
+    @Label("Tokenizations")
+    int tokenizations;
+
+    @Label("Male Gametes")
+    long maleGametes;
+
+    @Label("Female Gametes")
+    long femaleGametes;
+
+    @Label("Cells")
+    long cells;
+
+    @Label("Distinct Genotypes")
+    int distinctGenotypes;
+
+}
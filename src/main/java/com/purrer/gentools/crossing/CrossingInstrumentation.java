@@ -0,0 +1,140 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
+import com.purrer.gentools.interfaces.CrossingMetricsListener;
+import com.purrer.gentools.interfaces.SequenceTokenizer;
+import com.purrer.gentools.interfaces.Token;
+import jdk.jfr.EventType;
+
+import java.util.List;
+
+/**
+ * Decides whether a crossing is measured and counts the tokenizations of the calling thread. A crossing
+ * is measured only if there is a listener or {@link CrossingEvent} is enabled in a running recording, otherwise
+ * {@link #recorder()} returns <code>null</code> and the crossing doesn't read the clock at all.
+ * <p>
+ * Flight Recorder is loaded on the first call, so the crossing works on runtimes without the <code>jdk.jfr</code>
+ * module, in which case only the listener is notified.
+ * </p>
+ */
+final class CrossingInstrumentation {
+
+    static final CrossingInstrumentation NONE = new CrossingInstrumentation(null);
+
+    private final CrossingMetricsListener listener;
+    private final ThreadLocal<int[]> tokenizations = ThreadLocal.withInitial(() -> new int[1]);
+
+    CrossingInstrumentation(CrossingMetricsListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return recorder of a new call or <code>null</code> if the call isn't measured
+     */
+    CrossingRecorder recorder() {
+        boolean recorded = FlightRecording.isEventEnabled();
+        if (listener == null && !recorded) {
+            return null;
+        }
+        return new CrossingRecorder(this, recorded);
+    }
+
+    /**
+     * @return tokenizer which counts its calls in the calling thread. If the tokenizer is also
+     * {@link AlleleIdTokenizer}, so is the counting one. The tokenizer itself if there is no listener
+     * and Flight Recorder isn't available, since such calls are never measured. Without a listener calls are
+     * counted only while {@link CrossingEvent} is enabled, otherwise the counter of the thread isn't touched
+     */
+    SequenceTokenizer countingTokenizer(SequenceTokenizer tokenizer) {
+        if (listener == null && !FlightRecording.isAvailable()) {
+            return tokenizer;
+        }
+        if (tokenizer instanceof AlleleIdTokenizer) {
+            return new CountingAlleleIdTokenizer(tokenizer, (AlleleIdTokenizer) tokenizer);
+        }
+        return sequence -> {
+            count();
+            return tokenizer.tokenize(sequence);
+        };
+    }
+
+    private void count() {
+        if (listener != null || FlightRecording.isEventEnabled()) {
+            tokenizations.get()[0]++;
+        }
+    }
+
+    /**
+     * @return number of tokenizations of the calling thread since its start
+     */
+    int tokenizations() {
+        return tokenizations.get()[0];
+    }
+
+    CrossingMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Holder of the type of {@link CrossingEvent}, which is initialized on first use. Classes of
+     * <code>jdk.jfr</code> are resolved only here and in {@link CrossingRecorder} if the event is enabled
+     */
+    private static final class FlightRecording {
+        private static final EventType EVENT_TYPE = eventType();
+
+        static boolean isAvailable() {
+            return EVENT_TYPE != null;
+        }
+
+        static boolean isEventEnabled() {
+            return EVENT_TYPE != null && EVENT_TYPE.isEnabled();
+        }
+
+        private static EventType eventType() {
+            try {
+                return EventType.getEventType(CrossingEvent.class);
+            } catch (LinkageError e) {
+                return null;
+            }
+        }
+    }
+
+    private final class CountingAlleleIdTokenizer implements SequenceTokenizer, AlleleIdTokenizer {
+        private final SequenceTokenizer tokenizer;
+        private final AlleleIdTokenizer alleleIdTokenizer;
+
+        private CountingAlleleIdTokenizer(SequenceTokenizer tokenizer, AlleleIdTokenizer alleleIdTokenizer) {
+            this.tokenizer = tokenizer;
+            this.alleleIdTokenizer = alleleIdTokenizer;
+        }
+
+        @Override
+        public List<Token> tokenize(String sequence) {
+            count();
+            return tokenizer.tokenize(sequence);
+        }
+
+        @Override
+        public int tokenize(CharSequence sequence, int[] alleleIds) {
+            count();
+            return alleleIdTokenizer.tokenize(sequence, alleleIds);
+        }
+
+        @Override
+        public int tokenize(CharSequence sequence, short[] alleleIds) {
+            count();
+            return alleleIdTokenizer.tokenize(sequence, alleleIds);
+        }
+
+        @Override
+        public int getAlleleCount() {
+            return alleleIdTokenizer.getAlleleCount();
+        }
+
+        @Override
+        public String getAllele(int alleleId) {
+            return alleleIdTokenizer.getAllele(alleleId);
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.CrossingMetrics;
+
+/**
+ * Measurements of a single call, see {@link CrossingInstrumentation}. Stages are measured one after another
+ * in the calling thread: every stage starts with {@link #startStage()} and ends with the method which stores it
+ */
+final class CrossingRecorder {
+
+    private final CrossingInstrumentation instrumentation;
+    private final CrossingEvent event;
+    private final int initialTokenizations;
+    private long stageStart;
+    private long parsingNanos;
+    private long gametesNanos;
+    private long validationNanos;
+    private long squareNanos;
+    private long maleGametes;
+    private long femaleGametes;
+    private int distinctGenotypes;
+
+    /**
+     * @param recorded whether {@link CrossingEvent} is enabled, otherwise the event isn't created
+     */
+    CrossingRecorder(CrossingInstrumentation instrumentation, boolean recorded) {
+        this.instrumentation = instrumentation;
+        this.initialTokenizations = instrumentation.tokenizations();
+        this.event = recorded ? new CrossingEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+    }
+
+    void startStage() {
+        stageStart = System.nanoTime();
+    }
+
+    void parsed() {
+        parsingNanos = System.nanoTime() - stageStart;
+    }
+
+    void gametesPrepared() {
+        gametesNanos = System.nanoTime() - stageStart;
+    }
+
+    void validated() {
+        validationNanos = System.nanoTime() - stageStart;
+    }
+
+    /**
+     * Stores the size of the counted square, the stage goes on until its cells are decoded
+     */
+    void squareCounted(long maleGametes, long femaleGametes, int distinctGenotypes) {
+        this.maleGametes = maleGametes;
+        this.femaleGametes = femaleGametes;
+        this.distinctGenotypes = distinctGenotypes;
+    }
+
+    /**
+     * Ends the last stage and reports the call to the listener and Flight Recorder
+     */
+    void squareDecoded() {
+        this.squareNanos = System.nanoTime() - stageStart;
+        finish();
+    }
+
+    private void finish() {
+        int tokenizations = instrumentation.tokenizations() - initialTokenizations;
+        long cells = PolyhybridCrossing.saturatedMultiply(maleGametes, femaleGametes);
+        if (event != null) {
+            event.end();
+        }
+        if (instrumentation.getListener() != null) {
+            instrumentation.getListener().onCrossing(
+                    new CrossingMetrics(
+                            parsingNanos,
+                            gametesNanos,
+                            validationNanos,
+                            squareNanos,
+                            tokenizations,
+                            maleGametes,
+                            femaleGametes,
+                            cells,
+                            distinctGenotypes
+                    )
+            );
+        }
+        if (event != null && event.shouldCommit()) {
+            event.parsingNanos = parsingNanos;
+            event.gametesNanos = gametesNanos;
+            event.validationNanos = validationNanos;
+            event.squareNanos = squareNanos;
+            event.tokenizations = tokenizations;
+            event.maleGametes = maleGametes;
+            event.femaleGametes = femaleGametes;
+            event.cells = cells;
+            event.distinctGenotypes = distinctGenotypes;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.purrer.gentools.crossing;
+
+/**
+ * Algorithm which {@link Crossings#create(CrossingConfig)} uses to build the result of a crossing
+ */
+public enum CrossingStrategy {
+
+    /**
+     * Enumerates all the gametes of both parents and builds every cell of the Punnett square,
+     * see {@link PolyhybridCrossing}
+     */
+    PUNNETT_SQUARE,
+
+    /**
+     * Calculates the outcomes of every locus independently and combines them as a product,
+     * see {@link FactorizedCrossing}
+     */
+    FACTORIZED
+
+}
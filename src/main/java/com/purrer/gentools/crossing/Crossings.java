@@ -2,17 +2,29 @@ package com.purrer.gentools.crossing;
 
 import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
 import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.PackedGenotype;
 import com.purrer.gentools.interfaces.Crossing;
-import com.purrer.gentools.tokenizers.AllelePairsTokenizer;
+import com.purrer.gentools.interfaces.GameteGroupsExtractor;
+import com.purrer.gentools.interfaces.SequenceTokenizer;
+import com.purrer.gentools.tokenizers.SingleCharAllelesTokenizer;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
 import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+import com.purrer.gentools.validation.BulkSequenceValidator;
+import com.purrer.gentools.validation.BulkValidationConfig;
 import com.purrer.gentools.validation.SequenceValidationImpl;
+import com.purrer.gentools.validation.SingleCharSequenceValidation;
 
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
 /**
- * Factory which constructs common instances of {@link Crossing}
+ * Factory which constructs common instances of {@link Crossing}. If every allele of the config is a single ASCII
+ * character, the sequences are parsed by {@link SingleCharAllelesTokenizer} and validated by
+ * {@link SingleCharSequenceValidation}, otherwise by {@link TrieAllelePairsTokenizer} and
+ * {@link SequenceValidationImpl}
  */
 public class Crossings {
 
@@ -70,18 +82,166 @@ public class Crossings {
     }
 
     /**
-     * Creates instance of {@link Crossing} according to provided <code>config</code>
+     * Creates {@link PackedGenotypeCodec} which converts sequences to {@link PackedGenotype} according to
+     * provided <code>config</code>, the packed genotypes can be crossed with {@link PackedCrossing}
+     * @param config config from which codec will be created
+     * @return codec configured with provided config
+     */
+    public static PackedGenotypeCodec createPackedGenotypeCodec(CrossingConfig config) {
+        return Components.of(config).codec();
+    }
+
+    /**
+     * Creates {@link PhenotypeCrossing} which crosses sequences into phenotypes according to provided
+     * <code>config</code>
+     * @param config config from which crossing will be created
+     * @return phenotype crossing configured with provided config
+     */
+    public static PhenotypeCrossing createPhenotypeCrossing(CrossingConfig config) {
+        Components components = Components.of(config);
+        return new PhenotypeCrossing(components.validation, components.codec());
+    }
+
+    /**
+     * Creates {@link GenotypeQuery} which answers probabilities of genotypes and patterns according to provided
+     * <code>config</code>
+     * @param config config from which query will be created
+     * @return genotype query configured with provided config
+     */
+    public static GenotypeQuery createGenotypeQuery(CrossingConfig config) {
+        Components components = Components.of(config);
+        return new GenotypeQuery(components.validation, components.codec(), components.allelePairs);
+    }
+
+    /**
+     * Creates {@link PunnettGridExporter} which writes Punnett squares of sequences according to provided
+     * <code>config</code>
+     * @param config config from which exporter will be created
+     * @return grid exporter configured with provided config
+     */
+    public static PunnettGridExporter createPunnettGridExporter(CrossingConfig config) {
+        Components components = Components.of(config);
+        return new PunnettGridExporter(
+                new GameteCombiner(components.validation),
+                components.validation,
+                components.codec()
+        );
+    }
+
+    /**
+     * Creates {@link BulkSequenceValidator} which validates large inputs of sequences according to provided
+     * <code>config</code>
+     * @param config           config from which validation will be created
+     * @param validationConfig settings of the bulk validation
+     * @return bulk validator configured with provided configs
+     */
+    public static BulkSequenceValidator createBulkSequenceValidator(
+            CrossingConfig config,
+            BulkValidationConfig validationConfig
+    ) {
+        return new BulkSequenceValidator(Components.of(config).validation, Objects.requireNonNull(validationConfig));
+    }
+
+    /**
+     * Creates {@link BatchCrossing} which crosses lists of parents with the {@link Crossing} created by
+     * {@link #create(CrossingConfig)}. Pairs are crossed in {@link CrossingConfig#getForkJoinPool()} or in
+     * {@link ForkJoinPool#commonPool()} if the pool isn't set
+     * @param config config from which {@link Crossing} will be created
+     * @return batch crossing configured with provided config
+     */
+    public static BatchCrossing createBatchCrossing(CrossingConfig config) {
+        Crossing crossing = create(config);
+        ForkJoinPool pool = config.getForkJoinPool();
+        return new BatchCrossing(crossing, pool != null ? pool : ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates {@link CachingCrossing} which remembers the results of the {@link Crossing} created by
+     * {@link #create(CrossingConfig)}
+     * @param config      config from which {@link Crossing} will be created
+     * @param cacheConfig settings of the cache
+     * @return caching crossing configured with provided configs
+     */
+    public static CachingCrossing createCachingCrossing(CrossingConfig config, CacheConfig cacheConfig) {
+        return new CachingCrossing(create(config), Objects.requireNonNull(cacheConfig), fingerprint(config));
+    }
+
+    /**
+     * @return identity of the config for the results on disk: the strategy and the allele pairs in their order,
+     * which already reflects the order comparator
+     */
+    private static String fingerprint(CrossingConfig config) {
+        StringBuilder builder = new StringBuilder(config.getCrossingStrategy().name());
+        for (AllelePair pair : config.getAllelePairs()) {
+            builder.append(' ').append(pair.getDominant()).append('/').append(pair.getRecessive());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates instance of {@link Crossing} according to provided <code>config</code>. The crossing algorithm
+     * is chosen by {@link CrossingConfig#getCrossingStrategy()}. Calls of {@link CrossingStrategy#PUNNETT_SQUARE}
+     * crossing are reported to {@link CrossingConfig#getMetricsListener()} and recorded as {@link CrossingEvent}
+     * when Flight Recorder is running
      * @param config config from which {@link Crossing} will be created
      * @return crossing configured with provided config
      */
     public static Crossing create(CrossingConfig config) {
         Objects.requireNonNull(config);
         Set<AllelePair> allelePairs = config.getAllelePairs();
-        AllelePairsTokenizer tokenizer = new AllelePairsTokenizer(allelePairs);
-        TokenizingGameteGroupsExtractor gameteGroupsExtractor = new TokenizingGameteGroupsExtractor(tokenizer);
-        SequenceValidationImpl sequenceValidation = new SequenceValidationImpl(gameteGroupsExtractor, allelePairs);
-        GameteCombiner gameteCombiner = new GameteCombiner(sequenceValidation, gameteGroupsExtractor);
-        return new PolyhybridCrossing(gameteCombiner, tokenizer, sequenceValidation, allelePairs);
+        switch (config.getCrossingStrategy()) {
+            case FACTORIZED:
+                Components components = Components.of(config);
+                return new FactorizedCrossing(components.validation, components.codec());
+            case PUNNETT_SQUARE:
+            default:
+                CrossingInstrumentation instrumentation = new CrossingInstrumentation(config.getMetricsListener());
+                Components countingComponents =
+                        new Components(allelePairs, instrumentation.countingTokenizer(createTokenizer(allelePairs)));
+                return new PolyhybridCrossing(
+                        new GameteCombiner(countingComponents.validation),
+                        countingComponents.validation,
+                        allelePairs,
+                        config.getForkJoinPool(),
+                        instrumentation
+                );
+        }
+    }
+
+    private static SequenceTokenizer createTokenizer(Set<AllelePair> allelePairs) {
+        return SingleCharAllelesTokenizer.supports(allelePairs)
+                ? new SingleCharAllelesTokenizer(allelePairs)
+                : new TrieAllelePairsTokenizer(allelePairs);
+    }
+
+    private static SequenceValidationImpl createValidation(GameteGroupsExtractor extractor, Set<AllelePair> allelePairs) {
+        return SingleCharAllelesTokenizer.supports(allelePairs)
+                ? new SingleCharSequenceValidation(extractor, allelePairs)
+                : new SequenceValidationImpl(extractor, allelePairs);
+    }
+
+    /**
+     * Tokenizer, extractor and validation of a config wired together, every factory builds its product from them
+     */
+    private static final class Components {
+        private final Set<AllelePair> allelePairs;
+        private final TokenizingGameteGroupsExtractor extractor;
+        private final SequenceValidationImpl validation;
+
+        private Components(Set<AllelePair> allelePairs, SequenceTokenizer tokenizer) {
+            this.allelePairs = allelePairs;
+            this.extractor = new TokenizingGameteGroupsExtractor(tokenizer);
+            this.validation = createValidation(extractor, allelePairs);
+        }
+
+        private static Components of(CrossingConfig config) {
+            Set<AllelePair> allelePairs = Objects.requireNonNull(config).getAllelePairs();
+            return new Components(allelePairs, createTokenizer(allelePairs));
+        }
+
+        private PackedGenotypeCodec codec() {
+            return new PackedGenotypeCodec(validation, extractor, allelePairs);
+        }
     }
 
 }
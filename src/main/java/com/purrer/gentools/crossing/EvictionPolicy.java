@@ -0,0 +1,18 @@
+package com.purrer.gentools.crossing;
+
+/**
+ * Rule by which {@link CachingCrossing} chooses the entry to remove when the cache is full
+ */
+public enum EvictionPolicy {
+
+    /**
+     * Removes the entry which wasn't used for the longest time
+     */
+    LRU,
+
+    /**
+     * Removes the entry which was used the least number of times, the least recently used one among them
+     */
+    LFU
+
+}
@@ -0,0 +1,284 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.CrossingResult;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.Crossing;
+import com.purrer.gentools.interfaces.GameteGroupsExtractor;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+import com.purrer.gentools.validation.ValidationResult;
+
+import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * {@link Crossing} which doesn't build the Punnett square. Loci are inherited independently, so every locus
+ * is crossed separately (there are only 3 possible outcomes: dominant homozygous, heterozygous and recessive
+ * homozygous) and the genotypes are combined as a product of these per-locus distributions.
+ * <p>
+ * The result is the same as the result of {@link PolyhybridCrossing}, but the work grows with the number of
+ * distinct genotypes in the result instead of the number of cells of the Punnett square.
+ * </p>
+ */
+public class FactorizedCrossing implements PreparingCrossing {
+
+    private final SequenceValidation validation;
+    private final PackedGenotypeCodec codec;
+
+    public FactorizedCrossing(
+            SequenceValidation validation,
+            GameteGroupsExtractor extractor,
+            Set<AllelePair> allelePairs
+    ) {
+        this(validation, new PackedGenotypeCodec(validation, extractor, allelePairs));
+    }
+
+    public FactorizedCrossing(SequenceValidation validation, PackedGenotypeCodec codec) {
+        this.validation = validation;
+        this.codec = codec;
+    }
+
+    @Override
+    public ParsedSequence parse(String sequence) {
+        return validation.parse(sequence);
+    }
+
+    @Override
+    public Map<String, Integer> crossing(String maleSequence, String femaleSequence) {
+        return crossing(parse(maleSequence), parse(femaleSequence));
+    }
+
+    /**
+     * Build polyhybrid crossing of two gene sequences
+     *
+     * @param maleSequence   parsed gene sequence in format: AaBbCc
+     * @param femaleSequence parsed gene sequence in same format and length as male
+     * @return counting map of all possible genotypes, equal to the Punnett square built by {@link PolyhybridCrossing}
+     * @throws ArithmeticException if the count of some genotype doesn't fit into an integer
+     */
+    @Override
+    public Map<String, Integer> crossing(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        return crossing(crossLoci(maleSequence, femaleSequence));
+    }
+
+    /**
+     * Counts are products of the per-locus counts, computed in long while the Punnett square has at most 2^62
+     * cells and in {@link BigInteger} above it
+     */
+    @Override
+    public CrossingResult exactCrossing(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        LocusOutcomes outcomes = crossLoci(maleSequence, femaleSequence);
+        Map<String, BigInteger> counts = new HashMap<>(outcomes.mapCapacity());
+        combine(outcomes, (genotype, dominants) -> counts.put(genotype, outcomes.exactCount(dominants)));
+        return new CrossingResult(counts, outcomes.total());
+    }
+
+    /**
+     * Probabilities are products of the per-locus probabilities in double, no counts are computed
+     */
+    @Override
+    public Map<String, Double> probabilities(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        LocusOutcomes outcomes = crossLoci(maleSequence, femaleSequence);
+        Map<String, Double> result = new HashMap<>(outcomes.mapCapacity());
+        combine(outcomes, (genotype, dominants) -> result.put(genotype, outcomes.probability(dominants)));
+        return result;
+    }
+
+    /**
+     * Finds the most probable genotypes of the offspring without enumerating the others, see
+     * {@link #mostProbable(ParsedSequence, ParsedSequence, int)}
+     *
+     * @param maleSequence   gene sequence in format: AaBbCc
+     * @param femaleSequence gene sequence in same format and length as male
+     * @param limit          maximum number of genotypes in the result
+     */
+    public CrossingResult mostProbable(String maleSequence, String femaleSequence, int limit) {
+        return mostProbable(parse(maleSequence), parse(femaleSequence), limit);
+    }
+
+    /**
+     * Finds the most probable genotypes of the offspring. Outcomes of every locus are sorted by their counts and
+     * genotypes are visited best-first with a priority queue of ranks of the outcomes: a genotype is followed by
+     * the genotypes which take the next outcome of one of its loci, starting from its last non-first one, so every
+     * genotype is reached once and only about <code>limit * number of loci</code> genotypes are ever built.
+     *
+     * @param maleSequence   parsed gene sequence
+     * @param femaleSequence parsed gene sequence
+     * @param limit          maximum number of genotypes in the result
+     * @return counts of at most <code>limit</code> most probable genotypes, iterated from the most probable one
+     * (genotypes with equal counts are taken in arbitrary order), together with the total number of cells
+     * of the Punnett square
+     * @throws IllegalArgumentException if sequences are invalid or limit is negative
+     */
+    public CrossingResult mostProbable(ParsedSequence maleSequence, ParsedSequence femaleSequence, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(String.format("limit should be non-negative, but was %d", limit));
+        }
+        LocusOutcomes outcomes = crossLoci(maleSequence, femaleSequence);
+        int lociCount = outcomes.loci.length;
+        int[][] ranked = new int[lociCount][];
+        for (int position = 0; position < lociCount; position++) {
+            int[] locusCounts = outcomes.counts[position];
+            ranked[position] = IntStream.range(0, locusCounts.length)
+                    .filter(dominants -> locusCounts[dominants] != 0)
+                    .boxed()
+                    .sorted(Comparator.comparingInt((Integer dominants) -> locusCounts[dominants]).reversed())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        PriorityQueue<RankedGenotype> queue = new PriorityQueue<>(
+                Comparator.comparing((RankedGenotype genotype) -> genotype.count).reversed()
+        );
+        Map<String, BigInteger> counts = new LinkedHashMap<>();
+        int[] dominants = new int[lociCount];
+        queue.add(rankedGenotype(outcomes, ranked, new int[lociCount], 0, dominants));
+        while (counts.size() < limit && !queue.isEmpty()) {
+            RankedGenotype best = queue.poll();
+            StringBuilder genotype = new StringBuilder();
+            for (int position = 0; position < lociCount; position++) {
+                codec.appendLocus(genotype, outcomes.loci[position], ranked[position][best.ranks[position]]);
+            }
+            counts.put(genotype.toString(), best.count);
+
+            for (int position = best.lastChanged; position < lociCount; position++) {
+                if (best.ranks[position] + 1 < ranked[position].length) {
+                    int[] ranks = best.ranks.clone();
+                    ranks[position]++;
+                    queue.add(rankedGenotype(outcomes, ranked, ranks, position, dominants));
+                }
+            }
+        }
+        return new CrossingResult(counts, outcomes.total());
+    }
+
+    private static RankedGenotype rankedGenotype(
+            LocusOutcomes outcomes,
+            int[][] ranked,
+            int[] ranks,
+            int lastChanged,
+            int[] dominants
+    ) {
+        for (int position = 0; position < ranks.length; position++) {
+            dominants[position] = ranked[position][ranks[position]];
+        }
+        return new RankedGenotype(ranks, lastChanged, outcomes.exactCount(dominants));
+    }
+
+    /**
+     * Packs the genotype of the parent once
+     */
+    @Override
+    public PreparedParent prepare(ParsedSequence sequence) {
+        return sequence.isValid()
+                ? new PackedParent(sequence, codec.encode(sequence), this)
+                : new PreparedParent(sequence, this);
+    }
+
+    @Override
+    public Map<String, Integer> crossing(PreparedParent first, PreparedParent second) {
+        first.preparedBy(this, PreparedParent.class);
+        second.preparedBy(this, PreparedParent.class);
+        validateSequencePair(first.sequence, second.sequence);
+        return crossing(LocusOutcomes.of(
+                first.preparedBy(this, PackedParent.class).genotype,
+                second.preparedBy(this, PackedParent.class).genotype
+        ));
+    }
+
+    private Map<String, Integer> crossing(LocusOutcomes outcomes) {
+        Map<String, Integer> result = new HashMap<>(outcomes.mapCapacity());
+        combine(outcomes, (genotype, dominants) ->
+                result.put(genotype, Math.toIntExact(outcomes.count(dominants)))
+        );
+        return result;
+    }
+
+    private LocusOutcomes crossLoci(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        validateSequencePair(maleSequence, femaleSequence);
+        return LocusOutcomes.of(codec.encode(maleSequence), codec.encode(femaleSequence));
+    }
+
+    private void validateSequencePair(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        ValidationResult validationResult = validation.validateSequencePair(maleSequence, femaleSequence);
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException("Sequences are invalid: " + validationResult.getMessage());
+        }
+    }
+
+    private void combine(LocusOutcomes outcomes, GenotypeConsumer consumer) {
+        combine(outcomes, 0, new StringBuilder(), new int[outcomes.loci.length], consumer);
+    }
+
+    private void combine(
+            LocusOutcomes outcomes,
+            int position,
+            StringBuilder genotype,
+            int[] dominants,
+            GenotypeConsumer consumer
+    ) {
+        if (position == outcomes.loci.length) {
+            consumer.accept(genotype.toString(), dominants);
+            return;
+        }
+
+        int length = genotype.length();
+        int[] locusCounts = outcomes.counts[position];
+        for (int locusDominants = 0; locusDominants < locusCounts.length; locusDominants++) {
+            if (locusCounts[locusDominants] == 0) {
+                continue;
+            }
+            codec.appendLocus(genotype, outcomes.loci[position], locusDominants);
+            dominants[position] = locusDominants;
+            combine(outcomes, position + 1, genotype, dominants, consumer);
+            genotype.setLength(length);
+        }
+    }
+
+    private static final class PackedParent extends PreparedParent {
+        private final PackedGenotype genotype;
+
+        private PackedParent(ParsedSequence sequence, PackedGenotype genotype, FactorizedCrossing owner) {
+            super(sequence, owner);
+            this.genotype = genotype;
+        }
+    }
+
+    private static final class RankedGenotype {
+        /**
+         * Rank of the outcome of every locus, 0 is the most probable outcome
+         */
+        private final int[] ranks;
+
+        /**
+         * Position of the last locus which doesn't take its most probable outcome, 0 if there is no such locus
+         */
+        private final int lastChanged;
+
+        private final BigInteger count;
+
+        private RankedGenotype(int[] ranks, int lastChanged, BigInteger count) {
+            this.ranks = ranks;
+            this.lastChanged = lastChanged;
+            this.count = count;
+        }
+    }
+
+    @FunctionalInterface
+    private interface GenotypeConsumer {
+        /**
+         * @param genotype  genotype of the offspring
+         * @param dominants number of dominant alleles of every locus of the genotype
+         */
+        void accept(String genotype, int[] dominants);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.purrer.gentools.crossing;
+
+/**
+ * Compiled pattern of genotypes, see {@link GenotypeQuery#compile(String)}. Every locus of the pattern keeps the set
+ * of the allowed numbers of dominant alleles, loci which are not mentioned in the pattern allow anything
+ */
+public final class GenotypePattern {
+
+    private final String pattern;
+
+    /**
+     * Indexes of the loci of the pattern in the config
+     */
+    final int[] loci;
+
+    /**
+     * Allowed outcomes of every locus of the pattern: bit <code>i</code> is set if the locus may have
+     * <code>i</code> dominant alleles
+     */
+    final int[] outcomes;
+
+    GenotypePattern(String pattern, int[] loci, int[] outcomes) {
+        this.pattern = pattern;
+        this.loci = loci;
+        this.outcomes = outcomes;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.entities.Probability;
+import com.purrer.gentools.interfaces.SequenceTokenizer;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.interfaces.Token;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+import com.purrer.gentools.validation.ValidationResult;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers the probability of a single genotype or of a pattern of genotypes of the offspring without crossing
+ * the whole sequences. Loci are inherited independently, so the probability is a product of the probabilities
+ * of the loci of the pattern and the query takes time linear in the number of loci.
+ * <p>
+ * Pattern is written in the same format as sequences, every allele may be replaced by the wildcard <code>_</code>
+ * and loci which are not mentioned match anything, for example (loci A, B and C):
+ * <pre>
+ *     - AaBBcc - the exact genotype
+ *     - cc     - recessive homozygous at C, anything elsewhere
+ *     - A_cc   - dominant phenotype at A and recessive homozygous at C
+ *     - a_     - at least one recessive allele at A
+ * </pre>
+ */
+public class GenotypeQuery {
+
+    /**
+     * Wildcard which matches any allele of the locus
+     */
+    public static final String ANY_ALLELE = "_";
+
+    private final SequenceValidation validation;
+    private final PackedGenotypeCodec codec;
+    private final SequenceTokenizer patternTokenizer;
+    private final Map<String, Integer> alleleToIndexMap = new HashMap<>();
+
+    public GenotypeQuery(SequenceValidation validation, PackedGenotypeCodec codec, Set<AllelePair> allelePairs) {
+        this.validation = validation;
+        this.codec = codec;
+        Set<AllelePair> patternPairs = new LinkedHashSet<>(allelePairs);
+        patternPairs.add(new AllelePair(ANY_ALLELE, ANY_ALLELE));
+        this.patternTokenizer = new TrieAllelePairsTokenizer(patternPairs);
+        int idx = 0;
+        for (AllelePair allelePair : allelePairs) {
+            alleleToIndexMap.put(allelePair.getDominant(), idx++);
+            alleleToIndexMap.put(allelePair.getRecessive(), idx++);
+        }
+    }
+
+    /**
+     * @see com.purrer.gentools.interfaces.Crossing#parse(String)
+     */
+    public ParsedSequence parse(String sequence) {
+        return validation.parse(sequence);
+    }
+
+    /**
+     * Compiles the pattern once, so it can be matched against any number of crossings
+     *
+     * @param pattern genotype or pattern in format: A_Bbcc
+     * @return compiled pattern
+     * @throws IllegalArgumentException if pattern is invalid
+     */
+    public GenotypePattern compile(String pattern) {
+        List<Token> tokens;
+        try {
+            tokens = patternTokenizer.tokenize(pattern);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(String.format("Invalid pattern: %s. %s", pattern, e.getMessage()), e);
+        }
+        if (tokens.size() % 2 != 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid pattern: %s. Every locus should have two alleles", pattern)
+            );
+        }
+
+        int[] loci = new int[tokens.size() / 2];
+        int[] outcomes = new int[loci.length];
+        Set<Integer> seenLoci = new HashSet<>();
+        for (int position = 0; position < loci.length; position++) {
+            Integer first = alleleToIndexMap.get(tokens.get(2 * position).getTokenValue());
+            Integer second = alleleToIndexMap.get(tokens.get(2 * position + 1).getTokenValue());
+            if (first == null && second == null) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid pattern: %s. Locus %d has only wildcards", pattern, position + 1)
+                );
+            }
+            int locus = (first != null ? first : second) / 2;
+            if (first != null && second != null && first / 2 != second / 2) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Invalid pattern: %s. Alleles '%s' and '%s' belong to different loci",
+                                pattern,
+                                tokens.get(2 * position).getTokenValue(),
+                                tokens.get(2 * position + 1).getTokenValue()
+                        )
+                );
+            }
+            if (!seenLoci.add(locus)) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Invalid pattern: %s. Alleles '%s' occur more than once",
+                                pattern,
+                                codec.getAllelePair(locus).getDominant()
+                        )
+                );
+            }
+            loci[position] = locus;
+            outcomes[position] = allowedOutcomes(first, second);
+        }
+        return new GenotypePattern(pattern, loci, outcomes);
+    }
+
+    /**
+     * @param maleSequence   gene sequence in format: AaBbCc
+     * @param femaleSequence gene sequence in same format and length as male
+     * @param pattern        genotype or pattern in format: A_Bbcc
+     * @return exact probability that the offspring matches the pattern
+     * @throws IllegalArgumentException if sequences or pattern are invalid, or the pattern has loci which are
+     *                                  absent in the sequences
+     */
+    public Probability probability(String maleSequence, String femaleSequence, String pattern) {
+        return probability(parse(maleSequence), parse(femaleSequence), compile(pattern));
+    }
+
+    /**
+     * @see #probability(String, String, String)
+     */
+    public Probability probability(ParsedSequence maleSequence, ParsedSequence femaleSequence, GenotypePattern pattern) {
+        ValidationResult validationResult = validation.validateSequencePair(maleSequence, femaleSequence);
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException("Sequences are invalid: " + validationResult.getMessage());
+        }
+        PackedGenotype male = codec.encode(maleSequence);
+        PackedGenotype female = codec.encode(femaleSequence);
+
+        BigInteger numerator = BigInteger.ONE;
+        for (int position = 0; position < pattern.loci.length; position++) {
+            int locus = pattern.loci[position];
+            if (!male.hasLocus(locus)) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Locus '%s' of pattern %s is absent in sequences",
+                                codec.getAllelePair(locus).getDominant(),
+                                pattern
+                        )
+                );
+            }
+            int[] counts = LocusOutcomes.crossLocus(male.getDominantAlleles(locus), female.getDominantAlleles(locus));
+            int matching = 0;
+            for (int dominants = 0; dominants < counts.length; dominants++) {
+                if ((pattern.outcomes[position] & (1 << dominants)) != 0) {
+                    matching += counts[dominants];
+                }
+            }
+            numerator = numerator.multiply(BigInteger.valueOf(matching));
+        }
+        BigInteger denominator = BigInteger.ONE.shiftLeft(2 * pattern.loci.length);
+        return Probability.of(numerator, denominator);
+    }
+
+    /**
+     * Every dominant allele of the locus adds one to the lowest allowed number of dominant alleles and every
+     * recessive one removes one from the highest, wildcards allow both
+     *
+     * @param first  index of the first allele of the locus or null for wildcard
+     * @param second index of the second allele of the locus or null for wildcard
+     * @return bits of the outcomes of the locus which match the alleles
+     */
+    private static int allowedOutcomes(Integer first, Integer second) {
+        int minDominants = 0;
+        int maxDominants = 2;
+        for (Integer allele : new Integer[]{first, second}) {
+            if (allele != null && allele % 2 == 0) {
+                minDominants++;
+            } else if (allele != null) {
+                maxDominants--;
+            }
+        }
+        int outcomes = 0;
+        for (int dominants = minDominants; dominants <= maxDominants; dominants++) {
+            outcomes |= 1 << dominants;
+        }
+        return outcomes;
+    }
+
+}
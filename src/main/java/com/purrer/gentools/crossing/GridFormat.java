@@ -0,0 +1,28 @@
+package com.purrer.gentools.crossing;
+
+/**
+ * Text formats of the Punnett grid written by {@link PunnettGridExporter}
+ */
+public enum GridFormat {
+
+    /**
+     * Comma-separated values, values with commas, quotes or line breaks are quoted
+     */
+    CSV(','),
+
+    /**
+     * Tab-separated values, values with tabs, quotes or line breaks are quoted
+     */
+    TSV('\t');
+
+    private final char separator;
+
+    GridFormat(char separator) {
+        this.separator = separator;
+    }
+
+    public char getSeparator() {
+        return separator;
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.PackedGenotype;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Per-locus distributions of the offspring of two parents. Loci are inherited independently, so every
+ * genotype of the offspring is a combination of the outcomes of its loci and the count of the genotype
+ * in the Punnett square is a product of the counts of these outcomes.
+ */
+final class LocusOutcomes {
+
+    /**
+     * Number of cells of the monohybrid Punnett square
+     */
+    static final int CELLS_PER_LOCUS = 4;
+
+    /**
+     * Indexes of the loci which are present in parents, in ascending order
+     */
+    final int[] loci;
+
+    /**
+     * Number of cells of the monohybrid Punnett square of every locus indexed by the number of dominant
+     * alleles in the offspring: [aa, Aa, AA]
+     */
+    final int[][] counts;
+
+    /**
+     * Number of words of the packed genotypes of the offspring
+     */
+    final int wordCount;
+
+    private LocusOutcomes(int[] loci, int[][] counts, int wordCount) {
+        this.loci = loci;
+        this.counts = counts;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * @throws IllegalArgumentException if parents have different sets of loci
+     */
+    static LocusOutcomes of(PackedGenotype first, PackedGenotype second) {
+        int wordCount = Math.max(first.getWordCount(), second.getWordCount());
+        int[] loci = new int[first.getPresentLociCount()];
+        int[][] counts = new int[loci.length][];
+        int position = 0;
+
+        for (int word = 0; word < wordCount; word++) {
+            long firstWord = word < first.getWordCount() ? first.getWord(word) : 0;
+            long secondWord = word < second.getWordCount() ? second.getWord(word) : 0;
+            long present = PackedGenotype.presentLociMask(firstWord);
+            if (present != PackedGenotype.presentLociMask(secondWord)) {
+                throw new IllegalArgumentException("Genotypes have different sets of loci");
+            }
+
+            while (present != 0) {
+                int locus = word * PackedGenotype.LOCI_PER_WORD + Long.numberOfTrailingZeros(present) / 2;
+                loci[position] = locus;
+                counts[position] = crossLocus(
+                        PackedGenotype.getState(firstWord, locus) - 1,
+                        PackedGenotype.getState(secondWord, locus) - 1
+                );
+                position++;
+                present &= present - 1;
+            }
+        }
+
+        return new LocusOutcomes(loci, counts, wordCount);
+    }
+
+    /**
+     * Crosses single locus of two parents
+     *
+     * @param firstDominants  number of dominant alleles of the locus in the first parent (0, 1 or 2)
+     * @param secondDominants number of dominant alleles of the locus in the second parent (0, 1 or 2)
+     * @return number of cells of the monohybrid Punnett square indexed by the number of dominant alleles
+     * in the offspring: [aa, Aa, AA]
+     */
+    static int[] crossLocus(int firstDominants, int secondDominants) {
+        int dominantHomozygous = firstDominants * secondDominants;
+        int recessiveHomozygous = (2 - firstDominants) * (2 - secondDominants);
+        return new int[]{
+                recessiveHomozygous,
+                CELLS_PER_LOCUS - dominantHomozygous - recessiveHomozygous,
+                dominantHomozygous
+        };
+    }
+
+    /**
+     * @param outcomes number of dominant alleles of every locus of the offspring's genotype
+     * @return number of cells of the genotype in the Punnett square
+     * @throws ArithmeticException if the number doesn't fit into long
+     */
+    long count(int[] outcomes) {
+        long count = 1;
+        for (int position = 0; position < loci.length; position++) {
+            count = Math.multiplyExact(count, counts[position][outcomes[position]]);
+        }
+        return count;
+    }
+
+    /**
+     * @param outcomes number of dominant alleles of every locus of the offspring's genotype
+     * @return number of cells of the genotype in the Punnett square
+     */
+    BigInteger exactCount(int[] outcomes) {
+        if (loci.length < Long.SIZE / 2) {
+            return BigInteger.valueOf(count(outcomes));
+        }
+        BigInteger count = BigInteger.ONE;
+        for (int position = 0; position < loci.length; position++) {
+            count = count.multiply(BigInteger.valueOf(counts[position][outcomes[position]]));
+        }
+        return count;
+    }
+
+    /**
+     * @param outcomes number of dominant alleles of every locus of the offspring's genotype
+     * @return approximate probability of the genotype
+     */
+    double probability(int[] outcomes) {
+        double probability = 1;
+        for (int position = 0; position < loci.length; position++) {
+            probability *= counts[position][outcomes[position]] / (double) CELLS_PER_LOCUS;
+        }
+        return probability;
+    }
+
+    /**
+     * @return number of cells of the Punnett square: 4 ^ number of loci
+     */
+    BigInteger total() {
+        return BigInteger.ONE.shiftLeft(2 * loci.length);
+    }
+
+    /**
+     * @return number of distinct genotypes of the offspring, {@link Long#MAX_VALUE} if it doesn't fit into long
+     */
+    long distinctGenotypes() {
+        long result = 1;
+        for (int[] locusCounts : counts) {
+            long nonZero = Arrays.stream(locusCounts).filter(c -> c != 0).count();
+            if (result > Long.MAX_VALUE / nonZero) {
+                return Long.MAX_VALUE;
+            }
+            result *= nonZero;
+        }
+        return result;
+    }
+
+    /**
+     * @return initial capacity of a hash map which holds all the distinct genotypes of the offspring
+     */
+    int mapCapacity() {
+        return (int) Math.min(distinctGenotypes() / 0.75f + 1, 1 << 20);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Crossing of genotypes in the packed form. Sequences should be converted to {@link PackedGenotype} with
+ * {@link PackedGenotypeCodec} before crossing and the genotypes of the result can be converted back
+ * with the same codec only when they are needed as strings.
+ */
+public class PackedCrossing {
+
+    /**
+     * Build polyhybrid crossing of two packed genotypes
+     *
+     * @param first  packed genotype of the first parent
+     * @param second packed genotype of the second parent with the same set of loci as the first one
+     * @return counting map of all possible genotypes (Punnett square)
+     * @throws IllegalArgumentException if parents have different sets of loci
+     * @throws ArithmeticException      if the count of some genotype doesn't fit into long
+     */
+    public Map<PackedGenotype, Long> crossing(PackedGenotype first, PackedGenotype second) {
+        LocusOutcomes outcomes = LocusOutcomes.of(first, second);
+        Map<PackedGenotype, Long> result = new HashMap<>(outcomes.mapCapacity());
+        combine(outcomes, 0, new long[outcomes.wordCount], 1L, result);
+        return result;
+    }
+
+    private static void combine(
+            LocusOutcomes outcomes,
+            int position,
+            long[] words,
+            long count,
+            Map<PackedGenotype, Long> result
+    ) {
+        if (position == outcomes.loci.length) {
+            result.put(PackedGenotype.of(words), count);
+            return;
+        }
+
+        int locus = outcomes.loci[position];
+        int word = locus / PackedGenotype.LOCI_PER_WORD;
+        int[] locusCounts = outcomes.counts[position];
+        for (int dominants = 0; dominants < locusCounts.length; dominants++) {
+            if (locusCounts[dominants] == 0) {
+                continue;
+            }
+            words[word] = PackedGenotype.setState(words[word], locus, PackedGenotype.stateOf(dominants));
+            combine(outcomes, position + 1, words, Math.multiplyExact(count, locusCounts[dominants]), result);
+        }
+    }
+
+}
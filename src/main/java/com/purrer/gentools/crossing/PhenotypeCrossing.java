@@ -0,0 +1,65 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.LocusPhenotype;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.entities.PhenotypeResult;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+import com.purrer.gentools.validation.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Crosses two parents into the phenotypes of the offspring without building the genotypes. Every locus is crossed
+ * separately, its dominant phenotype takes the cells of the monohybrid Punnett square with at least one dominant
+ * allele, so the crossing costs O(number of loci) regardless of the size of the Punnett square.
+ */
+public class PhenotypeCrossing {
+
+    private final SequenceValidation validation;
+    private final PackedGenotypeCodec codec;
+
+    public PhenotypeCrossing(SequenceValidation validation, PackedGenotypeCodec codec) {
+        this.validation = validation;
+        this.codec = codec;
+    }
+
+    /**
+     * @see com.purrer.gentools.interfaces.Crossing#parse(String)
+     */
+    public ParsedSequence parse(String sequence) {
+        return validation.parse(sequence);
+    }
+
+    /**
+     * @param maleSequence   gene sequence in format: AaBbCc
+     * @param femaleSequence gene sequence in same format and length as male
+     * @return phenotypes of the offspring
+     * @throws IllegalArgumentException if sequences are invalid
+     */
+    public PhenotypeResult phenotypes(String maleSequence, String femaleSequence) {
+        return phenotypes(parse(maleSequence), parse(femaleSequence));
+    }
+
+    /**
+     * @param maleSequence   parsed gene sequence
+     * @param femaleSequence parsed gene sequence
+     * @return phenotypes of the offspring
+     * @throws IllegalArgumentException if sequences are invalid
+     */
+    public PhenotypeResult phenotypes(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        ValidationResult validationResult = validation.validateSequencePair(maleSequence, femaleSequence);
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException("Sequences are invalid: " + validationResult.getMessage());
+        }
+        LocusOutcomes outcomes = LocusOutcomes.of(codec.encode(maleSequence), codec.encode(femaleSequence));
+        List<LocusPhenotype> loci = new ArrayList<>(outcomes.loci.length);
+        for (int position = 0; position < outcomes.loci.length; position++) {
+            int[] counts = outcomes.counts[position];
+            loci.add(new LocusPhenotype(codec.getAllelePair(outcomes.loci[position]), counts[1] + counts[2]));
+        }
+        return new PhenotypeResult(loci);
+    }
+
+}
@@ -1,31 +1,95 @@
 package com.purrer.gentools.crossing;
 
 import com.purrer.gentools.entities.AllelePair;
-import com.purrer.gentools.interfaces.Crossing;
+import com.purrer.gentools.entities.CrossingResult;
+import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.interfaces.CrossingMetricsListener;
 import com.purrer.gentools.interfaces.SequenceTokenizer;
 import com.purrer.gentools.interfaces.SequenceValidation;
 import com.purrer.gentools.interfaces.Token;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
 import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.utils.Gametes;
+import com.purrer.gentools.utils.GenotypeCounter;
 import com.purrer.gentools.validation.ValidationResult;
 
+import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
 
-public class PolyhybridCrossing implements Crossing {
+public class PolyhybridCrossing implements PreparingCrossing {
+
+    /**
+     * Maximum number of cells which one task of the parallel mode counts without splitting
+     */
+    private static final int CELLS_PER_TASK = 4096;
+
+    /**
+     * Maximum number of distinct gametes of a parent
+     */
+    private static final int MAX_GAMETES = 1 << 30;
+
+    private static final int NO_LOCUS = -1;
 
     private final GameteCombiner combiner;
-    private final SequenceTokenizer tokenizer;
     private final SequenceValidation validation;
+    private final ForkJoinPool pool;
+    private final CrossingInstrumentation instrumentation;
+    /**
+     * Tokenizer of {@link #reorder(String)}, which is created on its first call if the constructor has none
+     */
+    private volatile SequenceTokenizer tokenizer;
+    private final AllelePair[] loci;
     private final Map<String, Integer> alleleToIndexMap = new HashMap<>();
 
+    public PolyhybridCrossing(GameteCombiner combiner, SequenceValidation validation, Set<AllelePair> allelePairs) {
+        this(combiner, validation, allelePairs, null);
+    }
+
+    /**
+     * @param pool pool in which rows of the Punnett square are counted in parallel. If it's <code>null</code>,
+     *             the Punnett square is built sequentially in the calling thread
+     */
     public PolyhybridCrossing(
+            GameteCombiner combiner,
+            SequenceValidation validation,
+            Set<AllelePair> allelePairs,
+            ForkJoinPool pool
+    ) {
+        this(combiner, validation, allelePairs, pool, CrossingInstrumentation.NONE);
+    }
+
+    /**
+     * @param instrumentation measurements of the calls, see {@link Crossings#create(CrossingConfig)}
+     */
+    PolyhybridCrossing(
+            GameteCombiner combiner,
+            SequenceValidation validation,
+            Set<AllelePair> allelePairs,
+            ForkJoinPool pool,
+            CrossingInstrumentation instrumentation
+    ) {
+        this(combiner, null, validation, allelePairs, pool, instrumentation);
+    }
+
+    private PolyhybridCrossing(
             GameteCombiner combiner,
             SequenceTokenizer tokenizer,
             SequenceValidation validation,
-            Set<AllelePair> allelePairs
+            Set<AllelePair> allelePairs,
+            ForkJoinPool pool,
+            CrossingInstrumentation instrumentation
     ) {
         this.combiner = combiner;
         this.tokenizer = tokenizer;
         this.validation = validation;
+        this.pool = pool;
+        this.instrumentation = instrumentation;
+        this.loci = allelePairs.toArray(new AllelePair[0]);
         int idx = 0;
         for (AllelePair allelePair : allelePairs) {
             alleleToIndexMap.put(allelePair.getDominant(), idx++);
@@ -34,21 +98,112 @@ public class PolyhybridCrossing implements Crossing {
     }
 
     /**
-     * Create polyhybrid flat Punnet Square
+     * @param tokenizer tokenizer of {@link #reorder(String)}. Crossing doesn't use it: cells of the Punnett square
+     *                  are built from the allele indexes of the gametes without tokenizing them
+     */
+    public PolyhybridCrossing(
+            GameteCombiner combiner,
+            SequenceTokenizer tokenizer,
+            SequenceValidation validation,
+            Set<AllelePair> allelePairs
+    ) {
+        this(combiner, tokenizer, validation, allelePairs, null);
+    }
+
+    /**
+     * @param tokenizer tokenizer of {@link #reorder(String)}, see
+     *                  {@link #PolyhybridCrossing(GameteCombiner, SequenceTokenizer, SequenceValidation, Set)}
+     */
+    public PolyhybridCrossing(
+            GameteCombiner combiner,
+            SequenceTokenizer tokenizer,
+            SequenceValidation validation,
+            Set<AllelePair> allelePairs,
+            ForkJoinPool pool
+    ) {
+        this(combiner, tokenizer, validation, allelePairs, pool, CrossingInstrumentation.NONE);
+    }
+
+    /**
+     * Create polyhybrid flat Punnet Square. Only distinct gametes are crossed, so every cell of the square
+     * stands for as many cells of the full square as the product of multiplicities of its gametes.
+     * <p>
+     * Loci are inherited independently, so a square of more than {@link PackedGenotype#LOCI_PER_WORD} loci is built
+     * as a separate square of every group of loci of the {@link CellLayout}: the count of a genotype is the product
+     * of the counts of its parts.
+     * </p>
      *
-     * @param parent1 list of first parent's gametes
-     * @param parent2 list of second parent's gametes
-     * @return map of all possible gamete combinations (Punnett square)
+     * @param parent1  first parent
+     * @param parent2  second parent with the same loci as the first one
+     * @param recorder measurements of the call or <code>null</code>
+     * @return cells of the squares of distinct gametes of every group of loci
      */
-    private Map<String, Integer> generatePunnetSquare(List<String> parent1, List<String> parent2) {
-        Map<String, Integer> punnetSquare = new HashMap<>();
+    private DistinctSquare[] generatePunnetSquare(
+            SquareParent parent1,
+            SquareParent parent2,
+            CrossingRecorder recorder
+    ) {
+        if (recorder != null) {
+            recorder.startStage();
+        }
+        DistinctSquare[] squares = new DistinctSquare[parent1.layouts.length];
+        long rowCount = 1;
+        long columnCount = 1;
+        long genotypeCount = 1;
+        for (int idx = 0; idx < squares.length; idx++) {
+            WeightedGametes rows = parent1.gametes[idx];
+            WeightedGametes columns = parent2.gametes[idx];
+            long presence = parent1.layouts[idx].presence;
 
-        for (String oneHalf : parent1) {
-            List<String> punnetSquareRow = new ArrayList<>();
-            for (String string : parent2) {
-                punnetSquareRow.add(reorder(oneHalf + string));
+            GenotypeCounter punnetSquare = pool == null
+                    ? generatePunnetSquareRows(rows, columns, presence, 0, rows.size())
+                    : pool.invoke(new PunnetSquareRowsTask(rows, columns, presence, 0, rows.size()));
+
+            squares[idx] = new DistinctSquare(
+                    parent1.layouts[idx],
+                    punnetSquare,
+                    rows.multiplicity,
+                    columns.multiplicity
+            );
+            rowCount = saturatedMultiply(rowCount, rows.size());
+            columnCount = saturatedMultiply(columnCount, columns.size());
+            genotypeCount = saturatedMultiply(genotypeCount, punnetSquare.size());
+        }
+
+        if (recorder != null) {
+            recorder.squareCounted(rowCount, columnCount, (int) Math.min(genotypeCount, Integer.MAX_VALUE));
+        }
+        return squares;
+    }
+
+    static long saturatedMultiply(long first, long second) {
+        return Math.multiplyHigh(first, second) == 0 && first * second >= 0 ? first * second : Long.MAX_VALUE;
+    }
+
+    /**
+     * Create part of polyhybrid flat Punnet Square of distinct gametes, every cell is counted once
+     *
+     * @param rows     distinct gametes of the first parent with their multiplicity
+     * @param columns  distinct gametes of the second parent with their multiplicity
+     * @param presence presence bits of the cell layout, which are added to every cell
+     * @param from     first row of the part, inclusive
+     * @param to       last row of the part, exclusive
+     * @return counter of gamete combinations of the provided rows
+     */
+    private static GenotypeCounter generatePunnetSquareRows(
+            WeightedGametes rows,
+            WeightedGametes columns,
+            long presence,
+            int from,
+            int to
+    ) {
+        GenotypeCounter punnetSquare = new GenotypeCounter();
+
+        for (int row = from; row < to; row++) {
+            long oneHalf = rows.codes[row] + presence;
+            for (int column = 0; column < columns.size(); column++) {
+                punnetSquare.add(oneHalf + columns.codes[column], 1);
             }
-            mergeSquareWithGenotypesRow(punnetSquareRow, punnetSquare);
         }
         return punnetSquare;
     }
@@ -58,52 +213,68 @@ public class PolyhybridCrossing implements Crossing {
      *
      * @param sequence sequence in string format (example: AbcABC)
      * @return reordered sequence (example AABbCc)
+     * @deprecated cells of the Punnett square aren't reordered anymore, they are packed in the order of allele pairs.
+     * The sequence is tokenized by the tokenizer of the constructor or, if there is none, by a
+     * {@link TrieAllelePairsTokenizer} of the allele pairs, which is created once
      */
+    @Deprecated
     protected String reorder(String sequence) {
-        List<Token> tokens = tokenizer.tokenize(sequence);
-        sortAccordingToAvailableGenesOrder(tokens);
+        SequenceTokenizer sequenceTokenizer = tokenizer;
+        if (sequenceTokenizer == null) {
+            sequenceTokenizer = new TrieAllelePairsTokenizer(new LinkedHashSet<>(Arrays.asList(loci)));
+            tokenizer = sequenceTokenizer;
+        }
+        List<Token> tokens = sequenceTokenizer.tokenize(sequence);
+        tokens.sort(Comparator.comparingInt(token -> alleleToIndexMap.get(token.getTokenValue())));
 
         StringBuilder stringBuilder = new StringBuilder();
-
         tokens.stream().map(Token::getTokenValue).forEach(stringBuilder::append);
-
         return stringBuilder.toString();
     }
 
-    private void sortAccordingToAvailableGenesOrder(List<Token> tokens) {
-        tokens.sort((prev, next) -> {
-            int prevIdx = alleleToIndexMap.get(prev.getTokenValue());
-            int nextIdx = alleleToIndexMap.get(next.getTokenValue());
+    /**
+     * Merge two parts of Punnett square
+     *
+     * @return the larger part with merged cells of the smaller one
+     */
+    private static GenotypeCounter mergeSquares(GenotypeCounter first, GenotypeCounter second) {
+        GenotypeCounter larger = first.size() >= second.size() ? first : second;
+        GenotypeCounter smaller = larger == first ? second : first;
+        larger.addAll(smaller);
+        return larger;
+    }
 
-            return prevIdx - nextIdx;
-        });
+    @Override
+    public ParsedSequence parse(String sequence) {
+        return combiner.parse(sequence);
     }
 
     /**
-     * Merge a map of genotypes:
-     * <p>
-     * AaBb : 4
-     * <br>
-     * aabb : 2
-     * <br>
-     * ...
-     * </p>
+     * Build polyhybrid crossing of two gene sequences. If the crossing has a {@link CrossingMetricsListener} or
+     * {@link CrossingEvent} is recorded, parsing of the sequences is measured as well
      *
-     * @param genotypes     list of genotypes
-     * @param squareToMerge Punnett square in which list of genotypes will be merged
+     * @param maleSequence   gene sequence in format: AaBbCc
+     * @param femaleSequence gene sequence in same format and length as male
+     * @return counting map of all possible genotypes
      */
-    private static void mergeSquareWithGenotypesRow(List<String> genotypes, Map<String, Integer> squareToMerge) {
-        for (String string : genotypes) {
-            squareToMerge.putIfAbsent(string, 0);
-            squareToMerge.computeIfPresent(string, (k, v) -> v += 1);
+    @Override
+    public Map<String, Integer> crossing(String maleSequence, String femaleSequence) {
+        CrossingRecorder recorder = instrumentation.recorder();
+        if (recorder == null) {
+            return crossing(parse(maleSequence), parse(femaleSequence));
         }
+        recorder.startStage();
+        ParsedSequence male = parse(maleSequence);
+        ParsedSequence female = parse(femaleSequence);
+        recorder.parsed();
+        return crossing(male, female, recorder);
     }
 
     /**
      * Build polyhybrid crossing of two gene sequences
      *
-     * @param maleSequence   gene sequence in format: AaBbCc
-     * @param femaleSequence gene sequence in same format and length as male
+     * @param maleSequence   parsed gene sequence in format: AaBbCc
+     * @param femaleSequence parsed gene sequence in same format and length as male
      * @return counting map of all possible genotypes:
      * <p>
      * AaBb : 4
@@ -114,15 +285,370 @@ public class PolyhybridCrossing implements Crossing {
      * </p>
      */
     @Override
-    public Map<String, Integer> crossing(String maleSequence, String femaleSequence) {
+    public Map<String, Integer> crossing(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        return crossing(maleSequence, femaleSequence, instrumentation.recorder());
+    }
+
+    /**
+     * Cells of the square of distinct gametes are counted in long, the multiplicities of the gametes are applied
+     * to them in {@link BigInteger}, so the counts are exact for any number of homozygous loci
+     */
+    @Override
+    public CrossingResult exactCrossing(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
+        CrossingRecorder recorder = instrumentation.recorder();
+        DistinctSquare[] squares = crossingSquares(maleSequence, femaleSequence, recorder);
+        Map<String, BigInteger> counts = new HashMap<>();
+        BigInteger[] total = {BigInteger.ZERO};
+        forEachExactCell(squares, 0, "", BigInteger.ONE, (genotype, count) -> {
+            counts.put(genotype, count);
+            total[0] = total[0].add(count);
+        });
+        return decoded(new CrossingResult(counts, total[0]), recorder);
+    }
+
+    /**
+     * Packs the distinct gametes of the parent once
+     */
+    @Override
+    public PreparedParent prepare(ParsedSequence sequence) {
+        if (!sequence.isValid()) {
+            return new PreparedParent(sequence, this);
+        }
+        CellLayout[] layouts = cellLayouts(sequence);
+        WeightedGametes[] gametes = new WeightedGametes[layouts.length];
+        for (int idx = 0; idx < layouts.length; idx++) {
+            gametes[idx] = new WeightedGametes(sequence, layouts[idx], layouts.length == 1);
+        }
+        return new SquareParent(sequence, layouts, gametes);
+    }
+
+    /**
+     * Splits the loci of the parent in the order of allele pairs into groups of at most
+     * {@link PackedGenotype#LOCI_PER_WORD} loci, so a cell of every group fits into a single long
+     */
+    private CellLayout[] cellLayouts(ParsedSequence parent) {
+        boolean[] present = new boolean[loci.length];
+        int count = 0;
+        for (GametePair group : parent.getGameteGroups()) {
+            present[alleleToIndexMap.get(group.getFirstGamete()) / 2] = true;
+            count++;
+        }
+
+        int layoutCount = Math.max(1, (count + PackedGenotype.LOCI_PER_WORD - 1) / PackedGenotype.LOCI_PER_WORD);
+        CellLayout[] layouts = new CellLayout[layoutCount];
+        int locus = 0;
+        for (int idx = 0; idx < layoutCount; idx++) {
+            int[] cellLoci = new int[Math.min(PackedGenotype.LOCI_PER_WORD, count - idx * PackedGenotype.LOCI_PER_WORD)];
+            for (int position = 0; position < cellLoci.length; locus++) {
+                if (present[locus]) {
+                    cellLoci[position++] = locus;
+                }
+            }
+            layouts[idx] = new CellLayout(cellLoci);
+        }
+        return layouts;
+    }
+
+    @Override
+    public Map<String, Integer> crossing(PreparedParent first, PreparedParent second) {
+        CrossingRecorder recorder = instrumentation.recorder();
+        return decoded(toCountingMap(crossing(first, second, recorder)), recorder);
+    }
+
+    private Map<String, Integer> crossing(
+            ParsedSequence maleSequence,
+            ParsedSequence femaleSequence,
+            CrossingRecorder recorder
+    ) {
+        return decoded(toCountingMap(crossingSquares(maleSequence, femaleSequence, recorder)), recorder);
+    }
+
+    /**
+     * Ends the square stage of the call once the cells are decoded
+     *
+     * @return the result
+     */
+    private static <T> T decoded(T result, CrossingRecorder recorder) {
+        if (recorder != null) {
+            recorder.squareDecoded();
+        }
+        return result;
+    }
+
+    /**
+     * @throws ArithmeticException if the count of some genotype doesn't fit into an integer
+     */
+    private static Map<String, Integer> toCountingMap(DistinctSquare[] squares) {
+        Map<String, Integer> result = new HashMap<>();
+        if (squares.length == 1) {
+            DistinctSquare square = squares[0];
+            long multiplicity = Math.multiplyExact(square.rowMultiplicity, square.columnMultiplicity);
+            square.cells.forEach((genotype, count) -> result.put(
+                    square.layout.decode(genotype),
+                    Math.toIntExact(Math.multiplyExact(count, multiplicity))
+            ));
+        } else {
+            forEachExactCell(squares, 0, "", BigInteger.ONE, (genotype, count) -> result.put(
+                    genotype,
+                    count.intValueExact()
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Passes every genotype of the squares of the groups of loci starting from the provided one to the consumer
+     *
+     * @param genotype genotype of the previous groups of loci
+     * @param count    count of the genotype of the previous groups of loci
+     */
+    private static void forEachExactCell(
+            DistinctSquare[] squares,
+            int idx,
+            String genotype,
+            BigInteger count,
+            BiConsumer<String, BigInteger> consumer
+    ) {
+        if (idx == squares.length) {
+            consumer.accept(genotype, count);
+            return;
+        }
+        DistinctSquare square = squares[idx];
+        BigInteger multiplicity = count.multiply(BigInteger.valueOf(square.rowMultiplicity))
+                .multiply(BigInteger.valueOf(square.columnMultiplicity));
+        square.cells.forEach((cell, cellCount) -> forEachExactCell(
+                squares,
+                idx + 1,
+                genotype + square.layout.decode(cell),
+                multiplicity.multiply(BigInteger.valueOf(cellCount)),
+                consumer
+        ));
+    }
+
+    private DistinctSquare[] crossingSquares(
+            ParsedSequence maleSequence,
+            ParsedSequence femaleSequence,
+            CrossingRecorder recorder
+    ) {
+        if (recorder != null) {
+            recorder.startStage();
+        }
+        PreparedParent male = prepare(maleSequence);
+        PreparedParent female = prepare(femaleSequence);
+        if (recorder != null) {
+            recorder.gametesPrepared();
+        }
+        return crossing(male, female, recorder);
+    }
+
+    private DistinctSquare[] crossing(PreparedParent first, PreparedParent second, CrossingRecorder recorder) {
+        if (recorder != null) {
+            recorder.startStage();
+        }
+        first.preparedBy(this, PreparedParent.class);
+        second.preparedBy(this, PreparedParent.class);
+        validateSequencePair(first.sequence, second.sequence);
+        if (recorder != null) {
+            recorder.validated();
+        }
+        return generatePunnetSquare(
+                first.preparedBy(this, SquareParent.class),
+                second.preparedBy(this, SquareParent.class),
+                recorder
+        );
+    }
+
+    private void validateSequencePair(ParsedSequence maleSequence, ParsedSequence femaleSequence) {
         ValidationResult validationResult = validation.validateSequencePair(maleSequence, femaleSequence);
         if (!validationResult.isValid()) {
             throw new IllegalArgumentException("Sequences are invalid: " + validationResult.getMessage());
         }
-        List<String> maleSequenceGametes = combiner.getGametes(maleSequence);
-        List<String> femaleSequenceGametes = combiner.getGametes(femaleSequence);
+    }
+
+    /**
+     * Packing of the cells of one Punnett square of at most {@link PackedGenotype#LOCI_PER_WORD} loci. Cells are
+     * packed like {@link PackedGenotype}, but only the loci which are present in the parents take 2 bits (in the order
+     * of allele pairs), so every cell fits into a single long.
+     * <p>
+     * Every gamete is packed once: each locus stores 1 if the gamete has dominant allele of the locus, otherwise 0.
+     * The packed cell is a sum of the packed gametes plus 1 in every locus, which is the state of the locus.
+     * </p>
+     */
+    private final class CellLayout {
+        private final int[] cellLoci;
+        private final int[] positionOfLocus;
+        private final long presence;
+
+        /**
+         * @param cellLoci loci of the layout in the order of allele pairs
+         */
+        private CellLayout(int[] cellLoci) {
+            this.cellLoci = cellLoci;
+            positionOfLocus = new int[loci.length];
+            Arrays.fill(positionOfLocus, NO_LOCUS);
+            long presence = 0;
+            for (int position = 0; position < cellLoci.length; position++) {
+                positionOfLocus[cellLoci[position]] = position;
+                presence = PackedGenotype.setState(presence, position, 1);
+            }
+            this.presence = presence;
+        }
+
+        /**
+         * @return gamete groups of the parent which belong to the loci of the layout, in the order of the parent's
+         * sequence
+         */
+        private List<GametePair> gameteGroups(ParsedSequence parent) {
+            List<GametePair> groups = new ArrayList<>(cellLoci.length);
+            for (GametePair group : parent.getGameteGroups()) {
+                if (positionOfLocus[alleleToIndexMap.get(group.getFirstGamete()) / 2] != NO_LOCUS) {
+                    groups.add(group);
+                }
+            }
+            return groups;
+        }
+
+        /**
+         * Packs the alleles of the gamete groups: <code>alleles[locus][choice]</code> is 1 in the position
+         * of the locus if the allele is dominant, otherwise 0. Loci are indexed in the order of the groups
+         */
+        private long[][] encodeAlleles(List<GametePair> groups) {
+            long[][] alleles = new long[groups.size()][2];
+            for (int locus = 0; locus < alleles.length; locus++) {
+                GametePair group = groups.get(locus);
+                alleles[locus][0] = encodeAllele(group.getFirstGamete());
+                alleles[locus][1] = encodeAllele(group.getSecondGamete());
+            }
+            return alleles;
+        }
+
+        private long encodeAllele(String allele) {
+            int alleleIdx = alleleToIndexMap.get(allele);
+            return alleleIdx % 2 == 0 ? PackedGenotype.setState(0, positionOfLocus[alleleIdx / 2], 1) : 0;
+        }
+
+        private String decode(long cell) {
+            StringBuilder builder = new StringBuilder();
+            for (int position = 0; position < cellLoci.length; position++) {
+                AllelePair pair = loci[cellLoci[position]];
+                int dominants = PackedGenotype.getState(cell, position) - 1;
+                builder.append(dominants > 0 ? pair.getDominant() : pair.getRecessive())
+                        .append(dominants > 1 ? pair.getDominant() : pair.getRecessive());
+            }
+            return builder.toString();
+        }
+    }
+
+    private final class WeightedGametes {
+        private final long[] codes;
+        private final long multiplicity;
+
+        /**
+         * Packs the distinct gametes of the loci of the layout from the packed alleles of the loci, so the gametes
+         * are never built as strings
+         *
+         * @param allLoci true if the layout has all the loci of the parent
+         */
+        private WeightedGametes(ParsedSequence parent, CellLayout layout, boolean allLoci) {
+            List<GametePair> groups = allLoci ? parent.getGameteGroups() : layout.gameteGroups(parent);
+            Gametes gametes = allLoci ? combiner.gametes(parent).distinct() : gametes(groups).distinct();
+            if (gametes.size() > MAX_GAMETES) {
+                throw new IllegalArgumentException(
+                        String.format("Sequence %s has too many gametes to be crossed", parent)
+                );
+            }
+            long[][] alleles = layout.encodeAlleles(groups);
+            codes = new long[(int) gametes.size()];
+            multiplicity = gametes.getMultiplicity();
+            for (int idx = 0; idx < codes.length; idx++) {
+                long code = 0;
+                for (int locus = 0; locus < alleles.length; locus++) {
+                    code += alleles[locus][gametes.choice(idx, locus)];
+                }
+                codes[idx] = code;
+            }
+        }
+
+        private Gametes gametes(List<GametePair> groups) {
+            String[][] alleles = new String[groups.size()][2];
+            for (int locus = 0; locus < alleles.length; locus++) {
+                alleles[locus][0] = groups.get(locus).getFirstGamete();
+                alleles[locus][1] = groups.get(locus).getSecondGamete();
+            }
+            return new Gametes(alleles);
+        }
+
+        private int size() {
+            return codes.length;
+        }
+    }
+
+    /**
+     * Parent with its packed distinct gametes. Parents with the same loci have the same cell layouts, so their
+     * gametes can be crossed with each other
+     */
+    private final class SquareParent extends PreparedParent {
+        private final CellLayout[] layouts;
+        private final WeightedGametes[] gametes;
+
+        private SquareParent(ParsedSequence sequence, CellLayout[] layouts, WeightedGametes[] gametes) {
+            super(sequence, PolyhybridCrossing.this);
+            this.layouts = layouts;
+            this.gametes = gametes;
+        }
+    }
+
+    /**
+     * Punnett square of distinct gametes: every cell stands for <code>rowMultiplicity * columnMultiplicity</code>
+     * cells of the full square. Multiplicities are kept apart from the cells, because their product overflows
+     * long already for 32 homozygous loci
+     */
+    private static final class DistinctSquare {
+        private final CellLayout layout;
+        private final GenotypeCounter cells;
+        private final long rowMultiplicity;
+        private final long columnMultiplicity;
+
+        private DistinctSquare(CellLayout layout, GenotypeCounter cells, long rowMultiplicity, long columnMultiplicity) {
+            this.layout = layout;
+            this.cells = cells;
+            this.rowMultiplicity = rowMultiplicity;
+            this.columnMultiplicity = columnMultiplicity;
+        }
+    }
+
+    /**
+     * Counts rows of the Punnett square: splits them in halves until the part is small enough, counts every part
+     * into its own counter and merges the counters of the parts
+     */
+    private static final class PunnetSquareRowsTask extends RecursiveTask<GenotypeCounter> {
+        private static final long serialVersionUID = 1L;
+
+        private final WeightedGametes rows;
+        private final WeightedGametes columns;
+        private final long presence;
+        private final int from;
+        private final int to;
+
+        private PunnetSquareRowsTask(WeightedGametes rows, WeightedGametes columns, long presence, int from, int to) {
+            this.rows = rows;
+            this.columns = columns;
+            this.presence = presence;
+            this.from = from;
+            this.to = to;
+        }
 
-        return generatePunnetSquare(maleSequenceGametes, femaleSequenceGametes);
+        @Override
+        protected GenotypeCounter compute() {
+            if (to - from <= 1 || (long) (to - from) * columns.size() <= CELLS_PER_TASK) {
+                return generatePunnetSquareRows(rows, columns, presence, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            PunnetSquareRowsTask left = new PunnetSquareRowsTask(rows, columns, presence, from, middle);
+            left.fork();
+            GenotypeCounter right = new PunnetSquareRowsTask(rows, columns, presence, middle, to).compute();
+            return mergeSquares(left.join(), right);
+        }
     }
 
 }
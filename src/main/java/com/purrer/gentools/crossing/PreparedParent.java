@@ -0,0 +1,46 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.ParsedSequence;
+
+/**
+ * Parent which is parsed and prepared for crossing once, so it can be crossed with many other parents without
+ * repeating the work. Every {@link PreparingCrossing} keeps its own data in subclasses of this class
+ */
+public class PreparedParent {
+
+    final ParsedSequence sequence;
+
+    /**
+     * Crossing which prepared the parent or <code>null</code> if the parent has no data of any crossing
+     */
+    private final PreparingCrossing owner;
+
+    PreparedParent(ParsedSequence sequence) {
+        this(sequence, null);
+    }
+
+    PreparedParent(ParsedSequence sequence, PreparingCrossing owner) {
+        this.sequence = sequence;
+        this.owner = owner;
+    }
+
+    public ParsedSequence getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @param crossing crossing which is going to cross the parent
+     * @param type     class of the prepared parents of the crossing
+     * @return this parent as the prepared parent of the crossing
+     * @throws IllegalArgumentException if the parent wasn't prepared by the crossing
+     */
+    <T extends PreparedParent> T preparedBy(PreparingCrossing crossing, Class<T> type) {
+        if (owner != crossing || !type.isInstance(this)) {
+            throw new IllegalArgumentException(
+                    String.format("Parent %s wasn't prepared by crossing %s", sequence, crossing)
+            );
+        }
+        return type.cast(this);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.Crossing;
+
+import java.util.Map;
+
+/**
+ * {@link Crossing} which can do the work that depends on a single parent (like enumeration of its gametes)
+ * in advance, see {@link BatchCrossing}
+ */
+interface PreparingCrossing extends Crossing {
+
+    /**
+     * @param sequence parsed sequence, which may be invalid
+     * @return parent prepared for crossing
+     */
+    PreparedParent prepare(ParsedSequence sequence);
+
+    /**
+     * Build polyhybrid crossing of two prepared parents
+     *
+     * @param first  parent prepared by this crossing
+     * @param second parent prepared by this crossing
+     * @return counting map of all possible genotypes
+     * @throws IllegalArgumentException if sequences of parents are invalid or parents weren't prepared by this crossing
+     */
+    Map<String, Integer> crossing(PreparedParent first, PreparedParent second);
+
+}
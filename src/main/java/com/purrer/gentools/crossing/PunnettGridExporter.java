@@ -0,0 +1,222 @@
+package com.purrer.gentools.crossing;
+
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.utils.Gametes;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+import com.purrer.gentools.validation.ValidationResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Writes the full Punnett square: the header row with the gametes of the female, then a row for every gamete
+ * of the male with the genotypes of its cells. Rows and columns are in the order of
+ * {@link GameteCombiner#gametes(ParsedSequence)}, which is the classic layout:
+ * <pre>
+ *     AaBb x AaBb ->
+ *          , AB  , Ab  , aB  , ab
+ *       AB , AABB, AABb, AaBB, AaBb
+ *       ...
+ * </pre>
+ * Genotypes of the cells have the same format as the keys of {@link PolyhybridCrossing}. Gametes and cells are built
+ * from their indexes while they are written and the output is encoded into a fixed buffer, so the memory doesn't
+ * depend on the size of the grid.
+ */
+public class PunnettGridExporter {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final GameteCombiner combiner;
+    private final SequenceValidation validation;
+    private final PackedGenotypeCodec codec;
+
+    public PunnettGridExporter(GameteCombiner combiner, SequenceValidation validation, PackedGenotypeCodec codec) {
+        this.combiner = combiner;
+        this.validation = validation;
+        this.codec = codec;
+    }
+
+    /**
+     * Writes the grid to the stream, the stream is flushed but not closed
+     *
+     * @param maleSequence   gene sequence in format: AaBbCc, its gametes are the rows of the grid
+     * @param femaleSequence gene sequence in same format and length as male, its gametes are the columns
+     * @param format         format of the output
+     * @param output         stream to write to
+     * @throws IllegalArgumentException if sequences are invalid
+     * @throws IOException              if the stream can't be written
+     */
+    public void export(String maleSequence, String femaleSequence, GridFormat format, OutputStream output)
+            throws IOException {
+        export(maleSequence, femaleSequence, format, Channels.newChannel(output));
+        output.flush();
+    }
+
+    /**
+     * Writes the grid to the channel, the channel is not closed
+     *
+     * @param maleSequence   gene sequence in format: AaBbCc, its gametes are the rows of the grid
+     * @param femaleSequence gene sequence in same format and length as male, its gametes are the columns
+     * @param format         format of the output
+     * @param channel        channel to write to
+     * @throws IllegalArgumentException if sequences are invalid
+     * @throws IOException              if the channel can't be written
+     */
+    public void export(String maleSequence, String femaleSequence, GridFormat format, WritableByteChannel channel)
+            throws IOException {
+        ParsedSequence male = validation.parse(maleSequence);
+        ParsedSequence female = validation.parse(femaleSequence);
+        ValidationResult validationResult = validation.validateSequencePair(male, female);
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException("Sequences are invalid: " + validationResult.getMessage());
+        }
+
+        Gametes rows = combiner.gametes(male);
+        Gametes columns = combiner.gametes(female);
+        int[] malePositions = positionsInConfigOrder(male);
+        int[] femalePositions = positionsInConfigOrder(female);
+        int[][] maleDominants = dominants(male);
+        int[][] femaleDominants = dominants(female);
+
+        ChannelWriter writer = new ChannelWriter(channel, format.getSeparator());
+        StringBuilder cell = new StringBuilder();
+        for (long column = 0; column < columns.size(); column++) {
+            writer.separator();
+            writer.value(columns.get(column));
+        }
+        writer.newLine();
+        for (long row = 0; row < rows.size(); row++) {
+            writer.value(rows.get(row));
+            for (long column = 0; column < columns.size(); column++) {
+                cell.setLength(0);
+                for (int i = 0; i < malePositions.length; i++) {
+                    int malePosition = malePositions[i];
+                    int femalePosition = femalePositions[i];
+                    int dominants = maleDominants[malePosition][rows.choice(row, malePosition)]
+                            + femaleDominants[femalePosition][columns.choice(column, femalePosition)];
+                    codec.appendLocus(cell, male.getAlleleId(2 * malePosition) / 2, dominants);
+                }
+                writer.separator();
+                writer.value(cell);
+            }
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * @return positions of the loci in the sequence sorted in the order of the config
+     */
+    private static int[] positionsInConfigOrder(ParsedSequence sequence) {
+        return IntStream.range(0, sequence.getLocusCount())
+                .boxed()
+                .sorted(Comparator.comparingInt(position -> sequence.getAlleleId(2 * position) / 2))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * @return <code>dominants[position][choice]</code> is 1 if the allele of the locus is dominant, otherwise 0
+     */
+    private static int[][] dominants(ParsedSequence sequence) {
+        int[][] dominants = new int[sequence.getLocusCount()][2];
+        for (int position = 0; position < dominants.length; position++) {
+            for (int choice = 0; choice < 2; choice++) {
+                dominants[position][choice] = sequence.getAlleleId(2 * position + choice) % 2 == 0 ? 1 : 0;
+            }
+        }
+        return dominants;
+    }
+
+    /**
+     * Encodes the values into the buffer and writes it to the channel when it's full
+     */
+    private static final class ChannelWriter {
+        private final WritableByteChannel channel;
+        private final char separator;
+        private final String separatorValue;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final StringBuilder quoted = new StringBuilder();
+
+        private ChannelWriter(WritableByteChannel channel, char separator) {
+            this.channel = channel;
+            this.separator = separator;
+            this.separatorValue = String.valueOf(separator);
+        }
+
+        private void value(CharSequence value) throws IOException {
+            if (!needsQuotes(value)) {
+                write(value);
+                return;
+            }
+            quoted.setLength(0);
+            quoted.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    quoted.append('"');
+                }
+                quoted.append(c);
+            }
+            quoted.append('"');
+            write(quoted);
+        }
+
+        private void separator() throws IOException {
+            write(separatorValue);
+        }
+
+        private void newLine() throws IOException {
+            write("\n");
+        }
+
+        private boolean needsQuotes(CharSequence value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == separator || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void write(CharSequence value) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(value);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isUnderflow()) {
+                    return;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.purrer.gentools.entities;
+
+/**
+ * Measurements of a single crossing: time of every stage of the pipeline and the sizes of its intermediate results.
+ * Stages which weren't run by the call (for example parsing of already parsed sequences) take 0 nanoseconds
+ */
+public final class CrossingMetrics {
+
+    private final long parsingNanos;
+    private final long gametesNanos;
+    private final long validationNanos;
+    private final long squareNanos;
+    private final int tokenizations;
+    private final long maleGametes;
+    private final long femaleGametes;
+    private final long cells;
+    private final int distinctGenotypes;
+
+    /**
+     * @param parsingNanos      time of tokenization and validation of every sequence
+     * @param gametesNanos      time of enumeration of the gametes of both parents
+     * @param validationNanos   time of validation of the pair of sequences
+     * @param squareNanos       time of counting and decoding of the cells of the Punnett square
+     * @param tokenizations     number of sequences tokenized by the call
+     * @param maleGametes       number of distinct gametes of the male
+     * @param femaleGametes     number of distinct gametes of the female
+     * @param cells             number of counted cells: a product of the numbers of distinct gametes
+     * @param distinctGenotypes number of distinct genotypes of the result
+     */
+    public CrossingMetrics(
+            long parsingNanos,
+            long gametesNanos,
+            long validationNanos,
+            long squareNanos,
+            int tokenizations,
+            long maleGametes,
+            long femaleGametes,
+            long cells,
+            int distinctGenotypes
+    ) {
+        this.parsingNanos = parsingNanos;
+        this.gametesNanos = gametesNanos;
+        this.validationNanos = validationNanos;
+        this.squareNanos = squareNanos;
+        this.tokenizations = tokenizations;
+        this.maleGametes = maleGametes;
+        this.femaleGametes = femaleGametes;
+        this.cells = cells;
+        this.distinctGenotypes = distinctGenotypes;
+    }
+
+    public long getParsingNanos() {
+        return parsingNanos;
+    }
+
+    public long getGametesNanos() {
+        return gametesNanos;
+    }
+
+    public long getValidationNanos() {
+        return validationNanos;
+    }
+
+    public long getSquareNanos() {
+        return squareNanos;
+    }
+
+    /**
+     * @return total time of all the stages
+     */
+    public long getTotalNanos() {
+        return parsingNanos + gametesNanos + validationNanos + squareNanos;
+    }
+
+    public int getTokenizations() {
+        return tokenizations;
+    }
+
+    public long getMaleGametes() {
+        return maleGametes;
+    }
+
+    public long getFemaleGametes() {
+        return femaleGametes;
+    }
+
+    public long getCells() {
+        return cells;
+    }
+
+    public int getDistinctGenotypes() {
+        return distinctGenotypes;
+    }
+
+    @Override
+    public String toString() {
+        return "CrossingMetrics{" +
+                "parsingNanos=" + parsingNanos +
+                ", gametesNanos=" + gametesNanos +
+                ", validationNanos=" + validationNanos +
+                ", squareNanos=" + squareNanos +
+                ", tokenizations=" + tokenizations +
+                ", maleGametes=" + maleGametes +
+                ", femaleGametes=" + femaleGametes +
+                ", cells=" + cells +
+                ", distinctGenotypes=" + distinctGenotypes +
+                '}';
+    }
+
+}
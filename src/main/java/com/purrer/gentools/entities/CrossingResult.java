@@ -0,0 +1,89 @@
+package com.purrer.gentools.entities;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Exact result of a crossing: the number of cells of every genotype in the Punnett square and the total number
+ * of cells. Counts are never truncated, so the result is correct for any number of loci.
+ */
+public final class CrossingResult {
+
+    private final Map<String, BigInteger> counts;
+    private final BigInteger total;
+
+    /**
+     * @param counts number of cells of every genotype
+     * @param total  number of cells of the Punnett square, the sum of all counts
+     */
+    public CrossingResult(Map<String, BigInteger> counts, BigInteger total) {
+        this.counts = Collections.unmodifiableMap(Objects.requireNonNull(counts));
+        this.total = Objects.requireNonNull(total);
+    }
+
+    /**
+     * @return counting map of all possible genotypes
+     */
+    public Map<String, BigInteger> getCounts() {
+        return counts;
+    }
+
+    /**
+     * @return number of cells of the genotype, zero if the genotype is not possible
+     */
+    public BigInteger getCount(String genotype) {
+        return counts.getOrDefault(genotype, BigInteger.ZERO);
+    }
+
+    /**
+     * @return total number of cells of the Punnett square
+     */
+    public BigInteger getTotal() {
+        return total;
+    }
+
+    /**
+     * @return exact probability of the genotype
+     */
+    public Probability getProbability(String genotype) {
+        return Probability.of(getCount(genotype), total);
+    }
+
+    /**
+     * @return approximate probabilities of all possible genotypes
+     */
+    public Map<String, Double> getProbabilities() {
+        Map<String, Double> probabilities = new HashMap<>((int) (counts.size() / 0.75f) + 1);
+        counts.forEach((genotype, count) -> probabilities.put(genotype, Probability.of(count, total).doubleValue()));
+        return probabilities;
+    }
+
+    /**
+     * @return number of distinct genotypes
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CrossingResult that = (CrossingResult) o;
+        return counts.equals(that.counts) && total.equals(that.total);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(counts, total);
+    }
+
+    @Override
+    public String toString() {
+        return "CrossingResult{total=" + total + ", counts=" + counts + '}';
+    }
+
+}
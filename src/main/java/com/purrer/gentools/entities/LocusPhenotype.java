@@ -0,0 +1,78 @@
+package com.purrer.gentools.entities;
+
+import java.util.Objects;
+
+/**
+ * Phenotypes of a single locus of the offspring: the number of cells of the monohybrid Punnett square (4 cells)
+ * with the dominant and the recessive trait
+ */
+public final class LocusPhenotype {
+
+    /**
+     * Number of cells of the monohybrid Punnett square
+     */
+    public static final int CELLS = 4;
+
+    private final AllelePair allelePair;
+    private final int dominantCount;
+
+    /**
+     * @param allelePair    alleles of the locus
+     * @param dominantCount number of cells with at least one dominant allele
+     * @throws IllegalArgumentException if count is not in [0, 4]
+     */
+    public LocusPhenotype(AllelePair allelePair, int dominantCount) {
+        this.allelePair = Objects.requireNonNull(allelePair);
+        if (dominantCount < 0 || dominantCount > CELLS) {
+            throw new IllegalArgumentException(
+                    String.format("dominantCount should be in [0, %d], but was %d", CELLS, dominantCount)
+            );
+        }
+        this.dominantCount = dominantCount;
+    }
+
+    public AllelePair getAllelePair() {
+        return allelePair;
+    }
+
+    /**
+     * @return dominant phenotype in the notation of genetics: the dominant allele and an unknown one, for example A_
+     */
+    public String getDominantPhenotype() {
+        return allelePair.getDominant() + PhenotypeResult.ANY_ALLELE;
+    }
+
+    /**
+     * @return recessive phenotype, which is the recessive homozygote, for example aa
+     */
+    public String getRecessivePhenotype() {
+        return allelePair.getRecessive() + allelePair.getRecessive();
+    }
+
+    public int getDominantCount() {
+        return dominantCount;
+    }
+
+    public int getRecessiveCount() {
+        return CELLS - dominantCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LocusPhenotype that = (LocusPhenotype) o;
+        return dominantCount == that.dominantCount && allelePair.equals(that.allelePair);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(allelePair, dominantCount);
+    }
+
+    @Override
+    public String toString() {
+        return getDominantPhenotype() + ":" + getRecessivePhenotype() + " = " + dominantCount + ":" + getRecessiveCount();
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.purrer.gentools.entities;
+
+import java.util.Arrays;
+
+/**
+ * Compact representation of a genotype. Every locus (allele pair of a config, in the order of the config) takes
+ * 2 bits which store the state of the locus:
+ * <pre>
+ *     00 - locus is not present in the genotype
+ *     01 - recessive homozygous (aa)
+ *     10 - heterozygous         (Aa)
+ *     11 - dominant homozygous  (AA)
+ * </pre>
+ * The state is always equal to the number of dominant alleles in the locus plus one. The first 32 loci are stored
+ * in a single <code>long</code>, next loci are stored in an additional array of words.
+ */
+public final class PackedGenotype {
+
+    public static final int ABSENT = 0;
+    public static final int RECESSIVE_HOMOZYGOUS = 1;
+    public static final int HETEROZYGOUS = 2;
+    public static final int DOMINANT_HOMOZYGOUS = 3;
+
+    public static final int LOCI_PER_WORD = Long.SIZE / 2;
+
+    private static final long LOCUS_MASK = 0b11L;
+    private static final long[] NO_EXTENDED_BITS = new long[0];
+
+    private final long bits;
+    private final long[] extendedBits;
+
+    private PackedGenotype(long bits, long[] extendedBits) {
+        this.bits = bits;
+        this.extendedBits = extendedBits;
+    }
+
+    /**
+     * @param bits states of first 32 loci
+     * @return genotype which has no loci after the first 32
+     */
+    public static PackedGenotype of(long bits) {
+        return new PackedGenotype(bits, NO_EXTENDED_BITS);
+    }
+
+    /**
+     * @param words states of loci, 32 loci per word. The array is copied
+     * @return genotype with provided states of loci
+     */
+    public static PackedGenotype of(long[] words) {
+        int length = words.length;
+        while (length > 1 && words[length - 1] == 0) {
+            length--;
+        }
+        if (length <= 1) {
+            return of(length == 0 ? 0 : words[0]);
+        }
+        return new PackedGenotype(words[0], Arrays.copyOfRange(words, 1, length));
+    }
+
+    /**
+     * @param dominantAlleles number of dominant alleles in the locus (0, 1 or 2)
+     * @return state of the locus with provided number of dominant alleles
+     */
+    public static int stateOf(int dominantAlleles) {
+        return dominantAlleles + 1;
+    }
+
+    /**
+     * @param locus index of the locus (allele pair) in the config
+     * @return one of {@link #ABSENT}, {@link #RECESSIVE_HOMOZYGOUS}, {@link #HETEROZYGOUS},
+     * {@link #DOMINANT_HOMOZYGOUS}
+     */
+    public int getLocusState(int locus) {
+        int word = locus / LOCI_PER_WORD;
+        if (word >= getWordCount()) {
+            return ABSENT;
+        }
+        return getState(getWord(word), locus);
+    }
+
+    /**
+     * @param locus index of the locus (allele pair) in the config
+     * @return number of dominant alleles in the locus or -1 if the locus is not present
+     */
+    public int getDominantAlleles(int locus) {
+        return getLocusState(locus) - 1;
+    }
+
+    public boolean hasLocus(int locus) {
+        return getLocusState(locus) != ABSENT;
+    }
+
+    /**
+     * @return number of loci which are present in the genotype
+     */
+    public int getPresentLociCount() {
+        int count = 0;
+        for (int i = 0; i < getWordCount(); i++) {
+            count += Long.bitCount(presentLociMask(getWord(i)));
+        }
+        return count;
+    }
+
+    public int getWordCount() {
+        return 1 + extendedBits.length;
+    }
+
+    public long getWord(int index) {
+        return index == 0 ? bits : extendedBits[index - 1];
+    }
+
+    public long[] toWords() {
+        long[] words = new long[getWordCount()];
+        words[0] = bits;
+        System.arraycopy(extendedBits, 0, words, 1, extendedBits.length);
+        return words;
+    }
+
+    /**
+     * @return copy of this genotype with replaced state of the provided locus
+     */
+    public PackedGenotype withLocusState(int locus, int state) {
+        long[] words = toWords();
+        int word = locus / LOCI_PER_WORD;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, word + 1);
+        }
+        words[word] = setState(words[word], locus, state);
+        return of(words);
+    }
+
+    /**
+     * @return word with lowest bit of every present locus set, others bits are cleared
+     */
+    public static long presentLociMask(long word) {
+        return (word | (word >>> 1)) & 0x5555_5555_5555_5555L;
+    }
+
+    /**
+     * @return position of the lowest bit of the locus in its word
+     */
+    public static int shiftOf(int locus) {
+        return (locus % LOCI_PER_WORD) * 2;
+    }
+
+    /**
+     * @return state of the provided locus stored in the word
+     */
+    public static int getState(long word, int locus) {
+        return (int) ((word >>> shiftOf(locus)) & LOCUS_MASK);
+    }
+
+    /**
+     * @return word with replaced state of the provided locus
+     */
+    public static long setState(long word, int locus, int state) {
+        int shift = shiftOf(locus);
+        return (word & ~(LOCUS_MASK << shift)) | ((long) state << shift);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PackedGenotype that = (PackedGenotype) o;
+        return bits == that.bits && Arrays.equals(extendedBits, that.extendedBits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(bits) + Arrays.hashCode(extendedBits);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("PackedGenotype{");
+        for (int i = getWordCount() - 1; i >= 0; i--) {
+            builder.append(String.format("%016x", getWord(i)));
+        }
+        return builder.append('}').toString();
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.purrer.gentools.entities;
+
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
+import com.purrer.gentools.validation.ValidationErrorCode;
+import com.purrer.gentools.validation.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Gene sequence which is tokenized and validated once. The parsed sequence can be crossed any number of times
+ * without tokenizing the sequence again.
+ * <p>
+ * Alleles are identified by their position in the config: the dominant allele of the <code>n</code>-th allele pair
+ * has id <code>2 * n</code> and the recessive one has id <code>2 * n + 1</code>.
+ * </p>
+ * <p>
+ * A sequence parsed by {@link AlleleIdTokenizer} keeps only the ids of the tokenizer, its gamete groups
+ * are created on the first call of {@link #getGameteGroups()}.
+ * </p>
+ * <p>
+ * A sequence which is neither tokenized nor validated, see {@link #notValidated(String)}, is never valid:
+ * it can only be crossed by its source sequence.
+ * </p>
+ */
+public final class ParsedSequence {
+
+    /**
+     * Id of an allele which is not present in the config
+     */
+    public static final int UNKNOWN_ALLELE = -1;
+
+    private final String sequence;
+    private final AlleleIdTokenizer tokenizer;
+    private final int[] tokenizerIds;
+    private final int[] alleleIds;
+    private final int locusCount;
+    private final ValidationResult validationResult;
+    private volatile List<GametePair> gameteGroups;
+
+    /**
+     * @param sequence         source gene sequence
+     * @param gameteGroups     gamete groups of the sequence, empty if the sequence couldn't be tokenized
+     * @param alleleIds        ids of the alleles of the gamete groups: two ids per group
+     * @param validationResult result of validation of the sequence
+     */
+    public ParsedSequence(
+            String sequence,
+            List<GametePair> gameteGroups,
+            int[] alleleIds,
+            ValidationResult validationResult
+    ) {
+        this.sequence = sequence;
+        this.tokenizer = null;
+        this.tokenizerIds = null;
+        this.gameteGroups = Collections.unmodifiableList(Objects.requireNonNull(gameteGroups));
+        this.alleleIds = Objects.requireNonNull(alleleIds);
+        this.locusCount = gameteGroups.size();
+        this.validationResult = Objects.requireNonNull(validationResult);
+    }
+
+    /**
+     * @param sequence         source gene sequence
+     * @param tokenizer        tokenizer which split the sequence
+     * @param tokenizerIds     ids of the alleles of the sequence written by the tokenizer: two ids per group
+     * @param configAlleleIds  ids of the config for the ids of the tokenizer, {@link #UNKNOWN_ALLELE} for the alleles
+     *                         which are not present in the config
+     * @param validationResult result of validation of the sequence
+     */
+    public ParsedSequence(
+            String sequence,
+            AlleleIdTokenizer tokenizer,
+            int[] tokenizerIds,
+            int[] configAlleleIds,
+            ValidationResult validationResult
+    ) {
+        this.sequence = sequence;
+        this.tokenizer = Objects.requireNonNull(tokenizer);
+        this.tokenizerIds = Objects.requireNonNull(tokenizerIds);
+        this.alleleIds = Objects.requireNonNull(configAlleleIds);
+        this.locusCount = tokenizerIds.length / 2;
+        this.validationResult = Objects.requireNonNull(validationResult);
+    }
+
+    /**
+     * @param sequence source gene sequence
+     * @return sequence without gamete groups, whose validation result is {@link ValidationErrorCode#NOT_VALIDATED}
+     */
+    public static ParsedSequence notValidated(String sequence) {
+        return new ParsedSequence(
+                sequence,
+                Collections.emptyList(),
+                new int[0],
+                ValidationResult.invalid(
+                        ValidationErrorCode.NOT_VALIDATED,
+                        ValidationResult.NO_POSITION,
+                        "Sequence %s isn't validated",
+                        sequence
+                )
+        );
+    }
+
+    public String getSequence() {
+        return sequence;
+    }
+
+    public List<GametePair> getGameteGroups() {
+        List<GametePair> groups = gameteGroups;
+        if (groups == null) {
+            List<GametePair> created = new ArrayList<>(locusCount);
+            for (int position = 0; position < tokenizerIds.length; position += 2) {
+                created.add(new GametePair(getAllele(position), getAllele(position + 1)));
+            }
+            groups = Collections.unmodifiableList(created);
+            gameteGroups = groups;
+        }
+        return groups;
+    }
+
+    /**
+     * @return number of gamete groups (loci) of the sequence
+     */
+    public int getLocusCount() {
+        return locusCount;
+    }
+
+    /**
+     * @param position position of the allele in the sequence: the first allele of the <code>n</code>-th gamete group
+     *                 is at <code>2 * n</code> and the second one is at <code>2 * n + 1</code>
+     * @return id of the allele or {@link #UNKNOWN_ALLELE}
+     */
+    public int getAlleleId(int position) {
+        return tokenizerIds != null ? alleleIds[tokenizerIds[position]] : alleleIds[position];
+    }
+
+    /**
+     * @param position position of the allele in the sequence, see {@link #getAlleleId(int)}
+     * @return the allele, without creating the gamete groups of the sequence
+     */
+    public String getAllele(int position) {
+        if (tokenizerIds != null) {
+            return tokenizer.getAllele(tokenizerIds[position]);
+        }
+        GametePair group = gameteGroups.get(position / 2);
+        return position % 2 == 0 ? group.getFirstGamete() : group.getSecondGamete();
+    }
+
+    public ValidationResult getValidationResult() {
+        return validationResult;
+    }
+
+    public boolean isValid() {
+        return validationResult.isValid();
+    }
+
+    /**
+     * @return false if the sequence wasn't validated, so {@link #isValid()} says nothing about the sequence itself
+     */
+    public boolean isValidated() {
+        return validationResult.getErrorCode() != ValidationErrorCode.NOT_VALIDATED;
+    }
+
+    @Override
+    public String toString() {
+        return sequence;
+    }
+
+}
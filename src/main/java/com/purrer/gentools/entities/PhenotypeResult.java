@@ -0,0 +1,134 @@
+package com.purrer.gentools.entities;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Phenotypes of the offspring, assuming complete dominance of every locus. Loci are inherited independently,
+ * so the result keeps only the phenotypes of every locus, and the count of a phenotype of several loci is
+ * a product of the counts of its loci. Phenotypes are written as the sequence of the loci phenotypes in the order
+ * of the config, for example <code>A_bbC_</code>.
+ */
+public final class PhenotypeResult {
+
+    /**
+     * Placeholder of the unknown second allele of the dominant phenotype
+     */
+    public static final char ANY_ALLELE = '_';
+
+    private final List<LocusPhenotype> loci;
+
+    public PhenotypeResult(List<LocusPhenotype> loci) {
+        this.loci = Collections.unmodifiableList(Objects.requireNonNull(loci));
+    }
+
+    /**
+     * @return phenotypes of every locus in the order of the config
+     */
+    public List<LocusPhenotype> getLoci() {
+        return loci;
+    }
+
+    /**
+     * @return total number of cells of the Punnett square: 4 ^ number of loci
+     */
+    public BigInteger getTotal() {
+        return BigInteger.ONE.shiftLeft(2 * loci.size());
+    }
+
+    /**
+     * Computes the count of the single phenotype from the loci, the work is linear in the number of loci
+     *
+     * @param phenotype phenotype in format: A_bbC_
+     * @return number of cells of the Punnett square with the phenotype, zero if the phenotype is not possible
+     */
+    public BigInteger getCount(String phenotype) {
+        BigInteger count = BigInteger.ONE;
+        int offset = 0;
+        for (LocusPhenotype locus : loci) {
+            String dominant = locus.getDominantPhenotype();
+            String recessive = locus.getRecessivePhenotype();
+            if (phenotype.startsWith(dominant, offset)) {
+                count = count.multiply(BigInteger.valueOf(locus.getDominantCount()));
+                offset += dominant.length();
+            } else if (phenotype.startsWith(recessive, offset)) {
+                count = count.multiply(BigInteger.valueOf(locus.getRecessiveCount()));
+                offset += recessive.length();
+            } else {
+                return BigInteger.ZERO;
+            }
+        }
+        return offset == phenotype.length() ? count : BigInteger.ZERO;
+    }
+
+    /**
+     * @return exact probability of the phenotype
+     */
+    public Probability getProbability(String phenotype) {
+        return Probability.of(getCount(phenotype), getTotal());
+    }
+
+    /**
+     * Combines the loci into all possible phenotypes, there are 2 ^ number of segregating loci of them
+     *
+     * @return counting map of all possible phenotypes
+     */
+    public Map<String, BigInteger> getCounts() {
+        Map<String, BigInteger> counts = new HashMap<>();
+        combine(0, new StringBuilder(), BigInteger.ONE, counts);
+        return counts;
+    }
+
+    /**
+     * @return counts of all possible phenotypes divided by their greatest common divisor, for example
+     * 9:3:3:1 for a dihybrid cross of heterozygotes
+     */
+    public Map<String, BigInteger> getRatio() {
+        Map<String, BigInteger> counts = getCounts();
+        BigInteger gcd = counts.values().stream().reduce(BigInteger.ZERO, BigInteger::gcd);
+        counts.replaceAll((phenotype, count) -> count.divide(gcd));
+        return counts;
+    }
+
+    private void combine(int position, StringBuilder phenotype, BigInteger count, Map<String, BigInteger> counts) {
+        if (position == loci.size()) {
+            counts.put(phenotype.toString(), count);
+            return;
+        }
+        LocusPhenotype locus = loci.get(position);
+        int length = phenotype.length();
+        if (locus.getDominantCount() > 0) {
+            phenotype.append(locus.getDominantPhenotype());
+            combine(position + 1, phenotype, count.multiply(BigInteger.valueOf(locus.getDominantCount())), counts);
+            phenotype.setLength(length);
+        }
+        if (locus.getRecessiveCount() > 0) {
+            phenotype.append(locus.getRecessivePhenotype());
+            combine(position + 1, phenotype, count.multiply(BigInteger.valueOf(locus.getRecessiveCount())), counts);
+            phenotype.setLength(length);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PhenotypeResult that = (PhenotypeResult) o;
+        return loci.equals(that.loci);
+    }
+
+    @Override
+    public int hashCode() {
+        return loci.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PhenotypeResult{loci=" + loci + '}';
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.purrer.gentools.entities;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * Exact probability represented as an irreducible fraction
+ */
+public final class Probability implements Comparable<Probability> {
+
+    public static final Probability ZERO = new Probability(BigInteger.ZERO, BigInteger.ONE);
+    public static final Probability ONE = new Probability(BigInteger.ONE, BigInteger.ONE);
+
+    private final BigInteger numerator;
+    private final BigInteger denominator;
+
+    private Probability(BigInteger numerator, BigInteger denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * @param count number of favourable outcomes
+     * @param total number of all outcomes
+     * @return probability <code>count / total</code> reduced to an irreducible fraction
+     * @throws IllegalArgumentException if count is negative or greater than total
+     */
+    public static Probability of(BigInteger count, BigInteger total) {
+        Objects.requireNonNull(count, "Count should not be null");
+        Objects.requireNonNull(total, "Total should not be null");
+        if (count.signum() < 0 || total.signum() <= 0 || count.compareTo(total) > 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid probability %s/%s", count, total)
+            );
+        }
+        BigInteger gcd = count.gcd(total);
+        return new Probability(count.divide(gcd), total.divide(gcd));
+    }
+
+    public static Probability of(long count, long total) {
+        return of(BigInteger.valueOf(count), BigInteger.valueOf(total));
+    }
+
+    public BigInteger getNumerator() {
+        return numerator;
+    }
+
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * @return probability of both this and other independent events
+     */
+    public Probability multiply(Probability other) {
+        return of(numerator.multiply(other.numerator), denominator.multiply(other.denominator));
+    }
+
+    public double doubleValue() {
+        if (numerator.bitLength() < 53 && denominator.bitLength() < 53) {
+            return numerator.doubleValue() / denominator.doubleValue();
+        }
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator), MathContext.DECIMAL64).doubleValue();
+    }
+
+    @Override
+    public int compareTo(Probability other) {
+        return numerator.multiply(other.denominator).compareTo(other.numerator.multiply(denominator));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Probability that = (Probability) o;
+        return numerator.equals(that.numerator) && denominator.equals(that.denominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(numerator, denominator);
+    }
+
+    @Override
+    public String toString() {
+        return numerator + "/" + denominator;
+    }
+
+}
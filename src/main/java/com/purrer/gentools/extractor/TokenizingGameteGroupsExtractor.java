@@ -1,9 +1,11 @@
 package com.purrer.gentools.extractor;
 
 import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
 import com.purrer.gentools.interfaces.GameteGroupsExtractor;
 import com.purrer.gentools.interfaces.SequenceTokenizer;
 import com.purrer.gentools.interfaces.Token;
+import com.purrer.gentools.utils.AlleleIdBuffer;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -20,8 +22,29 @@ public class TokenizingGameteGroupsExtractor implements GameteGroupsExtractor {
         this.tokenizer = tokenizer;
     }
 
+    /**
+     * If the tokenizer is {@link AlleleIdTokenizer}, the sequence is tokenized into {@link AlleleIdBuffer#local()}
+     * instead of the list of tokens. Sequences which can't be split into pairs of alleles this way are tokenized
+     * into the list, so the errors are the same as the errors of the tokenizer
+     */
     @Override
     public List<GametePair> getGameteGroups(String sequence) {
+        AlleleIdTokenizer alleleIdTokenizer = getAlleleIdTokenizer();
+        if (alleleIdTokenizer != null && sequence != null) {
+            AlleleIdBuffer buffer = AlleleIdBuffer.local();
+            int count = buffer.tokenize(alleleIdTokenizer, sequence);
+            if (count >= 0 && count % 2 == 0) {
+                List<GametePair> pairs = new ArrayList<>(count / 2);
+                for (int idx = 0; idx < count; idx += 2) {
+                    pairs.add(new GametePair(
+                            alleleIdTokenizer.getAllele(buffer.get(idx)),
+                            alleleIdTokenizer.getAllele(buffer.get(idx + 1))
+                    ));
+                }
+                return pairs;
+            }
+        }
+
         List<Token> tokens = tokenizer.tokenize(sequence);
 
         List<GametePair> pairs = new ArrayList<>();
@@ -34,4 +57,12 @@ public class TokenizingGameteGroupsExtractor implements GameteGroupsExtractor {
 
         return pairs;
     }
+
+    /**
+     * @return the tokenizer of this extractor if it is {@link AlleleIdTokenizer}, otherwise null
+     */
+    @Override
+    public AlleleIdTokenizer getAlleleIdTokenizer() {
+        return tokenizer instanceof AlleleIdTokenizer ? (AlleleIdTokenizer) tokenizer : null;
+    }
 }
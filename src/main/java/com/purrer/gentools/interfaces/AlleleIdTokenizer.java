@@ -0,0 +1,48 @@
+package com.purrer.gentools.interfaces;
+
+/**
+ * Tokenizer which writes ids of the alleles of the sequence into the array supplied by the caller instead of
+ * creating the list of tokens, so the sequence is tokenized without heap allocation. Ids are dense: they start
+ * from 0 and are less than {@link #getAlleleCount()}.
+ */
+public interface AlleleIdTokenizer {
+
+    /**
+     * Splits the provided sequence into the ids of its alleles in the same order as the alleles are present
+     * in the sequence. Example:
+     *  <pre>
+     *  sequence = "AaBBCc", ids: A = 0, a = 1, B = 2, b = 3, C = 4, c = 5
+     *  output  ->  [0, 1, 2, 2, 4, 5], returns 6
+     *  </pre>
+     * Every allele is at least one character long, so an array of <code>sequence.length()</code> ids is always
+     * large enough.
+     *
+     * @param sequence  sequence to split into alleles
+     * @param alleleIds array to write the ids to, starting from index 0
+     * @return number of written ids, or <code>-(position + 1)</code> if the sequence can't be tokenized at
+     * <code>position</code>
+     * @throws IllegalArgumentException if the array is too small for the alleles of the sequence
+     */
+    int tokenize(CharSequence sequence, int[] alleleIds);
+
+    /**
+     * Same as {@link #tokenize(CharSequence, int[])} for the tokenizers with at most {@link Short#MAX_VALUE} + 1
+     * alleles
+     *
+     * @throws IllegalArgumentException if the array is too small for the alleles of the sequence or ids of
+     *                                  the alleles don't fit into <code>short</code>
+     */
+    int tokenize(CharSequence sequence, short[] alleleIds);
+
+    /**
+     * @return number of alleles known by this tokenizer
+     */
+    int getAlleleCount();
+
+    /**
+     * @param alleleId id of the allele, which is less than {@link #getAlleleCount()}
+     * @return allele with the provided id
+     */
+    String getAllele(int alleleId);
+
+}
@@ -1,7 +1,86 @@
 package com.purrer.gentools.interfaces;
 
+import com.purrer.gentools.entities.CrossingResult;
+import com.purrer.gentools.entities.ParsedSequence;
+
+import java.math.BigInteger;
+import java.util.HashMap;
 import java.util.Map;
 
 public interface Crossing {
     Map<String, Integer> crossing(String sequence1, String sequence2);
+
+    /**
+     * Tokenizes and validates the sequence once, so it can be crossed any number of times without parsing it again.
+     * <p>
+     * The default implementation neither tokenizes nor validates the sequence, it returns
+     * {@link ParsedSequence#notValidated(String)}, which {@link #crossing(ParsedSequence, ParsedSequence)} validates
+     * by {@link #crossing(String, String)}
+     * </p>
+     *
+     * @param sequence gene sequence in format: AaBbCc
+     * @return parsed sequence, which may be invalid
+     */
+    default ParsedSequence parse(String sequence) {
+        return ParsedSequence.notValidated(sequence);
+    }
+
+    /**
+     * Build polyhybrid crossing of two parsed gene sequences. The default implementation crosses the source
+     * sequences by {@link #crossing(String, String)}
+     *
+     * @param sequence1 sequence parsed by {@link #parse(String)} of this crossing
+     * @param sequence2 sequence parsed by {@link #parse(String)} of this crossing
+     * @return counting map of all possible genotypes
+     * @throws IllegalArgumentException if sequences are invalid
+     */
+    default Map<String, Integer> crossing(ParsedSequence sequence1, ParsedSequence sequence2) {
+        return crossing(sequence1.getSequence(), sequence2.getSequence());
+    }
+
+    /**
+     * Build polyhybrid crossing of two gene sequences with exact counts, which don't overflow for any number of loci
+     *
+     * @param sequence1 gene sequence in format: AaBbCc
+     * @param sequence2 gene sequence in same format and length as the first one
+     * @return counts of all possible genotypes together with the total number of cells of the Punnett square
+     */
+    default CrossingResult exactCrossing(String sequence1, String sequence2) {
+        return exactCrossing(parse(sequence1), parse(sequence2));
+    }
+
+    /**
+     * Build polyhybrid crossing of two parsed gene sequences with exact counts, see
+     * {@link #exactCrossing(String, String)}
+     */
+    default CrossingResult exactCrossing(ParsedSequence sequence1, ParsedSequence sequence2) {
+        Map<String, Integer> punnettSquare = crossing(sequence1, sequence2);
+        Map<String, BigInteger> counts = new HashMap<>((int) (punnettSquare.size() / 0.75f) + 1);
+        BigInteger total = BigInteger.ZERO;
+        for (Map.Entry<String, Integer> genotype : punnettSquare.entrySet()) {
+            BigInteger count = BigInteger.valueOf(genotype.getValue());
+            counts.put(genotype.getKey(), count);
+            total = total.add(count);
+        }
+        return new CrossingResult(counts, total);
+    }
+
+    /**
+     * Build polyhybrid crossing of two gene sequences as approximate probabilities of genotypes
+     *
+     * @param sequence1 gene sequence in format: AaBbCc
+     * @param sequence2 gene sequence in same format and length as the first one
+     * @return probabilities of all possible genotypes
+     */
+    default Map<String, Double> probabilities(String sequence1, String sequence2) {
+        return probabilities(parse(sequence1), parse(sequence2));
+    }
+
+    /**
+     * Build polyhybrid crossing of two parsed gene sequences as approximate probabilities of genotypes, see
+     * {@link #probabilities(String, String)}
+     */
+    default Map<String, Double> probabilities(ParsedSequence sequence1, ParsedSequence sequence2) {
+        return exactCrossing(sequence1, sequence2).getProbabilities();
+    }
 }
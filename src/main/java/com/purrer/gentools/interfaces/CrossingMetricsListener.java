@@ -0,0 +1,14 @@
+package com.purrer.gentools.interfaces;
+
+import com.purrer.gentools.entities.CrossingMetrics;
+
+/**
+ * Receives the measurements of every successful crossing. It's called in the thread which called the crossing,
+ * so it should be fast and thread-safe if the crossing is shared between threads
+ */
+@FunctionalInterface
+public interface CrossingMetricsListener {
+
+    void onCrossing(CrossingMetrics metrics);
+
+}
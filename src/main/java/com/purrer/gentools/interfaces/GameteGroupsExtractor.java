@@ -20,4 +20,12 @@ public interface GameteGroupsExtractor {
      */
     List<GametePair> getGameteGroups(String sequence);
 
+    /**
+     * @return tokenizer which splits the sequences into the same alleles as this extractor without allocation,
+     * or null if the extractor doesn't have one
+     */
+    default AlleleIdTokenizer getAlleleIdTokenizer() {
+        return null;
+    }
+
 }
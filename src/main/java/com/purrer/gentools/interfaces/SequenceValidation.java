@@ -1,8 +1,62 @@
 package com.purrer.gentools.interfaces;
 
+import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.extractor.SymbolGameteGroupsExtractor;
 import com.purrer.gentools.validation.ValidationResult;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public interface SequenceValidation {
     ValidationResult validateSequence(String sequence);
     ValidationResult validateSequencePair(String firstSequence, String secondSequence);
+
+    /**
+     * Tokenizes and validates the sequence once. Invalid sequences are parsed too, the result of their validation
+     * is kept in {@link ParsedSequence#getValidationResult()}
+     *
+     * <p>
+     * The default implementation validates the sequence by {@link #validateSequence(String)} and splits a valid
+     * sequence into single-character alleles by {@link SymbolGameteGroupsExtractor}. Validations of longer alleles
+     * should override it or be used with their extractor, see {@link #parse(String, GameteGroupsExtractor)}
+     * </p>
+     *
+     * @param sequence gene sequence in format: AaBbCc
+     * @return parsed sequence
+     */
+    default ParsedSequence parse(String sequence) {
+        return parse(sequence, new SymbolGameteGroupsExtractor());
+    }
+
+    /**
+     * Parses the sequence with the gamete groups of the provided extractor. The default implementation validates
+     * the sequence by {@link #validateSequence(String)} and extracts the gamete groups of a valid sequence, ids of
+     * their alleles are {@link ParsedSequence#UNKNOWN_ALLELE}. Validations which parse the sequences themselves
+     * may ignore the extractor
+     *
+     * @param sequence  gene sequence in format: AaBbCc
+     * @param extractor extractor of the gamete groups of the sequence
+     * @return parsed sequence
+     */
+    default ParsedSequence parse(String sequence, GameteGroupsExtractor extractor) {
+        ValidationResult validationResult = validateSequence(sequence);
+        List<GametePair> gameteGroups = validationResult.isValid()
+                ? extractor.getGameteGroups(sequence)
+                : Collections.emptyList();
+        int[] alleleIds = new int[gameteGroups.size() * 2];
+        Arrays.fill(alleleIds, ParsedSequence.UNKNOWN_ALLELE);
+        return new ParsedSequence(sequence, gameteGroups, alleleIds, validationResult);
+    }
+
+    /**
+     * Validates already parsed sequences without tokenizing them again. The default implementation validates
+     * the source sequences by {@link #validateSequencePair(String, String)}
+     *
+     * @return invalid result if any of the sequences is invalid or sequences can't be crossed
+     */
+    default ValidationResult validateSequencePair(ParsedSequence firstSequence, ParsedSequence secondSequence) {
+        return validateSequencePair(firstSequence.getSequence(), secondSequence.getSequence());
+    }
 }
@@ -0,0 +1,232 @@
+package com.purrer.gentools.io;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Reads crossing results written by {@link CrossingResultWriter}. The file is mapped into memory and entries
+ * are read in place: a genotype is found by binary search over the sorted fixed-width keys, then its count is
+ * decoded from the nearest checkpoint of the counts block, so a lookup reads O(log n) keys and at most
+ * 64 varints. The reader is immutable and can be used from several threads.
+ */
+public class CrossingResultReader {
+
+    private final ByteBuffer buffer;
+    private final List<AllelePair> allelePairs;
+    private final PackedGenotypeCodec codec;
+    private final int wordCount;
+    private final long size;
+    private final int keysOffset;
+    private final int checkpointsOffset;
+    private final int countsOffset;
+
+    private CrossingResultReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < Integer.BYTES + 1 || buffer.getInt(0) != ResultFormat.MAGIC) {
+            throw new IOException("Not a crossing result file");
+        }
+        if (buffer.get(Integer.BYTES) != ResultFormat.VERSION) {
+            throw new IOException(
+                    String.format("Unsupported version %d of crossing result file", buffer.get(Integer.BYTES))
+            );
+        }
+        try {
+            int[] position = {Integer.BYTES + 1};
+            long pairCount = readVarint(position);
+            if (pairCount < 0 || pairCount > buffer.limit()) {
+                throw new IOException(String.format("Crossing result file has invalid number of loci %d", pairCount));
+            }
+            List<AllelePair> pairs = new ArrayList<>((int) pairCount);
+            CrossingConfig config = new CrossingConfig();
+            for (int locus = 0; locus < pairCount; locus++) {
+                AllelePair pair = new AllelePair(readString(position), readString(position));
+                pairs.add(pair);
+                config.addAllelePair(pair);
+            }
+            this.allelePairs = Collections.unmodifiableList(pairs);
+            this.codec = Crossings.createPackedGenotypeCodec(config);
+            this.wordCount = buffer.get(position[0]++);
+            if (wordCount < 1) {
+                throw new IOException(String.format("Crossing result file has invalid number of words %d", wordCount));
+            }
+            this.size = buffer.getLong(position[0]);
+            if (size < 0) {
+                throw new IOException(String.format("Crossing result file has invalid size %d", size));
+            }
+            this.keysOffset = position[0] + Long.BYTES;
+            long keysLength = Math.multiplyExact(size, (long) wordCount * Long.BYTES);
+            this.checkpointsOffset = Math.toIntExact(Math.addExact(keysOffset, keysLength));
+            long checkpoints = (size + ResultFormat.CHECKPOINT_INTERVAL - 1) / ResultFormat.CHECKPOINT_INTERVAL;
+            this.countsOffset = Math.toIntExact(checkpointsOffset + checkpoints * Long.BYTES);
+        } catch (IndexOutOfBoundsException | ArithmeticException | IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Crossing result file is corrupted", e);
+        }
+        // every count takes at least one byte
+        if (countsOffset > buffer.limit() - size) {
+            throw new IOException("Crossing result file is truncated");
+        }
+    }
+
+    /**
+     * Maps the file into memory, the file can't be larger than 2 GiB
+     *
+     * @throws IOException if the file can't be read or it's not a crossing result file
+     */
+    public static CrossingResultReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(String.format("File %s is larger than 2 GiB", file));
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CrossingResultReader(buffer);
+        }
+    }
+
+    /**
+     * @return allele pairs of the config with which the result was written, loci of the genotypes are indexed
+     * in their order
+     */
+    public List<AllelePair> getAllelePairs() {
+        return allelePairs;
+    }
+
+    /**
+     * @return number of distinct genotypes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param genotype genotype in format: AaBbCc
+     * @return count of the genotype, 0 if it's not in the result
+     * @throws IllegalArgumentException if genotype is invalid for the allele pairs of the file
+     */
+    public long getCount(String genotype) {
+        return getCount(codec.encode(genotype));
+    }
+
+    /**
+     * @param genotype packed genotype with loci in the order of {@link #getAllelePairs()}
+     * @return count of the genotype, 0 if it's not in the result
+     */
+    public long getCount(PackedGenotype genotype) {
+        if (genotype.getWordCount() > wordCount) {
+            return 0;
+        }
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int result = compareKey(middle, genotype);
+            if (result < 0) {
+                low = middle + 1;
+            } else if (result > 0) {
+                high = middle - 1;
+            } else {
+                return countAt(middle);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Passes every packed genotype with its count to the consumer in the order of the file
+     */
+    public void forEach(ObjLongConsumer<PackedGenotype> consumer) {
+        int[] position = {countsOffset};
+        long[] words = new long[wordCount];
+        for (long entry = 0; entry < size; entry++) {
+            int keyOffset = Math.toIntExact(keysOffset + entry * wordCount * Long.BYTES);
+            for (int word = 0; word < wordCount; word++) {
+                words[word] = buffer.getLong(keyOffset + word * Long.BYTES);
+            }
+            consumer.accept(PackedGenotype.of(words), readVarint(position));
+        }
+    }
+
+    /**
+     * Reads the whole result
+     *
+     * @return counting map of genotypes in the format of {@link PackedGenotypeCodec#decode(PackedGenotype)}
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> result = new HashMap<>((int) Math.min(size / 0.75f + 1, 1 << 20));
+        forEach((genotype, count) -> result.put(codec.decode(genotype), count));
+        return result;
+    }
+
+    /**
+     * @return gene sequence of the packed genotype of this file
+     */
+    public String decode(PackedGenotype genotype) {
+        return codec.decode(genotype);
+    }
+
+    private int compareKey(long entry, PackedGenotype genotype) {
+        int keyOffset = Math.toIntExact(keysOffset + entry * wordCount * Long.BYTES);
+        for (int word = 0; word < wordCount; word++) {
+            long genotypeWord = word < genotype.getWordCount() ? genotype.getWord(word) : 0;
+            int result = Long.compareUnsigned(buffer.getLong(keyOffset + word * Long.BYTES), genotypeWord);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private long countAt(long entry) {
+        long checkpoint = entry / ResultFormat.CHECKPOINT_INTERVAL;
+        long checkpointOffset = buffer.getLong(Math.toIntExact(checkpointsOffset + checkpoint * Long.BYTES));
+        int[] position = {Math.toIntExact(countsOffset + checkpointOffset)};
+        for (long skipped = checkpoint * ResultFormat.CHECKPOINT_INTERVAL; skipped < entry; skipped++) {
+            readVarint(position);
+        }
+        return readVarint(position);
+    }
+
+    /**
+     * Reads unsigned LEB128 at the position and moves the position after it
+     */
+    private long readVarint(int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position[0]++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private String readString(int[] position) throws IOException {
+        long length = readVarint(position);
+        if (length < 0 || length > buffer.limit() - position[0]) {
+            throw new IOException(String.format("Crossing result file has invalid string length %d", length));
+        }
+        byte[] bytes = new byte[(int) length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position[0]++);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
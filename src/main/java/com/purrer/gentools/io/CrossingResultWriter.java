@@ -0,0 +1,229 @@
+package com.purrer.gentools.io;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.CrossingResult;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes crossing results in the compact binary format, which can be read by {@link CrossingResultReader}
+ * without deserializing the whole file. Genotypes are stored as packed genotypes of the config and counts
+ * as varints, see {@link ResultFormat} for the layout.
+ */
+public class CrossingResultWriter {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final PackedGenotypeCodec codec;
+    private final int wordCount;
+
+    public CrossingResultWriter(CrossingConfig config) {
+        this(Crossings.createPackedGenotypeCodec(config));
+    }
+
+    public CrossingResultWriter(PackedGenotypeCodec codec) {
+        this.codec = codec;
+        this.wordCount = Math.max(
+                1,
+                (codec.getLocusCount() + PackedGenotype.LOCI_PER_WORD - 1) / PackedGenotype.LOCI_PER_WORD
+        );
+    }
+
+    /**
+     * Writes the result to the file, the file is replaced if it exists
+     *
+     * @param result counting map of genotypes returned by crossing
+     * @throws IllegalArgumentException if some genotype is invalid or some count is negative
+     * @throws IOException              if the file can't be written
+     */
+    public void write(Map<String, Integer> result, Path file) throws IOException {
+        try (WritableByteChannel channel = newChannel(file)) {
+            write(result, channel);
+        }
+    }
+
+    /**
+     * Writes the result to the channel, the channel is not closed
+     *
+     * @param result counting map of genotypes returned by crossing
+     * @throws IllegalArgumentException if some genotype is invalid or some count is negative
+     * @throws IOException              if the channel can't be written
+     */
+    public void write(Map<String, Integer> result, WritableByteChannel channel) throws IOException {
+        Map<String, Long> counts = new HashMap<>((int) (result.size() / 0.75f) + 1);
+        result.forEach((genotype, count) -> counts.put(genotype, count.longValue()));
+        writeCounts(counts, channel);
+    }
+
+    /**
+     * Writes the exact result to the file, the file is replaced if it exists
+     *
+     * @throws ArithmeticException if some count doesn't fit into long
+     * @see #write(Map, Path)
+     */
+    public void write(CrossingResult result, Path file) throws IOException {
+        try (WritableByteChannel channel = newChannel(file)) {
+            write(result, channel);
+        }
+    }
+
+    /**
+     * Writes the exact result to the channel, the channel is not closed
+     *
+     * @throws ArithmeticException if some count doesn't fit into long
+     * @see #write(Map, WritableByteChannel)
+     */
+    public void write(CrossingResult result, WritableByteChannel channel) throws IOException {
+        Map<String, Long> counts = new HashMap<>((int) (result.size() / 0.75f) + 1);
+        result.getCounts().forEach((genotype, count) -> counts.put(genotype, count.longValueExact()));
+        writeCounts(counts, channel);
+    }
+
+    private static WritableByteChannel newChannel(Path file) throws IOException {
+        return Files.newByteChannel(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+        );
+    }
+
+    private void writeCounts(Map<String, Long> counts, WritableByteChannel channel) throws IOException {
+        int size = counts.size();
+        long[][] keys = new long[size][];
+        long[] values = new long[size];
+        int idx = 0;
+        for (Map.Entry<String, Long> genotype : counts.entrySet()) {
+            if (genotype.getValue() < 0) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Count of %s should be non-negative, but was %d",
+                                genotype.getKey(),
+                                genotype.getValue()
+                        )
+                );
+            }
+            keys[idx] = Arrays.copyOf(codec.encode(genotype.getKey()).toWords(), wordCount);
+            values[idx] = genotype.getValue();
+            idx++;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> ResultFormat.compareKeys(keys[first], keys[second]));
+
+        BufferedChannel output = new BufferedChannel(channel);
+        output.putInt(ResultFormat.MAGIC);
+        output.put(ResultFormat.VERSION);
+        output.putVarint(codec.getLocusCount());
+        for (int locus = 0; locus < codec.getLocusCount(); locus++) {
+            AllelePair pair = codec.getAllelePair(locus);
+            output.putString(pair.getDominant());
+            output.putString(pair.getRecessive());
+        }
+        output.put((byte) wordCount);
+        output.putLong(size);
+
+        for (int entry : order) {
+            for (long word : keys[entry]) {
+                output.putLong(word);
+            }
+        }
+        long offset = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % ResultFormat.CHECKPOINT_INTERVAL == 0) {
+                output.putLong(offset);
+            }
+            offset += varintLength(values[order[i]]);
+        }
+        for (int entry : order) {
+            output.putVarint(values[entry]);
+        }
+        output.flush();
+    }
+
+    private static int varintLength(long value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Writes big-endian numbers and varints through a fixed buffer
+     */
+    private static final class BufferedChannel {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        private BufferedChannel(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        private void put(byte value) throws IOException {
+            ensureRemaining(Byte.BYTES);
+            buffer.put(value);
+        }
+
+        private void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        private void putLong(long value) throws IOException {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        /**
+         * Writes unsigned LEB128: 7 bits per byte starting from the lowest ones, the highest bit of the byte
+         * is set if more bytes follow
+         */
+        private void putVarint(long value) throws IOException {
+            ensureRemaining(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(bytes.length);
+            for (byte b : bytes) {
+                put(b);
+            }
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+}
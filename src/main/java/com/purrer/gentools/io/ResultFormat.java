@@ -0,0 +1,42 @@
+package com.purrer.gentools.io;
+
+/**
+ * Layout of the binary file of a crossing result, version 1. All fixed-width numbers are big-endian:
+ * <pre>
+ *     header      - magic "PSQR" (4 bytes), version (1 byte),
+ *                   number of allele pairs (varint), every pair as dominant and recessive allele
+ *                   (varint length + UTF-8 bytes), number of words of a key (1 byte), number of entries (8 bytes)
+ *     keys        - packed genotypes (see PackedGenotype), every key is a fixed number of 8-byte words,
+ *                   keys are sorted by their words as unsigned numbers
+ *     checkpoints - offset of the count of every 64th entry in the counts block (8 bytes each)
+ *     counts      - count of every entry as unsigned varint, in the order of the keys
+ * </pre>
+ * Loci of the keys are indexed in the order of the allele pairs of the header.
+ */
+final class ResultFormat {
+
+    static final int MAGIC = 0x50535152;
+    static final byte VERSION = 1;
+
+    /**
+     * Number of entries between the checkpoints of the counts block
+     */
+    static final int CHECKPOINT_INTERVAL = 64;
+
+    private ResultFormat() {
+    }
+
+    /**
+     * Compares the keys as sequences of unsigned words
+     */
+    static int compareKeys(long[] first, long[] second) {
+        for (int word = 0; word < first.length; word++) {
+            int result = Long.compareUnsigned(first[word], second[word]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+}
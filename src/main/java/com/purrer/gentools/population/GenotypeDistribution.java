@@ -0,0 +1,88 @@
+package com.purrer.gentools.population;
+
+import com.purrer.gentools.entities.PackedGenotype;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Frequencies of the genotypes of a population. Frequencies are normalized: they sum up to 1
+ */
+public final class GenotypeDistribution {
+
+    private final Map<PackedGenotype, Double> frequencies;
+
+    /**
+     * @param weights genotypes with their weights, which are normalized to frequencies
+     * @throws IllegalArgumentException if there are no genotypes or some weight is negative or not finite
+     */
+    public GenotypeDistribution(Map<PackedGenotype, Double> weights) {
+        double total = 0;
+        for (Map.Entry<PackedGenotype, Double> weight : weights.entrySet()) {
+            double value = weight.getValue();
+            if (value < 0 || !Double.isFinite(value)) {
+                throw new IllegalArgumentException(
+                        String.format("Weight of genotype %s should be non-negative, but was %s", weight.getKey(), value)
+                );
+            }
+            total += value;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Distribution should contain at least one genotype");
+        }
+
+        Map<PackedGenotype, Double> frequencies = new HashMap<>((int) (weights.size() / 0.75f) + 1);
+        for (Map.Entry<PackedGenotype, Double> weight : weights.entrySet()) {
+            if (weight.getValue() > 0) {
+                frequencies.put(weight.getKey(), weight.getValue() / total);
+            }
+        }
+        this.frequencies = Collections.unmodifiableMap(frequencies);
+    }
+
+    /**
+     * @return distribution of the population of a single genotype
+     */
+    public static GenotypeDistribution of(PackedGenotype genotype) {
+        return new GenotypeDistribution(Map.of(Objects.requireNonNull(genotype), 1.0));
+    }
+
+    public Map<PackedGenotype, Double> getFrequencies() {
+        return frequencies;
+    }
+
+    /**
+     * @return frequency of the genotype, 0 if there is no such genotype in the population
+     */
+    public double getFrequency(PackedGenotype genotype) {
+        return frequencies.getOrDefault(genotype, 0.0);
+    }
+
+    /**
+     * @return number of distinct genotypes
+     */
+    public int size() {
+        return frequencies.size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GenotypeDistribution that = (GenotypeDistribution) o;
+        return frequencies.equals(that.frequencies);
+    }
+
+    @Override
+    public int hashCode() {
+        return frequencies.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return frequencies.toString();
+    }
+
+}
@@ -0,0 +1,294 @@
+package com.purrer.gentools.population;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propagates genotype distributions of populations through generations. Every generation is computed from
+ * the distribution of the previous one, individual crosses are never enumerated, so the work of a generation
+ * depends only on the number of distinct genotypes and gametes, not on the number of generations before it.
+ * <p>
+ * Loci are inherited independently: every heterozygous locus gives its dominant allele to a half of the gametes
+ * regardless of the other loci. All the genotypes of the populations should have the same set of loci.
+ * </p>
+ * <p>
+ * The gametes of every distinct genotype are enumerated, a genotype with <code>k</code> heterozygous loci gives
+ * <code>2^k</code> of them, so the work and the memory of a generation grow exponentially with the number of
+ * heterozygous loci. Genotypes with more than {@link #MAX_HETEROZYGOUS_LOCI} heterozygous loci are rejected.
+ * </p>
+ */
+public class PopulationEngine {
+
+    /**
+     * Maximum number of heterozygous loci of a genotype, for which its gametes are enumerated. A genotype
+     * with <code>k</code> heterozygous loci gives <code>2^k</code> gametes, so the pool of a single genotype
+     * at the limit already has about a billion of them
+     */
+    public static final int MAX_HETEROZYGOUS_LOCI = 30;
+
+    /**
+     * Lowest bit of every locus of a word
+     */
+    private static final long LOWER_BITS = 0x5555_5555_5555_5555L;
+
+    private final PackedGenotypeCodec codec;
+    private final int wordCount;
+
+    public PopulationEngine(CrossingConfig config) {
+        this(Crossings.createPackedGenotypeCodec(config));
+    }
+
+    public PopulationEngine(PackedGenotypeCodec codec) {
+        this.codec = codec;
+        this.wordCount = Math.max(
+                1,
+                (codec.getLocusCount() + PackedGenotype.LOCI_PER_WORD - 1) / PackedGenotype.LOCI_PER_WORD
+        );
+    }
+
+    /**
+     * @param sequence gene sequence in format: AaBbCc
+     * @return distribution of the population of a single genotype
+     * @throws IllegalArgumentException if sequence is invalid
+     */
+    public GenotypeDistribution distribution(String sequence) {
+        return GenotypeDistribution.of(codec.encode(sequence));
+    }
+
+    /**
+     * @return frequencies of the genotypes of the distribution as gene sequences, see
+     * {@link PackedGenotypeCodec#decode(PackedGenotype)}
+     */
+    public Map<String, Double> decode(GenotypeDistribution distribution) {
+        Map<String, Double> result = new HashMap<>((int) (distribution.size() / 0.75f) + 1);
+        distribution.getFrequencies().forEach((genotype, frequency) -> result.put(codec.decode(genotype), frequency));
+        return result;
+    }
+
+    /**
+     * Mates random males of one population with random females of another one, for example parental lines
+     * to get F1
+     *
+     * @return distribution of the offspring
+     * @throws IllegalArgumentException if populations have different sets of loci
+     * @throws IllegalArgumentException if a genotype has more than {@link #MAX_HETEROZYGOUS_LOCI} heterozygous loci
+     */
+    public GenotypeDistribution cross(GenotypeDistribution males, GenotypeDistribution females) {
+        long[] presence = presenceOf(males, females);
+        Map<PackedGenotype, Double> offspring = new HashMap<>();
+        fertilize(gametePool(males), gametePool(females), presence, 1, offspring);
+        return new GenotypeDistribution(offspring);
+    }
+
+    /**
+     * Every generation is the offspring of random mating of the previous generation: the gametes of the whole
+     * population are pooled and united at random
+     *
+     * @param population  first generation
+     * @param generations number of generations to propagate
+     * @return distribution of the last generation
+     * @throws IllegalArgumentException if genotypes of the population have different sets of loci
+     * @throws IllegalArgumentException if a genotype has more than {@link #MAX_HETEROZYGOUS_LOCI} heterozygous loci
+     */
+    public GenotypeDistribution randomMating(GenotypeDistribution population, int generations) {
+        validateGenerations(generations);
+        for (int generation = 0; generation < generations; generation++) {
+            long[] presence = presenceOf(population, population);
+            GametePool pool = gametePool(population);
+            Map<PackedGenotype, Double> offspring = new HashMap<>();
+            fertilize(pool, pool, presence, 1, offspring);
+            population = new GenotypeDistribution(offspring);
+        }
+        return population;
+    }
+
+    /**
+     * Every generation is the offspring of self-fertilization of every genotype of the previous generation
+     *
+     * @param population  first generation
+     * @param generations number of generations to propagate
+     * @return distribution of the last generation
+     * @throws IllegalArgumentException if genotypes of the population have different sets of loci
+     * @throws IllegalArgumentException if a genotype has more than {@link #MAX_HETEROZYGOUS_LOCI} heterozygous loci
+     */
+    public GenotypeDistribution selfing(GenotypeDistribution population, int generations) {
+        validateGenerations(generations);
+        for (int generation = 0; generation < generations; generation++) {
+            long[] presence = presenceOf(population, population);
+            Map<PackedGenotype, Double> offspring = new HashMap<>();
+            for (Map.Entry<PackedGenotype, Double> genotype : population.getFrequencies().entrySet()) {
+                GametePool pool = gametePool(GenotypeDistribution.of(genotype.getKey()));
+                fertilize(pool, pool, presence, genotype.getValue(), offspring);
+            }
+            population = new GenotypeDistribution(offspring);
+        }
+        return population;
+    }
+
+    /**
+     * Every generation is the offspring of mating of the previous generation with the recurrent parent
+     *
+     * @param population      first generation
+     * @param recurrentParent population of the recurrent parent, usually a single genotype
+     * @param generations     number of generations to propagate
+     * @return distribution of the last generation
+     * @throws IllegalArgumentException if genotypes have different sets of loci
+     * @throws IllegalArgumentException if a genotype has more than {@link #MAX_HETEROZYGOUS_LOCI} heterozygous loci
+     */
+    public GenotypeDistribution backcross(
+            GenotypeDistribution population,
+            GenotypeDistribution recurrentParent,
+            int generations
+    ) {
+        validateGenerations(generations);
+        GametePool parentPool = gametePool(recurrentParent);
+        for (int generation = 0; generation < generations; generation++) {
+            long[] presence = presenceOf(population, recurrentParent);
+            Map<PackedGenotype, Double> offspring = new HashMap<>();
+            fertilize(gametePool(population), parentPool, presence, 1, offspring);
+            population = new GenotypeDistribution(offspring);
+        }
+        return population;
+    }
+
+    /**
+     * Unites every gamete of the first pool with every gamete of the second one. Gametes store 1 in the lowest bit
+     * of every locus with dominant allele, so the state of the locus of the zygote is a sum of the gametes plus
+     * the presence bit
+     *
+     * @param scale weight of the pair of pools
+     */
+    private static void fertilize(
+            GametePool first,
+            GametePool second,
+            long[] presence,
+            double scale,
+            Map<PackedGenotype, Double> offspring
+    ) {
+        long[] zygote = new long[presence.length];
+        for (int i = 0; i < first.size(); i++) {
+            long[] firstGamete = first.gametes[i];
+            double firstWeight = scale * first.weights[i];
+            for (int j = 0; j < second.size(); j++) {
+                long[] secondGamete = second.gametes[j];
+                for (int word = 0; word < zygote.length; word++) {
+                    zygote[word] = firstGamete[word] + secondGamete[word] + presence[word];
+                }
+                offspring.merge(PackedGenotype.of(zygote), firstWeight * second.weights[j], Double::sum);
+            }
+        }
+    }
+
+    private GametePool gametePool(GenotypeDistribution population) {
+        Map<PackedGenotype, Double> pool = new HashMap<>();
+        long[] homozygous = new long[wordCount];
+        long[] heterozygous = new long[wordCount];
+        for (Map.Entry<PackedGenotype, Double> genotype : population.getFrequencies().entrySet()) {
+            int heterozygousLoci = 0;
+            for (int word = 0; word < wordCount; word++) {
+                long bits = word < genotype.getKey().getWordCount() ? genotype.getKey().getWord(word) : 0;
+                homozygous[word] = bits & (bits >>> 1) & LOWER_BITS;
+                heterozygous[word] = (bits >>> 1) & ~bits & LOWER_BITS;
+                heterozygousLoci += Long.bitCount(heterozygous[word]);
+            }
+            if (heterozygousLoci > MAX_HETEROZYGOUS_LOCI) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Genotype %s has %d heterozygous loci, at most %d are supported",
+                                codec.decode(genotype.getKey()),
+                                heterozygousLoci,
+                                MAX_HETEROZYGOUS_LOCI
+                        )
+                );
+            }
+            double weight = genotype.getValue() / (1L << heterozygousLoci);
+            addGametes(homozygous, heterozygous, 0, new long[wordCount], weight, pool);
+        }
+        return new GametePool(pool, wordCount);
+    }
+
+    /**
+     * Adds every gamete which takes the dominant alleles of the homozygous loci and any subset of the dominant
+     * alleles of the heterozygous loci
+     */
+    private static void addGametes(
+            long[] homozygous,
+            long[] heterozygous,
+            int word,
+            long[] gamete,
+            double weight,
+            Map<PackedGenotype, Double> pool
+    ) {
+        if (word == gamete.length) {
+            pool.merge(PackedGenotype.of(gamete), weight, Double::sum);
+            return;
+        }
+        long subset = 0;
+        do {
+            gamete[word] = homozygous[word] | subset;
+            addGametes(homozygous, heterozygous, word + 1, gamete, weight, pool);
+            subset = (subset - heterozygous[word]) & heterozygous[word];
+        } while (subset != 0);
+    }
+
+    /**
+     * @return presence bits of the loci of the genotypes
+     * @throws IllegalArgumentException if genotypes have different sets of loci
+     * @throws IllegalArgumentException if a genotype has more than {@link #MAX_HETEROZYGOUS_LOCI} heterozygous loci
+     */
+    private long[] presenceOf(GenotypeDistribution first, GenotypeDistribution second) {
+        long[] presence = null;
+        for (GenotypeDistribution distribution : new GenotypeDistribution[]{first, second}) {
+            for (PackedGenotype genotype : distribution.getFrequencies().keySet()) {
+                long[] genotypePresence = new long[wordCount];
+                for (int word = 0; word < Math.min(wordCount, genotype.getWordCount()); word++) {
+                    genotypePresence[word] = PackedGenotype.presentLociMask(genotype.getWord(word));
+                }
+                if (presence == null) {
+                    presence = genotypePresence;
+                } else if (!Arrays.equals(presence, genotypePresence)) {
+                    throw new IllegalArgumentException("Genotypes have different sets of loci");
+                }
+            }
+        }
+        return presence;
+    }
+
+    private static void validateGenerations(int generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Number of generations should be non-negative, but was %d", generations)
+            );
+        }
+    }
+
+    /**
+     * Distinct gametes with their weights. Gametes store 1 in the lowest bit of every locus with dominant allele
+     */
+    private static final class GametePool {
+        private final long[][] gametes;
+        private final double[] weights;
+
+        private GametePool(Map<PackedGenotype, Double> pool, int wordCount) {
+            gametes = new long[pool.size()][];
+            weights = new double[pool.size()];
+            int idx = 0;
+            for (Map.Entry<PackedGenotype, Double> gamete : pool.entrySet()) {
+                gametes[idx] = Arrays.copyOf(gamete.getKey().toWords(), wordCount);
+                weights[idx] = gamete.getValue();
+                idx++;
+            }
+        }
+
+        private int size() {
+            return weights.length;
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.purrer.gentools.sampling;
+
+/**
+ * Estimated frequency of a genotype with its confidence interval
+ */
+public final class FrequencyEstimate {
+
+    private final double frequency;
+    private final double lower;
+    private final double upper;
+
+    FrequencyEstimate(double frequency, double lower, double upper) {
+        this.frequency = frequency;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Wilson score interval of the binomial proportion. Without samples nothing is known, so the frequency
+     * is 0 with the interval [0, 1]
+     *
+     * @param count   number of samples of the genotype
+     * @param samples number of all samples
+     * @param z       z-score of the confidence level
+     */
+    static FrequencyEstimate wilson(long count, long samples, double z) {
+        if (samples == 0) {
+            return new FrequencyEstimate(0, 0, 1);
+        }
+        double frequency = (double) count / samples;
+        double z2 = z * z;
+        double denominator = 1 + z2 / samples;
+        double center = (frequency + z2 / (2.0 * samples)) / denominator;
+        double halfWidth = z * Math.sqrt(frequency * (1 - frequency) / samples + z2 / (4.0 * samples * samples))
+                / denominator;
+        return new FrequencyEstimate(frequency, Math.max(0, center - halfWidth), Math.min(1, center + halfWidth));
+    }
+
+    public double getFrequency() {
+        return frequency;
+    }
+
+    public double getLower() {
+        return lower;
+    }
+
+    public double getUpper() {
+        return upper;
+    }
+
+    public boolean contains(double value) {
+        return lower <= value && value <= upper;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s, %s]", frequency, lower, upper);
+    }
+
+}
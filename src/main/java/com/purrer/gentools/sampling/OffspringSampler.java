@@ -0,0 +1,234 @@
+package com.purrer.gentools.sampling;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.utils.GenotypeCounter;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Estimates the results of crossings, which are too large to be enumerated, by drawing random offspring.
+ * Every offspring takes a random allele of every heterozygous locus of every parent, so a gamete costs a single
+ * random long per 32 loci regardless of the number of loci.
+ * <p>
+ * Offspring are drawn in chunks by the workers of the pool. Every chunk has its own {@link SplittableRandom},
+ * which is split from the generator of the seed in the order of the chunks, so the counts don't depend
+ * on the number of workers and on the order in which chunks are drawn. Sampling stops when all the samples of
+ * the config are drawn or when its time limit is reached, whichever happens first.
+ * </p>
+ */
+public class OffspringSampler {
+
+    /**
+     * Number of offspring drawn by a worker between checks of the time limit
+     */
+    static final int CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Lowest bit of every locus of a word
+     */
+    private static final long LOWER_BITS = 0x5555_5555_5555_5555L;
+
+    private final PackedGenotypeCodec codec;
+    private final SamplingConfig config;
+
+    public OffspringSampler(CrossingConfig crossingConfig, SamplingConfig config) {
+        this(Crossings.createPackedGenotypeCodec(crossingConfig), config);
+    }
+
+    /**
+     * @throws IllegalArgumentException if neither the number of samples nor the time limit of the config is set
+     */
+    public OffspringSampler(PackedGenotypeCodec codec, SamplingConfig config) {
+        if (config.getSamples() == 0 && config.getTimeLimit() == null) {
+            throw new IllegalArgumentException("Number of samples or time limit should be set");
+        }
+        this.codec = codec;
+        this.config = config;
+    }
+
+    /**
+     * @param maleSequence   gene sequence in format: AaBbCc
+     * @param femaleSequence gene sequence in same format and length as the first one
+     * @return genotypes of the drawn offspring with estimates of their frequencies
+     * @throws IllegalArgumentException if sequences are invalid or have different sets of loci
+     */
+    public SamplingResult sample(String maleSequence, String femaleSequence) {
+        PackedGenotype male = codec.encode(maleSequence);
+        PackedGenotype female = codec.encode(femaleSequence);
+        int wordCount = Math.max(male.getWordCount(), female.getWordCount());
+        long[] presence = new long[wordCount];
+        for (int word = 0; word < wordCount; word++) {
+            presence[word] = PackedGenotype.presentLociMask(wordOf(male, word));
+            if (presence[word] != PackedGenotype.presentLociMask(wordOf(female, word))) {
+                throw new IllegalArgumentException(
+                        String.format("Sequences %s and %s have different sets of loci", maleSequence, femaleSequence)
+                );
+            }
+        }
+
+        ChunkSource chunks = new ChunkSource(config);
+        Parent maleParent = new Parent(male, wordCount);
+        Parent femaleParent = new Parent(female, wordCount);
+        ForkJoinPool pool = config.getForkJoinPool();
+        List<ForkJoinTask<Histogram>> workers = new ArrayList<>(pool.getParallelism());
+        for (int worker = 0; worker < pool.getParallelism(); worker++) {
+            workers.add(pool.submit(() -> draw(maleParent, femaleParent, presence, chunks)));
+        }
+
+        Histogram histogram = wordCount == 1 ? new SingleWordHistogram() : new MultiWordHistogram();
+        for (ForkJoinTask<Histogram> worker : workers) {
+            histogram.addAll(worker.join());
+        }
+        return new SamplingResult(histogram.toMap(codec), histogram.samples, config.getConfidenceZ());
+    }
+
+    private static Histogram draw(Parent male, Parent female, long[] presence, ChunkSource chunks) {
+        Histogram histogram = presence.length == 1 ? new SingleWordHistogram() : new MultiWordHistogram();
+        long[] zygote = new long[presence.length];
+        Chunk chunk;
+        while ((chunk = chunks.next()) != null) {
+            SplittableRandom random = chunk.random;
+            for (int i = 0; i < chunk.size; i++) {
+                for (int word = 0; word < zygote.length; word++) {
+                    zygote[word] = male.gamete(word, random) + female.gamete(word, random) + presence[word];
+                }
+                histogram.add(zygote);
+            }
+            histogram.samples += chunk.size;
+        }
+        return histogram;
+    }
+
+    private static long wordOf(PackedGenotype genotype, int word) {
+        return word < genotype.getWordCount() ? genotype.getWord(word) : 0;
+    }
+
+    /**
+     * Gametes store 1 in the lowest bit of every locus with dominant allele, so a gamete takes the dominant
+     * alleles of the homozygous loci and a random subset of the dominant alleles of the heterozygous loci
+     */
+    private static final class Parent {
+        private final long[] homozygous;
+        private final long[] heterozygous;
+
+        private Parent(PackedGenotype genotype, int wordCount) {
+            homozygous = new long[wordCount];
+            heterozygous = new long[wordCount];
+            for (int word = 0; word < wordCount; word++) {
+                long bits = wordOf(genotype, word);
+                homozygous[word] = bits & (bits >>> 1) & LOWER_BITS;
+                heterozygous[word] = (bits >>> 1) & ~bits & LOWER_BITS;
+            }
+        }
+
+        private long gamete(int word, SplittableRandom random) {
+            return heterozygous[word] == 0
+                    ? homozygous[word]
+                    : homozygous[word] | (random.nextLong() & heterozygous[word]);
+        }
+    }
+
+    /**
+     * Hands out chunks of samples to the workers. The generator of a chunk depends only on its index
+     */
+    private static final class ChunkSource {
+        private final SplittableRandom random;
+        private final long samples;
+        private final long deadline;
+        private long drawn;
+
+        private ChunkSource(SamplingConfig config) {
+            this.random = new SplittableRandom(config.getSeed());
+            this.samples = config.getSamples() == 0 ? Long.MAX_VALUE : config.getSamples();
+            this.deadline = config.getTimeLimit() == null
+                    ? Long.MAX_VALUE
+                    : System.nanoTime() + config.getTimeLimit().toNanos();
+        }
+
+        private synchronized Chunk next() {
+            if (drawn == samples || (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0)) {
+                return null;
+            }
+            int size = (int) Math.min(CHUNK_SIZE, samples - drawn);
+            drawn += size;
+            return new Chunk(random.split(), size);
+        }
+    }
+
+    private static final class Chunk {
+        private final SplittableRandom random;
+        private final int size;
+
+        private Chunk(SplittableRandom random, int size) {
+            this.random = random;
+            this.size = size;
+        }
+    }
+
+    private abstract static class Histogram {
+        long samples;
+
+        abstract void add(long[] zygote);
+
+        abstract void addAll(Histogram other);
+
+        abstract Map<String, Long> toMap(PackedGenotypeCodec codec);
+    }
+
+    /**
+     * Histogram of genotypes of at most 32 loci, which are counted without boxing
+     */
+    private static final class SingleWordHistogram extends Histogram {
+        private final GenotypeCounter counter = new GenotypeCounter();
+
+        @Override
+        void add(long[] zygote) {
+            counter.add(zygote[0], 1);
+        }
+
+        @Override
+        void addAll(Histogram other) {
+            counter.addAll(((SingleWordHistogram) other).counter);
+            samples += other.samples;
+        }
+
+        @Override
+        Map<String, Long> toMap(PackedGenotypeCodec codec) {
+            return counter.toMap(genotype -> codec.decode(PackedGenotype.of(genotype)));
+        }
+    }
+
+    private static final class MultiWordHistogram extends Histogram {
+        private final Map<PackedGenotype, long[]> counter = new HashMap<>();
+
+        @Override
+        void add(long[] zygote) {
+            counter.computeIfAbsent(PackedGenotype.of(zygote), key -> new long[1])[0]++;
+        }
+
+        @Override
+        void addAll(Histogram other) {
+            ((MultiWordHistogram) other).counter.forEach(
+                    (genotype, count) -> counter.computeIfAbsent(genotype, key -> new long[1])[0] += count[0]
+            );
+            samples += other.samples;
+        }
+
+        @Override
+        Map<String, Long> toMap(PackedGenotypeCodec codec) {
+            Map<String, Long> result = new HashMap<>((int) (counter.size() / 0.75f) + 1);
+            counter.forEach((genotype, count) -> result.put(codec.decode(genotype), count[0]));
+            return result;
+        }
+    }
+
+}
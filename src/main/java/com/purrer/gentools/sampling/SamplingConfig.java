@@ -0,0 +1,91 @@
+package com.purrer.gentools.sampling;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Settings of {@link OffspringSampler}. Sampling stops when either the number of samples or the time limit
+ * is reached, at least one of them should be set
+ */
+public class SamplingConfig {
+
+    /**
+     * Z-score of the 95% confidence interval
+     */
+    public static final double Z_95 = 1.959963984540054;
+
+    private long samples = 0;
+    private Duration timeLimit = null;
+    private long seed = 0;
+    private double confidenceZ = Z_95;
+    private ForkJoinPool forkJoinPool = null;
+
+    /**
+     * Sets the number of offspring to draw. The result is reproducible for the same seed if only the number
+     * of samples is set
+     */
+    public void setSamples(long samples) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException(String.format("samples should be positive, but was %d", samples));
+        }
+        this.samples = samples;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * Sets the time after which sampling stops
+     */
+    public void setTimeLimit(Duration timeLimit) {
+        if (timeLimit.isNegative() || timeLimit.isZero()) {
+            throw new IllegalArgumentException(
+                    String.format("timeLimit should be positive, but was %s", timeLimit)
+            );
+        }
+        this.timeLimit = timeLimit;
+    }
+
+    public Duration getTimeLimit() {
+        return timeLimit;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the z-score of the confidence intervals of the estimated frequencies, {@link #Z_95} by default
+     * (2.576 for 99%)
+     */
+    public void setConfidenceZ(double confidenceZ) {
+        if (!(confidenceZ > 0) || Double.isInfinite(confidenceZ)) {
+            throw new IllegalArgumentException(
+                    String.format("confidenceZ should be positive, but was %s", confidenceZ)
+            );
+        }
+        this.confidenceZ = confidenceZ;
+    }
+
+    public double getConfidenceZ() {
+        return confidenceZ;
+    }
+
+    /**
+     * Sets the pool in which offspring are drawn, {@link ForkJoinPool#commonPool()} by default
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool);
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+    }
+
+}
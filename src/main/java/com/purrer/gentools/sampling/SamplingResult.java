@@ -0,0 +1,68 @@
+package com.purrer.gentools.sampling;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Genotypes of randomly drawn offspring with the estimates of their frequencies
+ */
+public final class SamplingResult {
+
+    private final Map<String, Long> counts;
+    private final long samples;
+    private final double confidenceZ;
+
+    SamplingResult(Map<String, Long> counts, long samples, double confidenceZ) {
+        this.counts = Collections.unmodifiableMap(counts);
+        this.samples = samples;
+        this.confidenceZ = confidenceZ;
+    }
+
+    /**
+     * @return number of drawn offspring of every genotype
+     */
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    /**
+     * @return number of drawn offspring
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return estimated frequency of the genotype, 0 if it wasn't drawn
+     */
+    public double getFrequency(String genotype) {
+        return samples == 0 ? 0 : (double) counts.getOrDefault(genotype, 0L) / samples;
+    }
+
+    /**
+     * @return estimated frequency of the genotype with its confidence interval, the genotype which wasn't drawn
+     * has frequency 0 with non-empty interval. If no offspring was drawn, for example because the time limit
+     * was reached first, the interval is [0, 1]
+     */
+    public FrequencyEstimate getEstimate(String genotype) {
+        return FrequencyEstimate.wilson(counts.getOrDefault(genotype, 0L), samples, confidenceZ);
+    }
+
+    /**
+     * @return estimates of all the drawn genotypes
+     */
+    public Map<String, FrequencyEstimate> getEstimates() {
+        Map<String, FrequencyEstimate> estimates = new HashMap<>((int) (counts.size() / 0.75f) + 1);
+        counts.forEach((genotype, count) ->
+                estimates.put(genotype, FrequencyEstimate.wilson(count, samples, confidenceZ))
+        );
+        return estimates;
+    }
+
+    @Override
+    public String toString() {
+        return "SamplingResult{samples=" + samples + ", counts=" + counts + '}';
+    }
+
+}
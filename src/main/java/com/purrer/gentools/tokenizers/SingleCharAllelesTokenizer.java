@@ -0,0 +1,161 @@
+package com.purrer.gentools.tokenizers;
+
+import com.purrer.gentools.DefaultToken;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
+import com.purrer.gentools.interfaces.SequenceTokenizer;
+import com.purrer.gentools.interfaces.Token;
+import com.purrer.gentools.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link SequenceTokenizer} for the alleles which are single ASCII characters, for example A-Z. Every character
+ * of the sequence is a token, which is looked up in a table of {@value #TABLE_SIZE} entries, so no trie is
+ * walked. Tokens are shared between calls.
+ * <p>
+ * As {@link AlleleIdTokenizer} alleles are identified by the order of the pairs: the dominant allele of
+ * the <code>n</code>-th pair has id <code>2 * n</code> and the recessive one has id <code>2 * n + 1</code>.
+ * </p>
+ */
+public class SingleCharAllelesTokenizer implements SequenceTokenizer, AlleleIdTokenizer {
+
+    /**
+     * Number of ASCII characters
+     */
+    public static final int TABLE_SIZE = 128;
+
+    private static final byte NO_ALLELE = -1;
+
+    /**
+     * Id of the allele of every character or {@link #NO_ALLELE}
+     */
+    private final byte[] alleleIds = new byte[TABLE_SIZE];
+
+    /**
+     * Alleles in the order of their ids
+     */
+    private final String[] allelesById;
+
+    private final Token[] tokens;
+
+    /**
+     * @throws IllegalArgumentException if some allele isn't a single ASCII character
+     */
+    public SingleCharAllelesTokenizer(Set<AllelePair> pairs) {
+        if (!supports(pairs)) {
+            throw new IllegalArgumentException(
+                    String.format("Alleles of pairs %s should be single ASCII characters", pairs)
+            );
+        }
+        Arrays.fill(alleleIds, NO_ALLELE);
+        allelesById = new String[pairs.size() * 2];
+        tokens = new Token[allelesById.length];
+        int alleleId = 0;
+        for (AllelePair pair : pairs) {
+            for (String allele : new String[]{pair.getDominant(), pair.getRecessive()}) {
+                allelesById[alleleId] = allele;
+                tokens[alleleId] = new DefaultToken(allele);
+                alleleIds[allele.charAt(0)] = (byte) alleleId++;
+            }
+        }
+    }
+
+    /**
+     * @return true if every allele of the pairs is a single ASCII character
+     */
+    public static boolean supports(Set<AllelePair> pairs) {
+        if (pairs.size() * 2 > TABLE_SIZE) {
+            return false;
+        }
+        for (AllelePair pair : pairs) {
+            if (!isAsciiChar(pair.getDominant()) || !isAsciiChar(pair.getRecessive())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<Token> tokenize(String sequence) {
+        List<Token> result = new ArrayList<>(sequence.length());
+        for (int position = 0; position < sequence.length(); position++) {
+            int alleleId = alleleId(sequence.charAt(position));
+            if (alleleId == NO_ALLELE) {
+                int to = position + 1;
+                String near = StringUtils.safeSubstringWithDeltas(position, 3, to, 3, sequence, "...");
+                throw new RuntimeException(
+                        String.format(
+                                "Unable to tokenize sequence %s on position from: %d to %d near '%s'",
+                                sequence,
+                                position,
+                                to,
+                                near
+                        )
+                );
+            }
+            result.add(tokens[alleleId]);
+        }
+        return result;
+    }
+
+    @Override
+    public int tokenize(CharSequence sequence, int[] alleleIds) {
+        int length = checkCapacity(sequence, alleleIds.length);
+        for (int position = 0; position < length; position++) {
+            int alleleId = alleleId(sequence.charAt(position));
+            if (alleleId == NO_ALLELE) {
+                return -(position + 1);
+            }
+            alleleIds[position] = alleleId;
+        }
+        return length;
+    }
+
+    @Override
+    public int tokenize(CharSequence sequence, short[] alleleIds) {
+        int length = checkCapacity(sequence, alleleIds.length);
+        for (int position = 0; position < length; position++) {
+            int alleleId = alleleId(sequence.charAt(position));
+            if (alleleId == NO_ALLELE) {
+                return -(position + 1);
+            }
+            alleleIds[position] = (short) alleleId;
+        }
+        return length;
+    }
+
+    @Override
+    public int getAlleleCount() {
+        return allelesById.length;
+    }
+
+    @Override
+    public String getAllele(int alleleId) {
+        return allelesById[alleleId];
+    }
+
+    /**
+     * @return id of the allele of the character or -1 if the character isn't an allele
+     */
+    public int alleleId(char c) {
+        return c < TABLE_SIZE ? alleleIds[c] : NO_ALLELE;
+    }
+
+    private static int checkCapacity(CharSequence sequence, int capacity) {
+        if (capacity < sequence.length()) {
+            throw new IllegalArgumentException(
+                    String.format("Array of %d allele ids is too small for the sequence", capacity)
+            );
+        }
+        return sequence.length();
+    }
+
+    private static boolean isAsciiChar(String allele) {
+        return allele.length() == 1 && allele.charAt(0) < TABLE_SIZE;
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.purrer.gentools.tokenizers;
+
+import com.purrer.gentools.DefaultToken;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
+import com.purrer.gentools.interfaces.SequenceTokenizer;
+import com.purrer.gentools.interfaces.Token;
+import com.purrer.gentools.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * {@link SequenceTokenizer} which tokenizes the sequences according to the set of available alleles. Alleles are
+ * compiled into a trie once, so the sequence is tokenized in a single pass, taking the longest allele which matches
+ * at the current position. Tokens are shared between calls and no substrings of the sequence are created.
+ * <p>
+ * As {@link AlleleIdTokenizer} alleles are identified by the order of the pairs: the dominant allele of
+ * the <code>n</code>-th pair has id <code>2 * n</code> and the recessive one has id <code>2 * n + 1</code>.
+ * </p>
+ */
+public class TrieAllelePairsTokenizer implements SequenceTokenizer, AlleleIdTokenizer {
+
+    private static final int NO_TOKEN = -1;
+    private static final int NO_STATE = -1;
+
+    /**
+     * Sorted labels of the outgoing transitions of every state
+     */
+    private final char[][] labels;
+
+    /**
+     * Target states of the outgoing transitions of every state, in the order of labels
+     */
+    private final int[][] targets;
+
+    /**
+     * Index of the token which ends in the state or {@link #NO_TOKEN}
+     */
+    private final int[] terminals;
+
+    private final Token[] tokens;
+
+    /**
+     * Id of the allele of every token
+     */
+    private final int[] tokenAlleleIds;
+
+    /**
+     * Alleles in the order of their ids
+     */
+    private final String[] allelesById;
+
+    public TrieAllelePairsTokenizer(Set<AllelePair> pairs) {
+        Set<String> alleles = new TreeSet<>();
+        Map<String, Integer> alleleIds = new HashMap<>();
+        allelesById = new String[pairs.size() * 2];
+        int alleleId = 0;
+        for (AllelePair pair : pairs) {
+            alleles.add(pair.getDominant());
+            alleles.add(pair.getRecessive());
+            allelesById[alleleId] = pair.getDominant();
+            alleleIds.put(pair.getDominant(), alleleId++);
+            allelesById[alleleId] = pair.getRecessive();
+            alleleIds.put(pair.getRecessive(), alleleId++);
+        }
+
+        List<TreeMap<Character, Integer>> transitions = new ArrayList<>();
+        List<Integer> terminalTokens = new ArrayList<>();
+        transitions.add(new TreeMap<>());
+        terminalTokens.add(NO_TOKEN);
+
+        tokens = new Token[alleles.size()];
+        tokenAlleleIds = new int[alleles.size()];
+        int tokenIdx = 0;
+        for (String allele : alleles) {
+            int state = 0;
+            for (int i = 0; i < allele.length(); i++) {
+                Integer next = transitions.get(state).get(allele.charAt(i));
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(state).put(allele.charAt(i), next);
+                    transitions.add(new TreeMap<>());
+                    terminalTokens.add(NO_TOKEN);
+                }
+                state = next;
+            }
+            tokens[tokenIdx] = new DefaultToken(allele);
+            tokenAlleleIds[tokenIdx] = alleleIds.get(allele);
+            terminalTokens.set(state, tokenIdx++);
+        }
+
+        int statesCount = transitions.size();
+        labels = new char[statesCount][];
+        targets = new int[statesCount][];
+        terminals = new int[statesCount];
+        for (int state = 0; state < statesCount; state++) {
+            TreeMap<Character, Integer> stateTransitions = transitions.get(state);
+            labels[state] = new char[stateTransitions.size()];
+            targets[state] = new int[stateTransitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : stateTransitions.entrySet()) {
+                labels[state][i] = transition.getKey();
+                targets[state][i] = transition.getValue();
+                i++;
+            }
+            terminals[state] = terminalTokens.get(state);
+        }
+    }
+
+    @Override
+    public List<Token> tokenize(String sequence) {
+        List<Token> result = new ArrayList<>(sequence.length() / 2 + 1);
+
+        int from = 0;
+        int length = sequence.length();
+        while (from < length) {
+            long match = longestMatch(sequence, from);
+            if (match < 0) {
+                int to = Math.min((int) -(match + 1) + 1, length);
+                String near = StringUtils.safeSubstringWithDeltas(from, 3, to, 3, sequence, "...");
+                throw new RuntimeException(
+                        String.format(
+                                "Unable to tokenize sequence %s on position from: %d to %d near '%s'",
+                                sequence,
+                                from,
+                                to,
+                                near
+                        )
+                );
+            }
+
+            result.add(tokens[(int) (match >>> 32)]);
+            from = (int) match;
+        }
+
+        return result;
+    }
+
+    @Override
+    public int tokenize(CharSequence sequence, int[] alleleIds) {
+        int count = 0;
+        int from = 0;
+        int length = sequence.length();
+        while (from < length) {
+            long match = longestMatch(sequence, from);
+            if (match < 0) {
+                return -(from + 1);
+            }
+            checkCapacity(count, alleleIds.length);
+            alleleIds[count++] = tokenAlleleIds[(int) (match >>> 32)];
+            from = (int) match;
+        }
+        return count;
+    }
+
+    @Override
+    public int tokenize(CharSequence sequence, short[] alleleIds) {
+        if (allelesById.length > Short.MAX_VALUE + 1) {
+            throw new IllegalArgumentException(
+                    String.format("Ids of %d alleles don't fit into short", allelesById.length)
+            );
+        }
+        int count = 0;
+        int from = 0;
+        int length = sequence.length();
+        while (from < length) {
+            long match = longestMatch(sequence, from);
+            if (match < 0) {
+                return -(from + 1);
+            }
+            checkCapacity(count, alleleIds.length);
+            alleleIds[count++] = (short) tokenAlleleIds[(int) (match >>> 32)];
+            from = (int) match;
+        }
+        return count;
+    }
+
+    @Override
+    public int getAlleleCount() {
+        return allelesById.length;
+    }
+
+    @Override
+    public String getAllele(int alleleId) {
+        return allelesById[alleleId];
+    }
+
+    /**
+     * Walks the trie from the provided position of the sequence
+     *
+     * @return index of the longest matching token in the upper half and the end of the token in the lower half,
+     * or <code>-(position + 1)</code> where the walk stopped if no token matches
+     */
+    private long longestMatch(CharSequence sequence, int from) {
+        int state = 0;
+        int position = from;
+        int token = NO_TOKEN;
+        int tokenEnd = from;
+        int length = sequence.length();
+
+        while (position < length) {
+            state = next(state, sequence.charAt(position));
+            if (state == NO_STATE) {
+                break;
+            }
+            position++;
+            if (terminals[state] != NO_TOKEN) {
+                token = terminals[state];
+                tokenEnd = position;
+            }
+        }
+
+        return token == NO_TOKEN ? -(position + 1L) : ((long) token << 32) | tokenEnd;
+    }
+
+    private static void checkCapacity(int count, int capacity) {
+        if (count == capacity) {
+            throw new IllegalArgumentException(
+                    String.format("Array of %d allele ids is too small for the sequence", capacity)
+            );
+        }
+    }
+
+    private int next(int state, char c) {
+        char[] stateLabels = labels[state];
+        int idx = stateLabels.length < 8 ? indexOf(stateLabels, c) : Arrays.binarySearch(stateLabels, c);
+        return idx < 0 ? NO_STATE : targets[state][idx];
+    }
+
+    private static int indexOf(char[] array, char c) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
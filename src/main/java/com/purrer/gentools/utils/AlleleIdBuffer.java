@@ -0,0 +1,100 @@
+package com.purrer.gentools.utils;
+
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch space for parsing of sequences with {@link AlleleIdTokenizer}: ids of the alleles of the last
+ * tokenized sequence and marks of the loci which are already seen in it. Arrays only grow, so once the buffer
+ * has seen the longest sequence, parsing allocates nothing. The buffer is not thread-safe, every thread should
+ * use its own buffer, for example {@link #local()}.
+ */
+public final class AlleleIdBuffer {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final ThreadLocal<AlleleIdBuffer> LOCAL = ThreadLocal.withInitial(AlleleIdBuffer::new);
+
+    private int[] alleleIds = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Loci marked in the current generation store the number of the generation, so marks are cleared
+     * by incrementing it
+     */
+    private int[] marks = new int[INITIAL_CAPACITY];
+    private int generation = 1;
+
+    /**
+     * @return buffer of the calling thread
+     */
+    public static AlleleIdBuffer local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Tokenizes the sequence into this buffer, the previous content is discarded
+     *
+     * @return number of alleles of the sequence, or <code>-(position + 1)</code> if the sequence can't be tokenized
+     * at <code>position</code>, see {@link AlleleIdTokenizer#tokenize(CharSequence, int[])}
+     */
+    public int tokenize(AlleleIdTokenizer tokenizer, CharSequence sequence) {
+        if (alleleIds.length < sequence.length()) {
+            alleleIds = new int[Math.max(sequence.length(), alleleIds.length * 2)];
+        }
+        int count = tokenizer.tokenize(sequence, alleleIds);
+        size = Math.max(count, 0);
+        return count;
+    }
+
+    /**
+     * @return number of alleles of the last tokenized sequence
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param position position of the allele in the last tokenized sequence
+     * @return id of the allele
+     */
+    public int get(int position) {
+        return alleleIds[position];
+    }
+
+    /**
+     * @return copy of the ids of the last tokenized sequence
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(alleleIds, size);
+    }
+
+    /**
+     * Unmarks all the loci
+     */
+    public void clearMarks() {
+        if (++generation == 0) {
+            Arrays.fill(marks, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Marks the locus
+     *
+     * @param locus non-negative index of the locus
+     * @return false if the locus was already marked since the last {@link #clearMarks()}, otherwise true
+     */
+    public boolean mark(int locus) {
+        if (locus >= marks.length) {
+            marks = Arrays.copyOf(marks, Math.max(locus + 1, marks.length * 2));
+        }
+        if (marks[locus] == generation) {
+            return false;
+        }
+        marks[locus] = generation;
+        return true;
+    }
+
+}
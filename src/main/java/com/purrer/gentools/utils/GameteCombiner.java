@@ -1,27 +1,53 @@
 package com.purrer.gentools.utils;
 
 import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.entities.ParsedSequence;
 import com.purrer.gentools.interfaces.GameteGroupsExtractor;
 import com.purrer.gentools.interfaces.SequenceValidation;
 import com.purrer.gentools.validation.ValidationResult;
 
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Helper class for working with gametes
  */
 public class GameteCombiner {
 
+    private static final int MAX_GAMETES_IN_LIST = 1 << 30;
+
     private final SequenceValidation validation;
     private final GameteGroupsExtractor extractor;
 
+    /**
+     * @param validation validation which parses the sequences, gamete groups are extracted by it only once
+     */
+    public GameteCombiner(SequenceValidation validation) {
+        this(validation, null);
+    }
+
+    /**
+     * @param validation validation of the sequences
+     * @param extractor  extractor of the gamete groups for the validations which don't parse the sequences
+     *                   themselves, see {@link SequenceValidation#parse(String, GameteGroupsExtractor)}
+     */
     public GameteCombiner(SequenceValidation validation, GameteGroupsExtractor extractor) {
         this.validation = validation;
         this.extractor = extractor;
     }
 
+    /**
+     * Tokenizes and validates the sequence once, with the extractor of this combiner if it has one
+     *
+     * @param sequence gene in string format (AaBbCc)
+     * @return parsed sequence, which may be invalid
+     */
+    public ParsedSequence parse(String sequence) {
+        return extractor != null ? validation.parse(sequence, extractor) : validation.parse(sequence);
+    }
+
     /**
      * Get all gamete combinations
      *
@@ -30,48 +56,91 @@ public class GameteCombiner {
      * @throws IllegalArgumentException if sequence has invalid pattern (valid: AaBbCc, invalid: Aad)
      */
     public List<String> getGametes(String sequence) {
-        ValidationResult validationResult = validateSequence(sequence);
-        if (!validationResult.isValid()) {
+        Gametes gametes = gametes(sequence);
+        if (gametes.size() > MAX_GAMETES_IN_LIST) {
             throw new IllegalArgumentException(
-                    String.format("Invalid sequence: %s. %s", sequence, validationResult.getMessage())
+                    String.format("Sequence %s has too many gametes to be stored in a list", sequence)
             );
         }
-        List<GametePair> gameteGroups = extractor.getGameteGroups(sequence);
-        int gametesCount = gameteGroups.size();
-        Iterator<GametePair> iterator = gameteGroups.iterator();
-        String[][] alleles = new String[gametesCount][2];
-
-        for (int i = 0; i < gametesCount; i++) {
-            GametePair gametes = iterator.next();
-            alleles[i][0] = gametes.getFirstGamete();
-            alleles[i][1] = gametes.getSecondGamete();
+        String[] combinations = new String[(int) gametes.size()];
+        int idx = 0;
+        for (String gamete : gametes) {
+            combinations[idx++] = gamete;
         }
-        return Arrays.asList(getCombinations(alleles));
+        return Arrays.asList(combinations);
+    }
+
+    /**
+     * Get distinct gamete combinations with the number of times every gamete occurs among all the gamete
+     * combinations. Homozygous loci produce the same gametes, so the sequence AABbcc has only 2 distinct gametes:
+     * <pre>
+     *     AABbcc -> {ABc: 4, Abc: 4}
+     * </pre>
+     *
+     * @param sequence gene in string format (AaBbCc)
+     * @return distinct gamete combinations with their multiplicity, in the order of {@link #getGametes(String)}
+     * @throws IllegalArgumentException if sequence has invalid pattern (valid: AaBbCc, invalid: Aad)
+     */
+    public Map<String, Long> getDistinctGametes(String sequence) {
+        return getDistinctGametes(parse(sequence));
     }
 
-    private String[] getCombinations(String[][] alleles) {
-        if (alleles.length == 1) {
-            String[] gametes = new String[2];
-            gametes[0] = alleles[0][0];
-            gametes[1] = alleles[0][1];
-            return gametes;
+    /**
+     * Get distinct gamete combinations of the already parsed sequence, see {@link #getDistinctGametes(String)}
+     *
+     * @param sequence parsed gene sequence
+     * @return distinct gamete combinations with their multiplicity, in the order of {@link #getGametes(String)}
+     * @throws IllegalArgumentException if sequence is invalid
+     */
+    public Map<String, Long> getDistinctGametes(ParsedSequence sequence) {
+        Gametes gametes = gametes(sequence).distinct();
+        if (gametes.size() > MAX_GAMETES_IN_LIST) {
+            throw new IllegalArgumentException(
+                    String.format("Sequence %s has too many gametes to be stored in a map", sequence)
+            );
         }
-        String[] combos = new String[(int) Math.pow(2, alleles.length)];
-        String[] other = getCombinations(Arrays.copyOfRange(alleles, 1, alleles.length));
-        for (int i = 0; i < combos.length; i++) {
-            combos[i] = alleles[0][i * 2 / combos.length] + other[i % other.length];
+        Map<String, Long> combinations = new LinkedHashMap<>((int) (gametes.size() / 0.75f) + 1);
+        for (String gamete : gametes) {
+            combinations.put(gamete, gametes.getMultiplicity());
         }
-        return combos;
+        return combinations;
+    }
+
+    /**
+     * Get lazy sequence of all gamete combinations. Gametes are built only when they are requested, in the same order
+     * as {@link #getGametes(String)} returns them
+     *
+     * @param sequence gene in string format (AaBbCc)
+     * @return gamete combinations: {Abc, ABC, ..., abc}
+     * @throws IllegalArgumentException if sequence has invalid pattern (valid: AaBbCc, invalid: Aad)
+     */
+    public Gametes gametes(String sequence) {
+        return gametes(parse(sequence));
     }
 
     /**
-     * Validate string of gene sequence
+     * Get lazy sequence of all gamete combinations of the already parsed sequence, see {@link #gametes(String)}
      *
-     * @param gametes sequence
-     * @return validation result
+     * @param sequence parsed gene sequence
+     * @return gamete combinations: {Abc, ABC, ..., abc}
+     * @throws IllegalArgumentException if sequence is invalid
      */
-    private ValidationResult validateSequence(String gametes) {
-        return validation.validateSequence(gametes);
+    public Gametes gametes(ParsedSequence sequence) {
+        ValidationResult validationResult = sequence.getValidationResult();
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid sequence: %s. %s", sequence, validationResult.getMessage())
+            );
+        }
+        List<GametePair> gameteGroups = sequence.getGameteGroups();
+        String[][] alleles = new String[gameteGroups.size()][2];
+
+        for (int i = 0; i < alleles.length; i++) {
+            GametePair gametes = gameteGroups.get(i);
+            alleles[i][0] = gametes.getFirstGamete();
+            alleles[i][1] = gametes.getSecondGamete();
+        }
+        return new Gametes(alleles);
     }
 
 }
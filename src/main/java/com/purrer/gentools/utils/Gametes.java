@@ -0,0 +1,205 @@
+package com.purrer.gentools.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sequence of all the gametes of a parent. Gametes are not stored: every gamete is built from its index,
+ * where the bits of the index choose the alleles of the loci (the highest bit chooses the allele of the first locus).
+ * The order of the gametes is the same as the order of the rows and columns of the classic Punnett square:
+ * <pre>
+ *     AaBb -> [AB, Ab, aB, ab]
+ * </pre>
+ */
+public class Gametes implements Iterable<String> {
+
+    /**
+     * Maximum number of loci, for which the number of gametes fits into long. Homozygous loci are not counted
+     * for {@link #distinct()} gametes
+     */
+    public static final int MAX_LOCI = Long.SIZE - 2;
+
+    private static final int FIXED_LOCUS = -1;
+
+    private final String[][] alleles;
+    private final int capacity;
+
+    /**
+     * Position of the bit of the gamete index which chooses the allele of every locus (counting from the highest
+     * used bit) or {@link #FIXED_LOCUS} if the locus always takes its first allele
+     */
+    private final int[] bitOfLocus;
+    private final int bits;
+
+    /**
+     * @param alleles alleles of the parent: <code>alleles[locus][0]</code> and <code>alleles[locus][1]</code>
+     *                are the first and the second allele of the locus
+     */
+    public Gametes(String[][] alleles) {
+        this(alleles, false);
+    }
+
+    private Gametes(String[][] alleles, boolean collapseHomozygous) {
+        this.alleles = alleles;
+        this.bitOfLocus = new int[alleles.length];
+        int capacity = 0;
+        int bits = 0;
+        for (int locus = 0; locus < alleles.length; locus++) {
+            capacity += Math.max(alleles[locus][0].length(), alleles[locus][1].length());
+            boolean homozygous = alleles[locus][0].equals(alleles[locus][1]);
+            bitOfLocus[locus] = collapseHomozygous && homozygous ? FIXED_LOCUS : bits++;
+        }
+        if (bits > MAX_LOCI || alleles.length - bits > MAX_LOCI) {
+            throw new IllegalArgumentException(
+                    String.format("Number of loci %d exceeds maximum %d", alleles.length, MAX_LOCI)
+            );
+        }
+        this.capacity = capacity;
+        this.bits = bits;
+    }
+
+    /**
+     * Returns distinct gametes of the parent. Both alleles of a homozygous locus are the same, so every homozygous
+     * locus takes only its first allele and every distinct gamete stands for {@link #getMultiplicity()} gametes
+     * of the full sequence. For example:
+     * <pre>
+     *     AABbcc -> [ABc, Abc], multiplicity is 4
+     * </pre>
+     *
+     * @return lazy sequence of distinct gametes in the same relative order as in this sequence
+     */
+    public Gametes distinct() {
+        return new Gametes(alleles, true);
+    }
+
+    /**
+     * @return number of gametes of the full sequence which are equal to every gamete of this sequence:
+     * 1 for all the gametes and 2 ^ number of homozygous loci for {@link #distinct()} gametes
+     */
+    public long getMultiplicity() {
+        return 1L << (alleles.length - bits);
+    }
+
+    /**
+     * @return number of gametes: 2 ^ number of loci, or 2 ^ number of heterozygous loci for {@link #distinct()}
+     * gametes
+     */
+    public long size() {
+        return 1L << bits;
+    }
+
+    public int getLocusCount() {
+        return alleles.length;
+    }
+
+    /**
+     * @param locus  index of the locus in the parent's sequence
+     * @param choice 0 for the first allele of the locus, 1 for the second one
+     * @return allele of the locus
+     */
+    public String getAllele(int locus, int choice) {
+        return alleles[locus][choice];
+    }
+
+    /**
+     * @param index index of the gamete, from 0 to {@link #size()} exclusive
+     * @return gamete with the provided index
+     */
+    public String get(long index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Gamete index out of range: " + index);
+        }
+        StringBuilder builder = new StringBuilder(capacity);
+        for (int locus = 0; locus < alleles.length; locus++) {
+            builder.append(alleles[locus][choice(index, locus)]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return 0 if the gamete with the provided index takes the first allele of the locus, otherwise 1
+     */
+    public int choice(long index, int locus) {
+        int bit = bitOfLocus[locus];
+        return bit == FIXED_LOCUS ? 0 : (int) (index >>> (bits - 1 - bit)) & 1;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private long index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<String> spliterator() {
+        return new GametesSpliterator(0, size());
+    }
+
+    public Stream<String> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<String> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private class GametesSpliterator implements Spliterator<String> {
+
+        private long from;
+        private final long to;
+
+        private GametesSpliterator(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(get(from++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            long middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+            GametesSpliterator prefix = new GametesSpliterator(from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+}
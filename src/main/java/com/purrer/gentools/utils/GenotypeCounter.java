@@ -0,0 +1,158 @@
+package com.purrer.gentools.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Counting map from packed genotypes (see {@link com.purrer.gentools.entities.PackedGenotype}) to the number
+ * of their occurrences. Keys and counts are stored in primitive arrays with open addressing, so counting doesn't
+ * box values or allocate entries.
+ */
+public class GenotypeCounter {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_EXPECTED_SIZE = 1 << 28;
+
+    /**
+     * Key 0 marks empty slots of the table, so its count is stored separately
+     */
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+    private boolean hasEmptyKey;
+    private long emptyKeyCount;
+
+    public GenotypeCounter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize expected number of distinct genotypes
+     */
+    public GenotypeCounter(int expectedSize) {
+        int size = Math.min(Math.max(DEFAULT_CAPACITY, expectedSize), MAX_EXPECTED_SIZE);
+        int capacity = Integer.highestOneBit(size * 2 - 1) << 1;
+        keys = new long[capacity];
+        counts = new long[capacity];
+    }
+
+    /**
+     * Adds <code>count</code> occurrences of the genotype
+     *
+     * @throws ArithmeticException if the total count of the genotype overflows long
+     */
+    public void add(long genotype, long count) {
+        if (genotype == EMPTY) {
+            emptyKeyCount = Math.addExact(emptyKeyCount, count);
+            if (!hasEmptyKey) {
+                hasEmptyKey = true;
+                size++;
+            }
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int slot = slot(genotype, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == genotype) {
+                counts[slot] = Math.addExact(counts[slot], count);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = genotype;
+        counts[slot] = count;
+        size++;
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    /**
+     * @return number of occurrences of the genotype, 0 if it was never added
+     */
+    public long get(long genotype) {
+        if (genotype == EMPTY) {
+            return emptyKeyCount;
+        }
+        int mask = keys.length - 1;
+        int slot = slot(genotype, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == genotype) {
+                return counts[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * @return number of distinct genotypes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds all the counts of the other counter to this counter
+     */
+    public void addAll(GenotypeCounter other) {
+        other.forEach(this::add);
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasEmptyKey) {
+            consumer.accept(EMPTY, emptyKeyCount);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], counts[slot]);
+            }
+        }
+    }
+
+    /**
+     * Converts the counter to a map
+     *
+     * @param keyMapper function which converts packed genotypes to the keys of the map
+     * @return map of the converted genotypes to their counts
+     */
+    public <K> Map<K, Long> toMap(LongFunction<K> keyMapper) {
+        Map<K, Long> result = new HashMap<>((int) (size / 0.75f) + 1);
+        forEach((genotype, count) -> result.put(keyMapper.apply(genotype), count));
+        return result;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldCounts.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int slot(long genotype, int mask) {
+        long hash = genotype * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long genotype, long count);
+    }
+
+}
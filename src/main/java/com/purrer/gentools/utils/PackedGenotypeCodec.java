@@ -0,0 +1,201 @@
+package com.purrer.gentools.utils;
+
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
+import com.purrer.gentools.interfaces.GameteGroupsExtractor;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.validation.ValidationResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts gene sequences to {@link PackedGenotype} and back. Loci of the packed genotypes are indexed
+ * in the order of the provided allele pairs. If the extractor provides {@link AlleleIdTokenizer}, sequences are
+ * tokenized into {@link AlleleIdBuffer#local()} and only the packed genotype is allocated.
+ */
+public class PackedGenotypeCodec {
+
+    private final SequenceValidation validation;
+    private final GameteGroupsExtractor extractor;
+    private final AllelePair[] loci;
+    private final Map<String, Integer> alleleToIndexMap = new HashMap<>();
+    private final AlleleIdTokenizer alleleIdTokenizer;
+
+    /**
+     * Indexes of the alleles of the codec for the ids of {@link #alleleIdTokenizer}
+     */
+    private final int[] alleleIndexes;
+
+    public PackedGenotypeCodec(
+            SequenceValidation validation,
+            GameteGroupsExtractor extractor,
+            Set<AllelePair> allelePairs
+    ) {
+        this.validation = validation;
+        this.extractor = extractor;
+        this.loci = allelePairs.toArray(new AllelePair[0]);
+        int idx = 0;
+        for (AllelePair allelePair : allelePairs) {
+            alleleToIndexMap.put(allelePair.getDominant(), idx++);
+            alleleToIndexMap.put(allelePair.getRecessive(), idx++);
+        }
+
+        alleleIdTokenizer = extractor.getAlleleIdTokenizer();
+        if (alleleIdTokenizer != null) {
+            alleleIndexes = new int[alleleIdTokenizer.getAlleleCount()];
+            for (int alleleId = 0; alleleId < alleleIndexes.length; alleleId++) {
+                alleleIndexes[alleleId] = alleleToIndexMap.getOrDefault(
+                        alleleIdTokenizer.getAllele(alleleId),
+                        ParsedSequence.UNKNOWN_ALLELE
+                );
+            }
+        } else {
+            alleleIndexes = null;
+        }
+    }
+
+    /**
+     * Packs the provided sequence
+     *
+     * @param sequence gene sequence in format: AaBbCc
+     * @return packed genotype of the sequence
+     * @throws IllegalArgumentException if sequence is invalid
+     */
+    public PackedGenotype encode(String sequence) {
+        ValidationResult validationResult = validation.validateSequence(sequence);
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException(validationResult.getMessage());
+        }
+        return encodeValidated(sequence);
+    }
+
+    /**
+     * Packs the sequence which is already checked by {@link SequenceValidation}
+     *
+     * @param sequence valid gene sequence in format: AaBbCc
+     * @return packed genotype of the sequence
+     * @throws IllegalArgumentException if some locus occurs in the sequence more than once
+     */
+    public PackedGenotype encodeValidated(String sequence) {
+        if (alleleIdTokenizer != null) {
+            PackedGenotype genotype = encodeAlleleIds(sequence, AlleleIdBuffer.local());
+            if (genotype != null) {
+                return genotype;
+            }
+        }
+        return encode(sequence, extractor.getGameteGroups(sequence));
+    }
+
+    /**
+     * Packs the already parsed sequence without tokenizing it again
+     *
+     * @param sequence parsed gene sequence
+     * @return packed genotype of the sequence
+     * @throws IllegalArgumentException if sequence is invalid
+     */
+    public PackedGenotype encode(ParsedSequence sequence) {
+        if (!sequence.isValid()) {
+            throw new IllegalArgumentException(sequence.getValidationResult().getMessage());
+        }
+        return encode(sequence.getSequence(), sequence.getGameteGroups());
+    }
+
+    private PackedGenotype encode(String sequence, List<GametePair> gameteGroups) {
+        long[] words = new long[wordCount()];
+        for (GametePair group : gameteGroups) {
+            int firstIdx = alleleToIndexMap.get(group.getFirstGamete());
+            int secondIdx = alleleToIndexMap.get(group.getSecondGamete());
+            setLocus(sequence, words, firstIdx, secondIdx);
+        }
+        return PackedGenotype.of(words);
+    }
+
+    /**
+     * @return packed genotype of the sequence or null if the sequence can't be tokenized into pairs of known alleles
+     */
+    private PackedGenotype encodeAlleleIds(String sequence, AlleleIdBuffer buffer) {
+        int count = buffer.tokenize(alleleIdTokenizer, sequence);
+        if (count < 0 || count % 2 != 0) {
+            return null;
+        }
+        long[] words = new long[wordCount()];
+        for (int position = 0; position < count; position += 2) {
+            int firstIdx = alleleIndexes[buffer.get(position)];
+            int secondIdx = alleleIndexes[buffer.get(position + 1)];
+            if (firstIdx == ParsedSequence.UNKNOWN_ALLELE || secondIdx == ParsedSequence.UNKNOWN_ALLELE) {
+                return null;
+            }
+            setLocus(sequence, words, firstIdx, secondIdx);
+        }
+        return PackedGenotype.of(words);
+    }
+
+    private void setLocus(String sequence, long[] words, int firstIdx, int secondIdx) {
+        int locus = firstIdx / 2;
+        int word = locus / PackedGenotype.LOCI_PER_WORD;
+        if (PackedGenotype.getState(words[word], locus) != PackedGenotype.ABSENT) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Invalid sequence: %s. Alleles '%s' occur more than once",
+                            sequence,
+                            loci[locus].getDominant()
+                    )
+            );
+        }
+        int dominants = (firstIdx % 2 == 0 ? 1 : 0) + (secondIdx % 2 == 0 ? 1 : 0);
+        words[word] = PackedGenotype.setState(words[word], locus, PackedGenotype.stateOf(dominants));
+    }
+
+    /**
+     * Converts packed genotype to the sequence. Loci are placed in the order of config and every locus starts
+     * with dominant allele, for example: AABbcc
+     *
+     * @param genotype packed genotype
+     * @return gene sequence of the genotype
+     */
+    public String decode(PackedGenotype genotype) {
+        StringBuilder builder = new StringBuilder();
+        for (int locus = 0; locus < loci.length; locus++) {
+            appendLocus(builder, locus, genotype.getDominantAlleles(locus));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Appends alleles of the locus to the builder, dominant allele goes first
+     *
+     * @param builder   builder to append the locus to
+     * @param locus     index of the locus
+     * @param dominants number of dominant alleles in the locus, nothing is appended if it's negative
+     */
+    public void appendLocus(StringBuilder builder, int locus, int dominants) {
+        if (dominants < 0) {
+            return;
+        }
+        AllelePair pair = loci[locus];
+        builder.append(dominants > 0 ? pair.getDominant() : pair.getRecessive())
+                .append(dominants > 1 ? pair.getDominant() : pair.getRecessive());
+    }
+
+    /**
+     * @return number of loci (allele pairs) known by this codec
+     */
+    public int getLocusCount() {
+        return loci.length;
+    }
+
+    public AllelePair getAllelePair(int locus) {
+        return loci[locus];
+    }
+
+    private int wordCount() {
+        return Math.max(1, (loci.length + PackedGenotype.LOCI_PER_WORD - 1) / PackedGenotype.LOCI_PER_WORD);
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.purrer.gentools.validation;
+
+import com.purrer.gentools.interfaces.SequenceValidation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+/**
+ * Validates large amounts of sequences with {@link SequenceValidation}. Every line of the input is an id and
+ * a gene sequence separated by {@link BulkValidationConfig#getSeparator()}, for example <code>cat-42\tAaBbCc</code>.
+ * A line without separator is a sequence, which is identified by its line number. Blank lines are skipped.
+ * <p>
+ * Lines are read by the calling thread in chunks, which are validated in parallel by the workers of the pool.
+ * Results are passed to the consumer by the calling thread in the order of the lines. Reading stops while
+ * {@link BulkValidationConfig#getMaxChunksInFlight()} chunks are not passed to the consumer yet, so the memory
+ * doesn't depend on the size of the input.
+ * </p>
+ */
+public class BulkSequenceValidator {
+
+    private final SequenceValidation validation;
+    private final BulkValidationConfig config;
+
+    public BulkSequenceValidator(SequenceValidation validation) {
+        this(validation, new BulkValidationConfig());
+    }
+
+    public BulkSequenceValidator(SequenceValidation validation, BulkValidationConfig config) {
+        this.validation = Objects.requireNonNull(validation);
+        this.config = Objects.requireNonNull(config);
+    }
+
+    /**
+     * Validates the lines of the input file. Ids of the valid sequences are written to <code>validIds</code>
+     * one per line, every invalid sequence is written to <code>errors</code> as its id, line number,
+     * {@link ValidationErrorCode} and the message of validation separated by
+     * {@link BulkValidationConfig#getSeparator()}
+     *
+     * @return counts of valid and invalid lines
+     * @throws IOException if files can't be read or written
+     */
+    public BulkValidationSummary validate(Path input, Path validIds, Path errors) throws IOException {
+        String separator = String.valueOf(config.getSeparator());
+        try (
+                BufferedReader reader = Files.newBufferedReader(input, config.getCharset());
+                BufferedWriter validWriter = Files.newBufferedWriter(validIds, config.getCharset());
+                BufferedWriter errorWriter = Files.newBufferedWriter(errors, config.getCharset())
+        ) {
+            return validate(reader.lines().iterator(), new ResultConsumer() {
+                @Override
+                public void valid(long line, String id) {
+                    try {
+                        validWriter.write(id);
+                        validWriter.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void invalid(long line, String id, ValidationResult result) {
+                    try {
+                        errorWriter.write(id);
+                        errorWriter.write(separator);
+                        errorWriter.write(Long.toString(line));
+                        errorWriter.write(separator);
+                        errorWriter.write(String.valueOf(result.getErrorCode()));
+                        errorWriter.write(separator);
+                        errorWriter.write(String.valueOf(result.getMessage()));
+                        errorWriter.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Validates the lines and passes every result to the consumer in the order of the lines. The stream
+     * is consumed sequentially
+     *
+     * @return counts of valid and invalid lines
+     */
+    public BulkValidationSummary validate(Stream<String> lines, ResultConsumer consumer) {
+        return validate(lines.iterator(), consumer);
+    }
+
+    private BulkValidationSummary validate(Iterator<String> lines, ResultConsumer consumer) {
+        ForkJoinPool pool = config.getForkJoinPool();
+        int maxChunksInFlight = config.getMaxChunksInFlight();
+        ArrayDeque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>(maxChunksInFlight);
+        long[] counts = new long[2];
+        long lineNumber = 0;
+
+        while (lines.hasNext()) {
+            Chunk chunk = new Chunk(lineNumber + 1, config.getChunkSize());
+            while (chunk.size < chunk.lines.length && lines.hasNext()) {
+                chunk.lines[chunk.size++] = lines.next();
+            }
+            lineNumber += chunk.size;
+            inFlight.add(pool.submit(chunk::validate));
+            if (inFlight.size() >= maxChunksInFlight) {
+                inFlight.poll().join().accept(consumer, counts);
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            inFlight.poll().join().accept(consumer, counts);
+        }
+
+        return new BulkValidationSummary(counts[0], counts[1]);
+    }
+
+    /**
+     * Consumer of the results of {@link BulkSequenceValidator}, which is called by the thread which runs
+     * the validation
+     */
+    public interface ResultConsumer {
+        /**
+         * @param line number of the line, starting from 1
+         * @param id   id of the sequence
+         */
+        void valid(long line, String id);
+
+        /**
+         * @param line   number of the line, starting from 1
+         * @param id     id of the sequence
+         * @param result result of validation of the sequence
+         */
+        void invalid(long line, String id, ValidationResult result);
+    }
+
+    private final class Chunk {
+        private final long firstLine;
+        private final String[] lines;
+        private final String[] ids;
+        private final ValidationResult[] results;
+        private int size;
+
+        private Chunk(long firstLine, int capacity) {
+            this.firstLine = firstLine;
+            this.lines = new String[capacity];
+            this.ids = new String[capacity];
+            this.results = new ValidationResult[capacity];
+        }
+
+        private Chunk validate() {
+            char separator = config.getSeparator();
+            for (int i = 0; i < size; i++) {
+                String line = lines[i];
+                if (line.isBlank()) {
+                    continue;
+                }
+                int separatorIdx = line.indexOf(separator);
+                if (separatorIdx < 0) {
+                    ids[i] = Long.toString(firstLine + i);
+                    results[i] = validation.validateSequence(line);
+                } else {
+                    ids[i] = line.substring(0, separatorIdx);
+                    results[i] = validation.validateSequence(line.substring(separatorIdx + 1));
+                }
+            }
+            return this;
+        }
+
+        private void accept(ResultConsumer consumer, long[] counts) {
+            for (int i = 0; i < size; i++) {
+                ValidationResult result = results[i];
+                if (result == null) {
+                    continue;
+                }
+                if (result.isValid()) {
+                    counts[0]++;
+                    consumer.valid(firstLine + i, ids[i]);
+                } else {
+                    counts[1]++;
+                    consumer.invalid(firstLine + i, ids[i], result);
+                }
+            }
+        }
+    }
+
+}
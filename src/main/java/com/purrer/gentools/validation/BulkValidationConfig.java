@@ -0,0 +1,93 @@
+package com.purrer.gentools.validation;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Settings of {@link BulkSequenceValidator}
+ */
+public class BulkValidationConfig {
+
+    public static final char DEFAULT_SEPARATOR = '\t';
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private char separator = DEFAULT_SEPARATOR;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxChunksInFlight = 0;
+    private Charset charset = StandardCharsets.UTF_8;
+    private ForkJoinPool forkJoinPool = null;
+
+    /**
+     * Sets the character which separates the id from the sequence in every line, {@link #DEFAULT_SEPARATOR}
+     * by default
+     */
+    public void setSeparator(char separator) {
+        if (Character.isLetter(separator)) {
+            throw new IllegalArgumentException(
+                    String.format("separator should not be a letter, but was '%s'", separator)
+            );
+        }
+        this.separator = separator;
+    }
+
+    public char getSeparator() {
+        return separator;
+    }
+
+    /**
+     * Sets the number of lines which are validated by a single task, {@link #DEFAULT_CHUNK_SIZE} by default
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(String.format("chunkSize should be positive, but was %d", chunkSize));
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the maximum number of chunks which are read but not yet written to the outputs, so at most
+     * <code>maxChunksInFlight * chunkSize</code> lines are kept in memory. Twice the parallelism of the pool
+     * by default
+     */
+    public void setMaxChunksInFlight(int maxChunksInFlight) {
+        if (maxChunksInFlight <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("maxChunksInFlight should be positive, but was %d", maxChunksInFlight)
+            );
+        }
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    public int getMaxChunksInFlight() {
+        return maxChunksInFlight > 0 ? maxChunksInFlight : 2 * getForkJoinPool().getParallelism();
+    }
+
+    /**
+     * Sets the charset of the files, UTF-8 by default
+     */
+    public void setCharset(Charset charset) {
+        this.charset = Objects.requireNonNull(charset);
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Sets the pool in which chunks are validated, {@link ForkJoinPool#commonPool()} by default
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool);
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+    }
+
+}
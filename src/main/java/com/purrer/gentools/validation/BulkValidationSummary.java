@@ -0,0 +1,36 @@
+package com.purrer.gentools.validation;
+
+/**
+ * Counts of the lines validated by {@link BulkSequenceValidator}
+ */
+public final class BulkValidationSummary {
+
+    private final long validCount;
+    private final long invalidCount;
+
+    BulkValidationSummary(long validCount, long invalidCount) {
+        this.validCount = validCount;
+        this.invalidCount = invalidCount;
+    }
+
+    /**
+     * @return number of validated lines, blank lines are not counted
+     */
+    public long getLineCount() {
+        return validCount + invalidCount;
+    }
+
+    public long getValidCount() {
+        return validCount;
+    }
+
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkValidationSummary{valid=%d, invalid=%d}", validCount, invalidCount);
+    }
+
+}
@@ -2,18 +2,36 @@ package com.purrer.gentools.validation;
 
 import com.purrer.gentools.entities.AllelePair;
 import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
 import com.purrer.gentools.interfaces.GameteGroupsExtractor;
 import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.utils.AlleleIdBuffer;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.purrer.gentools.validation.ValidationResult.valid;
 
+/**
+ * Validation of the sequences according to the set of allele pairs. If the extractor provides
+ * {@link AlleleIdTokenizer}, sequences are tokenized into {@link AlleleIdBuffer#local()}: validation of a valid
+ * sequence doesn't allocate and an invalid sequence costs only its {@link ValidationResult}, which reports
+ * the {@link ValidationErrorCode} and the position of the error without exceptions. {@link #parse(String)} copies
+ * only the ids into {@link ParsedSequence}, which creates its gamete groups on demand. Otherwise sequences are
+ * validated by the gamete groups of the extractor, whose exceptions are reported as
+ * {@link ValidationErrorCode#UNPARSABLE}.
+ */
 public class SequenceValidationImpl implements SequenceValidation {
 
     private final GameteGroupsExtractor extractor;
     private final Map<String, AllelePair> allelePairMap;
+    private final Map<String, Integer> alleleIdMap = new HashMap<>();
+    private final AlleleIdTokenizer alleleIdTokenizer;
+
+    /**
+     * Ids of the config for the ids of {@link #alleleIdTokenizer}
+     */
+    private final int[] configAlleleIds;
 
     public SequenceValidationImpl(GameteGroupsExtractor extractor, Set<AllelePair> allelePairs) {
         this.extractor = extractor;
@@ -25,167 +43,361 @@ public class SequenceValidationImpl implements SequenceValidation {
         });
 
         allelePairMap = map;
+
+        int idx = 0;
+        for (AllelePair allelePair : allelePairs) {
+            alleleIdMap.put(allelePair.getDominant(), idx++);
+            alleleIdMap.put(allelePair.getRecessive(), idx++);
+        }
+
+        alleleIdTokenizer = extractor.getAlleleIdTokenizer();
+        if (alleleIdTokenizer != null) {
+            configAlleleIds = new int[alleleIdTokenizer.getAlleleCount()];
+            for (int alleleId = 0; alleleId < configAlleleIds.length; alleleId++) {
+                configAlleleIds[alleleId] = alleleIdMap.getOrDefault(
+                        alleleIdTokenizer.getAllele(alleleId),
+                        ParsedSequence.UNKNOWN_ALLELE
+                );
+            }
+        } else {
+            configAlleleIds = null;
+        }
     }
 
     @Override
     public ValidationResult validateSequence(String sequence) {
-        try {
-            Objects.requireNonNull(sequence, "Sequence should not be null");
+        if (alleleIdTokenizer == null) {
+            return parseGameteGroups(sequence).getValidationResult();
+        }
+        return validateAlleleIds(sequence, AlleleIdBuffer.local());
+    }
 
-            if (!validateCharacters(sequence)) {
-                return invalid(sequence, "Sequence should only contain characters");
-            }
+    @Override
+    public ParsedSequence parse(String sequence) {
+        if (alleleIdTokenizer == null) {
+            return parseGameteGroups(sequence);
+        }
+        AlleleIdBuffer buffer = AlleleIdBuffer.local();
+        ValidationResult validationResult = validateAlleleIds(sequence, buffer);
+        if (!isTokenized(validationResult)) {
+            return new ParsedSequence(sequence, Collections.emptyList(), new int[0], validationResult);
+        }
+        return new ParsedSequence(sequence, alleleIdTokenizer, buffer.toArray(), configAlleleIds, validationResult);
+    }
+
+    /**
+     * The sequence is parsed by the extractor of this validation, the provided one is ignored
+     */
+    @Override
+    public ParsedSequence parse(String sequence, GameteGroupsExtractor extractor) {
+        return parse(sequence);
+    }
+
+    /**
+     * Tokenizes the sequence into the buffer with {@link #alleleIdTokenizer} and checks it. The checks are done
+     * in the same order as {@link #parseGameteGroups(String)} does them
+     */
+    private ValidationResult validateAlleleIds(String sequence, AlleleIdBuffer buffer) {
+        if (sequence == null) {
+            return nullSequence();
+        }
+        int nonLetter = indexOfNonLetter(sequence);
+        if (nonLetter >= 0) {
+            return nonLetter(sequence, nonLetter);
+        }
+
+        int count = buffer.tokenize(alleleIdTokenizer, sequence);
+        if (count < 0) {
+            int position = -(count + 1);
+            return ValidationResult.invalid(
+                    ValidationErrorCode.UNPARSABLE,
+                    position,
+                    "Invalid sequence: %s. Unknown allele on position %d",
+                    sequence,
+                    position
+            );
+        }
+        if (count % 2 != 0) {
+            String allele = alleleIdTokenizer.getAllele(buffer.get(count - 1));
+            int position = sequence.length() - allele.length();
+            return ValidationResult.invalid(
+                    ValidationErrorCode.UNPARSABLE,
+                    position,
+                    "Invalid sequence: %s. Allele '%s' on position %d doesn't have a pair",
+                    sequence,
+                    allele,
+                    position
+            );
+        }
 
-            List<GametePair> gameteGroups = getGameteGroups(sequence);
-            if (!validateRepeatingPairs(gameteGroups)) {
-                return invalid(sequence, "Sequence should not contain repeating gamete pairs");
+        buffer.clearMarks();
+        for (int idx = 0; idx < count; idx += 2) {
+            int firstId = configAlleleIds[buffer.get(idx)];
+            if (firstId != ParsedSequence.UNKNOWN_ALLELE && !buffer.mark(firstId / 2)) {
+                return repeatedLocus(sequence, offsetOf(buffer, idx));
+            }
+        }
+        for (int idx = 0; idx < count; idx += 2) {
+            int firstId = configAlleleIds[buffer.get(idx)];
+            int secondId = configAlleleIds[buffer.get(idx + 1)];
+            if (firstId == ParsedSequence.UNKNOWN_ALLELE
+                    || secondId == ParsedSequence.UNKNOWN_ALLELE
+                    || firstId / 2 != secondId / 2) {
+                return unexpectedAllele(
+                        sequence,
+                        offsetOf(buffer, idx + 1),
+                        alleleIdTokenizer.getAllele(buffer.get(idx)),
+                        alleleIdTokenizer.getAllele(buffer.get(idx + 1))
+                );
             }
+        }
+        return valid();
+    }
 
-            // validate if each gamete pair has only tokens from existing allele pairs
-            for (GametePair group : gameteGroups) {
-                String firstGamete = group.getFirstGamete();
-                String secondGamete = group.getSecondGamete();
+    /**
+     * @return position in the sequence of the allele with the provided index in the buffer
+     */
+    private int offsetOf(AlleleIdBuffer buffer, int alleleIdx) {
+        int offset = 0;
+        for (int idx = 0; idx < alleleIdx; idx++) {
+            offset += alleleIdTokenizer.getAllele(buffer.get(idx)).length();
+        }
+        return offset;
+    }
 
-                AllelePair allelePair = allelePairMap.get(firstGamete);
+    /**
+     * @return true if the sequence of the result was split into the pairs of alleles
+     */
+    private static boolean isTokenized(ValidationResult validationResult) {
+        ValidationErrorCode errorCode = validationResult.getErrorCode();
+        return errorCode == null
+                || errorCode == ValidationErrorCode.REPEATED_LOCUS
+                || errorCode == ValidationErrorCode.UNEXPECTED_ALLELE;
+    }
 
-                if (allelePair == null || !isFirstOrSecond(allelePair, secondGamete)) {
-                    return invalid(
+    /**
+     * Validates the sequence with the gamete groups of the extractor
+     */
+    private ParsedSequence parseGameteGroups(String sequence) {
+        List<GametePair> gameteGroups = Collections.emptyList();
+        ValidationResult validationResult;
+        if (sequence == null) {
+            validationResult = nullSequence();
+        } else {
+            int nonLetter = indexOfNonLetter(sequence);
+            if (nonLetter >= 0) {
+                validationResult = nonLetter(sequence, nonLetter);
+            } else {
+                try {
+                    gameteGroups = getGameteGroups(sequence);
+                    validationResult = validateGameteGroups(sequence, gameteGroups);
+                } catch (RuntimeException e) {
+                    gameteGroups = Collections.emptyList();
+                    validationResult = ValidationResult.invalid(
+                            ValidationErrorCode.UNPARSABLE,
+                            ValidationResult.NO_POSITION,
+                            "Unexpected error in sequence: %s. %s",
                             sequence,
-                            String.format(
-                                    "Unexpected gamete %s in sequence near '..%s%s'",
-                                    secondGamete,
-                                    firstGamete,
-                                    secondGamete
-                            )
+                            e.getMessage()
                     );
                 }
             }
+        }
+        return new ParsedSequence(sequence, gameteGroups, getAlleleIds(gameteGroups), validationResult);
+    }
 
-            return valid();
-        } catch (Throwable e) {
-            return ValidationResult.invalid(
-                    String.format("Unexpected error in sequence: %s. %s", sequence, e.getMessage())
-            );
+    private ValidationResult validateGameteGroups(String sequence, List<GametePair> gameteGroups) {
+        if (!validateRepeatingPairs(gameteGroups)) {
+            return repeatedLocus(sequence, ValidationResult.NO_POSITION);
+        }
+
+        // validate if each gamete pair has only tokens from existing allele pairs
+        for (GametePair group : gameteGroups) {
+            String firstGamete = group.getFirstGamete();
+            String secondGamete = group.getSecondGamete();
+
+            AllelePair allelePair = allelePairMap.get(firstGamete);
+
+            if (allelePair == null || !isFirstOrSecond(allelePair, secondGamete)) {
+                return unexpectedAllele(sequence, ValidationResult.NO_POSITION, firstGamete, secondGamete);
+            }
+        }
+
+        return valid();
+    }
+
+    private int[] getAlleleIds(List<GametePair> gameteGroups) {
+        int[] alleleIds = new int[gameteGroups.size() * 2];
+        int position = 0;
+        for (GametePair group : gameteGroups) {
+            alleleIds[position++] = alleleIdMap.getOrDefault(group.getFirstGamete(), ParsedSequence.UNKNOWN_ALLELE);
+            alleleIds[position++] = alleleIdMap.getOrDefault(group.getSecondGamete(), ParsedSequence.UNKNOWN_ALLELE);
         }
+        return alleleIds;
     }
 
     private boolean isFirstOrSecond(AllelePair pair, String gamete) {
         return pair.getDominant().equals(gamete) || pair.getRecessive().equals(gamete);
     }
 
+    /**
+     * Sequences of different lengths are rejected before they are parsed, other sequences are parsed
+     * and validated by {@link #validateSequencePair(ParsedSequence, ParsedSequence)}
+     */
     @Override
     public ValidationResult validateSequencePair(String firstSequence, String secondSequence) {
-        return validateLengths(firstSequence, secondSequence)
-                .and(validateGametePairs(firstSequence, secondSequence));
+        if (firstSequence != null && secondSequence != null) {
+            ValidationResult lengths = validateLengths(firstSequence, secondSequence);
+            if (!lengths.isValid()) {
+                return lengths;
+            }
+        }
+        return validateSequencePair(parse(firstSequence), parse(secondSequence));
     }
 
-    private ValidationResult validateLengths(String firstSequence, String secondSequence) {
-        boolean isValid = firstSequence.length() == secondSequence.length();
-        if (!isValid) {
+    /**
+     * Sequences are compared by the ids of their alleles: the alleles on the same position should belong to the same
+     * allele pair
+     */
+    @Override
+    public ValidationResult validateSequencePair(ParsedSequence firstSequence, ParsedSequence secondSequence) {
+        if (!firstSequence.isValid()) {
+            return firstSequence.getValidationResult();
+        }
+        if (!secondSequence.isValid()) {
+            return secondSequence.getValidationResult();
+        }
+        ValidationResult lengths = validateLengths(firstSequence.getSequence(), secondSequence.getSequence());
+        if (!lengths.isValid()) {
+            return lengths;
+        }
+        if (firstSequence.getLocusCount() != secondSequence.getLocusCount()) {
             return ValidationResult.invalid(
-                    String.format("Sequences %s and %s have different lengths", firstSequence, secondSequence)
+                    ValidationErrorCode.DIFFERENT_LOCUS_COUNT,
+                    ValidationResult.NO_POSITION,
+                    "Sequences %s and %s have different number of gamete pairs",
+                    firstSequence,
+                    secondSequence
             );
         }
 
+        int offset = 0;
+        for (int position = 0; position < firstSequence.getLocusCount() * 2; position++) {
+            String firstAllele = firstSequence.getAllele(position);
+            if (firstSequence.getAlleleId(position) / 2 != secondSequence.getAlleleId(position) / 2) {
+                return differentAlleles(
+                        firstSequence,
+                        secondSequence,
+                        offset,
+                        firstAllele,
+                        secondSequence.getAllele(position)
+                );
+            }
+            offset += firstAllele.length();
+        }
+
         return valid();
     }
 
-    private ValidationResult validateGametePairs(String firstSequence, String secondSequence) {
-        try {
-            List<GametePair> firstSequenceGameteGroups = new ArrayList<>(getGameteGroups(firstSequence));
-            List<GametePair> secondSequenceGameteGroups = new ArrayList<>(getGameteGroups(secondSequence));
-
-            for (int i = 0; i < firstSequenceGameteGroups.size(); i++) {
-                GametePair firstSequencePair = firstSequenceGameteGroups.get(i);
-                GametePair secondSequencePair = secondSequenceGameteGroups.get(i);
-                boolean firstAreFromSameAllele =
-                        areFromSameAllele(firstSequencePair.getFirstGamete(), secondSequencePair.getFirstGamete());
-
-                if (!firstAreFromSameAllele) {
-                    return ValidationResult.invalid(
-                            String.format(
-                                    "Invalid sequences %s and %s. Sequences have gametes from different alleles '%s' and '%s' accordingly",
-                                    firstSequence,
-                                    secondSequence,
-                                    firstSequencePair.getFirstGamete(),
-                                    secondSequencePair.getFirstGamete()
-                            )
-                    );
-                }
-                boolean secondAreFromSameAllele =
-                        areFromSameAllele(firstSequencePair.getSecondGamete(), secondSequencePair.getSecondGamete());
-
-                if (!secondAreFromSameAllele) {
-                    return ValidationResult.invalid(
-                            String.format(
-                                    "Invalid sequences %s and %s. Sequences have gametes from different alleles '%s' and '%s' accordingly",
-                                    firstSequence,
-                                    secondSequence,
-                                    firstSequencePair.getSecondGamete(),
-                                    secondSequencePair.getSecondGamete()
-                            )
-                    );
-                }
-
-            }
-
-            return valid();
-        } catch (Throwable e) {
+    private ValidationResult validateLengths(String firstSequence, String secondSequence) {
+        boolean isValid = firstSequence.length() == secondSequence.length();
+        if (!isValid) {
             return ValidationResult.invalid(
-                    String.format(
-                            "Unexpected error in sequences: %s and %s. %s",
-                            firstSequence,
-                            secondSequence,
-                            e.getMessage()
-                    )
+                    ValidationErrorCode.DIFFERENT_LENGTHS,
+                    ValidationResult.NO_POSITION,
+                    "Sequences %s and %s have different lengths",
+                    firstSequence,
+                    secondSequence
             );
         }
-    }
-
-    private boolean areFromSameAllele(String firstGamete, String secondGamete) {
-        AllelePair alleleForFirstGamete = allelePairMap.get(firstGamete);
-
-        if (alleleForFirstGamete == null) {
-            return false;
-        }
 
-        return alleleForFirstGamete.getDominant().equals(secondGamete) || alleleForFirstGamete.getRecessive().equals(secondGamete);
+        return valid();
     }
 
     /**
-     * @return true if sequence hasn't repeating gamete pairs, otherwise false
+     * @return true if sequence hasn't repeating gamete pairs or several gamete pairs of the same allele pair,
+     * otherwise false
      */
     private boolean validateRepeatingPairs(List<GametePair> gameteGroups) {
-        Map<GametePair, List<GametePair>> collect = gameteGroups.stream().collect(Collectors.groupingBy(el -> el));
-
-        return collect.values()
-                .stream()
-                .noneMatch(pairList -> pairList.size() > 1);
+        Set<Object> loci = new HashSet<>();
+        for (GametePair group : gameteGroups) {
+            AllelePair allelePair = allelePairMap.get(group.getFirstGamete());
+            if (!loci.add(allelePair != null ? allelePair : group)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private List<GametePair> getGameteGroups(String sequence) {
         return extractor.getGameteGroups(sequence);
     }
 
-    private boolean validateCharacters(String sequence) {
-        char[] gametes = sequence.toCharArray();
-
-        for (char c : gametes) {
-            if (!Character.isLetter(c)) {
-                return false;
+    /**
+     * @return index of the first character of the sequence which isn't a letter or -1
+     */
+    private static int indexOfNonLetter(String sequence) {
+        for (int i = 0; i < sequence.length(); i++) {
+            if (!Character.isLetter(sequence.charAt(i))) {
+                return i;
             }
         }
+        return -1;
+    }
 
-        return true;
+    private static ValidationResult nullSequence() {
+        return ValidationResult.invalid(
+                ValidationErrorCode.NULL_SEQUENCE,
+                ValidationResult.NO_POSITION,
+                "Invalid sequence: null. Sequence should not be null"
+        );
     }
 
-    private ValidationResult invalid(String sequence, String message) {
+    private static ValidationResult nonLetter(String sequence, int position) {
         return ValidationResult.invalid(
-                String.format(
-                        "Invalid sequence: %s. %s",
-                        sequence,
-                        message
-                )
+                ValidationErrorCode.NON_LETTER,
+                position,
+                "Invalid sequence: %s. Sequence should only contain characters",
+                sequence
+        );
+    }
+
+    private static ValidationResult repeatedLocus(String sequence, int position) {
+        return ValidationResult.invalid(
+                ValidationErrorCode.REPEATED_LOCUS,
+                position,
+                "Invalid sequence: %s. Sequence should not contain repeating gamete pairs",
+                sequence
+        );
+    }
+
+    private static ValidationResult unexpectedAllele(String sequence, int position, String first, String second) {
+        return ValidationResult.invalid(
+                ValidationErrorCode.UNEXPECTED_ALLELE,
+                position,
+                "Invalid sequence: %s. Unexpected gamete %s in sequence near '..%s%s'",
+                sequence,
+                second,
+                first,
+                second
+        );
+    }
+
+    private static ValidationResult differentAlleles(
+            Object firstSequence,
+            Object secondSequence,
+            int position,
+            String firstAllele,
+            String secondAllele
+    ) {
+        return ValidationResult.invalid(
+                ValidationErrorCode.DIFFERENT_ALLELES,
+                position,
+                "Invalid sequences %s and %s. Sequences have gametes from different alleles '%s' and '%s' accordingly",
+                firstSequence,
+                secondSequence,
+                firstAllele,
+                secondAllele
         );
     }
 
@@ -0,0 +1,83 @@
+package com.purrer.gentools.validation;
+
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.interfaces.GameteGroupsExtractor;
+import com.purrer.gentools.tokenizers.SingleCharAllelesTokenizer;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static com.purrer.gentools.validation.ValidationResult.valid;
+
+/**
+ * {@link SequenceValidationImpl} for the alleles which are single ASCII characters. Every two characters
+ * of the sequence are a gamete pair, alleles are looked up in a table of {@value SingleCharAllelesTokenizer#TABLE_SIZE}
+ * entries and the loci which are already seen are kept in a bitset, which fits into a single <code>long</code>
+ * because there are at most 64 loci. Invalid sequences are validated by {@link SequenceValidationImpl} to describe
+ * the error.
+ */
+public class SingleCharSequenceValidation extends SequenceValidationImpl {
+
+    private static final byte NO_ALLELE = -1;
+
+    /**
+     * Id of the config of the allele of every character or {@link #NO_ALLELE}. Only letters are alleles, because
+     * other characters are never valid
+     */
+    private final byte[] alleleIds = new byte[SingleCharAllelesTokenizer.TABLE_SIZE];
+
+    /**
+     * @throws IllegalArgumentException if some allele isn't a single ASCII character
+     */
+    public SingleCharSequenceValidation(GameteGroupsExtractor extractor, Set<AllelePair> allelePairs) {
+        super(extractor, allelePairs);
+        if (!SingleCharAllelesTokenizer.supports(allelePairs)) {
+            throw new IllegalArgumentException(
+                    String.format("Alleles of pairs %s should be single ASCII characters", allelePairs)
+            );
+        }
+        Arrays.fill(alleleIds, NO_ALLELE);
+        int alleleId = 0;
+        for (AllelePair pair : allelePairs) {
+            for (String allele : new String[]{pair.getDominant(), pair.getRecessive()}) {
+                char c = allele.charAt(0);
+                alleleIds[c] = Character.isLetter(c) ? (byte) alleleId : NO_ALLELE;
+                alleleId++;
+            }
+        }
+    }
+
+    @Override
+    public ValidationResult validateSequence(String sequence) {
+        if (sequence != null && isValid(sequence)) {
+            return valid();
+        }
+        return super.validateSequence(sequence);
+    }
+
+    private boolean isValid(String sequence) {
+        int length = sequence.length();
+        if (length % 2 != 0) {
+            return false;
+        }
+        long seenLoci = 0;
+        for (int position = 0; position < length; position += 2) {
+            int firstId = alleleId(sequence.charAt(position));
+            int secondId = alleleId(sequence.charAt(position + 1));
+            if (firstId == NO_ALLELE || secondId == NO_ALLELE || firstId >> 1 != secondId >> 1) {
+                return false;
+            }
+            long locus = 1L << (firstId >> 1);
+            if ((seenLoci & locus) != 0) {
+                return false;
+            }
+            seenLoci |= locus;
+        }
+        return true;
+    }
+
+    private int alleleId(char c) {
+        return c < alleleIds.length ? alleleIds[c] : NO_ALLELE;
+    }
+
+}
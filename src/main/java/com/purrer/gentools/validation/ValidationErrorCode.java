@@ -0,0 +1,61 @@
+package com.purrer.gentools.validation;
+
+/**
+ * Machine-readable reason of an invalid {@link ValidationResult}
+ */
+public enum ValidationErrorCode {
+
+    /**
+     * Sequence is null
+     */
+    NULL_SEQUENCE,
+
+    /**
+     * Sequence contains a character which isn't a letter
+     */
+    NON_LETTER,
+
+    /**
+     * Sequence can't be split into pairs of alleles: some part of it isn't an allele or the last allele
+     * doesn't have a pair
+     */
+    UNPARSABLE,
+
+    /**
+     * Sequence contains several pairs of the same locus, in the same or in a different order of alleles
+     * (<code>AaBbAa</code> or <code>AaBbaA</code>). A genotype has one pair of alleles per locus, so crossings
+     * and codecs require every locus once
+     */
+    REPEATED_LOCUS,
+
+    /**
+     * Pair of the sequence contains alleles of different loci
+     */
+    UNEXPECTED_ALLELE,
+
+    /**
+     * Sequences of a pair have different lengths
+     */
+    DIFFERENT_LENGTHS,
+
+    /**
+     * Sequences of a pair have different numbers of loci
+     */
+    DIFFERENT_LOCUS_COUNT,
+
+    /**
+     * Sequences of a pair have alleles of different loci on the same position
+     */
+    DIFFERENT_ALLELES,
+
+    /**
+     * Sequence wasn't tokenized and validated, see {@link com.purrer.gentools.entities.ParsedSequence#notValidated}
+     */
+    NOT_VALIDATED,
+
+    /**
+     * Result was created from a message only, see {@link ValidationResult#invalid(String)}
+     */
+    UNSPECIFIED
+
+}
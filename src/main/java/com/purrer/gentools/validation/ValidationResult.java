@@ -1,34 +1,105 @@
 package com.purrer.gentools.validation;
 
+/**
+ * Result of validation. Invalid results carry a {@link ValidationErrorCode} and the position of the error,
+ * the message is formatted only when it is requested, so rejecting a sequence costs neither formatting nor
+ * exceptions.
+ */
 public class ValidationResult {
 
+    /**
+     * Position of the error which isn't known or doesn't belong to a sequence
+     */
+    public static final int NO_POSITION = -1;
+
+    private static final ValidationResult VALID = new ValidationResult(true, null, NO_POSITION, null, null);
+
     private final boolean isValid;
 
-    private final String message;
+    private final ValidationErrorCode errorCode;
+
+    private final int position;
+
+    private final String format;
+
+    private final Object[] arguments;
+
+    private String message;
 
-    private ValidationResult(boolean isValid, String message) {
+    private ValidationResult(
+            boolean isValid,
+            ValidationErrorCode errorCode,
+            int position,
+            String format,
+            Object[] arguments
+    ) {
         this.isValid = isValid;
-        this.message = message;
+        this.errorCode = errorCode;
+        this.position = position;
+        this.format = format;
+        this.arguments = arguments;
     }
 
     public static ValidationResult valid() {
-        return new ValidationResult(true, null);
+        return VALID;
     }
 
     public static ValidationResult invalid(String message) {
-        return new ValidationResult(false, message);
+        ValidationResult result = new ValidationResult(false, ValidationErrorCode.UNSPECIFIED, NO_POSITION, null, null);
+        result.message = message;
+        return result;
+    }
+
+    /**
+     * @param errorCode reason of the error
+     * @param position  position of the error in the sequence or {@link #NO_POSITION}
+     * @param format    format of the message, see {@link String#format(String, Object...)}, which is applied
+     *                  to the arguments when the message is requested for the first time
+     * @param arguments arguments of the message
+     * @return invalid result
+     */
+    public static ValidationResult invalid(
+            ValidationErrorCode errorCode,
+            int position,
+            String format,
+            Object... arguments
+    ) {
+        return new ValidationResult(false, errorCode, position, format, arguments);
     }
 
     public boolean isValid() {
         return isValid;
     }
 
+    /**
+     * @return reason of the error or null if the result is valid
+     */
+    public ValidationErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return position of the error in the sequence, for example index of the first character of the invalid
+     * allele, or {@link #NO_POSITION}
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * @return description of the error or null if the result is valid
+     */
     public String getMessage() {
+        if (message == null && format != null) {
+            message = String.format(format, arguments);
+        }
         return message;
     }
 
+    /**
+     * @return this result if it's invalid, otherwise the other one, so the first error is kept. No result is created
+     */
     public ValidationResult and(ValidationResult other) {
-        boolean isValid = this.isValid && other.isValid;
-        return new ValidationResult(isValid, isValid ? null : other.message);
+        return isValid ? other : this;
     }
 }
@@ -0,0 +1,106 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.BatchCrossing;
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.CrossingStrategy;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.crossing.PolyhybridCrossing;
+import com.purrer.gentools.crossing.PreparedParent;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
+import com.purrer.gentools.interfaces.Crossing;
+import com.purrer.gentools.interfaces.GameteGroupsExtractor;
+import com.purrer.gentools.interfaces.SequenceTokenizer;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
+import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.validation.SequenceValidationImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchCrossingTest {
+
+    private final Set<AllelePair> allelePairs = Set.of(
+            new AllelePair("Al", "al"),
+            new AllelePair("Cf", "cf"),
+            new AllelePair("De", "de")
+    );
+    private final List<String> males = List.of("AlalCfcfDede", "alalCfCfdeDe", "AlAlcfcfdede");
+    private final List<String> females = List.of("alalCfCfdeDe", "AlalCfcfDede", "alalcfcfdede");
+
+    @Test
+    public void whenCrossAllThenSameResultsAsCrossing() {
+        CrossingConfig config = new CrossingConfig();
+        config.addAllelePairs(allelePairs.toArray(new AllelePair[0]));
+        for (CrossingStrategy strategy : CrossingStrategy.values()) {
+            config.setCrossingStrategy(strategy);
+            Crossing crossing = Crossings.create(config);
+
+            List<List<Map<String, Integer>>> result = Crossings.createBatchCrossing(config).crossAll(males, females);
+            assertEquals(males.size(), result.size());
+            for (int male = 0; male < males.size(); male++) {
+                for (int female = 0; female < females.size(); female++) {
+                    assertEquals(
+                            crossing.crossing(males.get(male), females.get(female)),
+                            result.get(male).get(female)
+                    );
+                }
+            }
+            assertSame(result.get(0).get(0), result.get(1).get(1));
+        }
+    }
+
+    @Test
+    public void whenCrossAllThenEveryParentIsParsedOnce() {
+        AtomicInteger tokenizations = new AtomicInteger();
+        SequenceTokenizer tokenizer = new TrieAllelePairsTokenizer(allelePairs);
+        GameteGroupsExtractor extractor = new TokenizingGameteGroupsExtractor(sequence -> {
+            tokenizations.incrementAndGet();
+            return tokenizer.tokenize(sequence);
+        });
+        SequenceValidation validation = new SequenceValidationImpl(extractor, allelePairs);
+        Crossing crossing = new PolyhybridCrossing(new GameteCombiner(validation), validation, allelePairs);
+
+        new BatchCrossing(crossing).crossAll(males, females);
+        assertEquals(4, tokenizations.get());
+    }
+
+    @Test
+    public void whenSomePairIsInvalidThenException() {
+        CrossingConfig config = new CrossingConfig();
+        config.addAllelePairs(allelePairs.toArray(new AllelePair[0]));
+        BatchCrossing batchCrossing = Crossings.createBatchCrossing(config);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> batchCrossing.crossAll(males, List.of("alalCfCfdeDe", "AlalCfcf"))
+        );
+    }
+
+    @Test
+    public void whenParentIsPreparedByAnotherCrossingThenException() {
+        SequenceValidation validation = new SequenceValidationImpl(
+                new TokenizingGameteGroupsExtractor(new TrieAllelePairsTokenizer(allelePairs)),
+                allelePairs
+        );
+        PolyhybridCrossing crossing = new PolyhybridCrossing(new GameteCombiner(validation), validation, allelePairs);
+        PolyhybridCrossing otherCrossing = new PolyhybridCrossing(new GameteCombiner(validation), validation, allelePairs);
+        PreparedParent male = crossing.prepare(crossing.parse(males.get(0)));
+        PreparedParent female = otherCrossing.prepare(otherCrossing.parse(females.get(0)));
+
+        assertThrows(IllegalArgumentException.class, () -> crossing.crossing(male, female));
+        assertEquals(
+                crossing.crossing(males.get(0), females.get(0)),
+                crossing.crossing(male, crossing.prepare(female.getSequence()))
+        );
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.validation.BulkSequenceValidator;
+import com.purrer.gentools.validation.BulkValidationConfig;
+import com.purrer.gentools.validation.BulkValidationSummary;
+import com.purrer.gentools.validation.ValidationResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkSequenceValidatorTest {
+
+    private final CrossingConfig config = new CrossingConfig();
+
+    @TempDir
+    Path directory;
+
+    public BulkSequenceValidatorTest() {
+        config.addAllelePairs(new AllelePair("Al", "al"), new AllelePair("Cf", "cf"));
+    }
+
+    @Test
+    public void whenLinesAreValidatedInChunksThenResultsAreInOrderOfLines() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BulkValidationConfig validationConfig = new BulkValidationConfig();
+            validationConfig.setChunkSize(7);
+            validationConfig.setMaxChunksInFlight(3);
+            validationConfig.setForkJoinPool(pool);
+            BulkSequenceValidator validator = Crossings.createBulkSequenceValidator(config, validationConfig);
+
+            List<String> lines = IntStream.range(0, 1000)
+                    .mapToObj(i -> "id" + i + "\t" + (i % 3 == 0 ? "AlAlcfXx" : "alAlCfcf"))
+                    .collect(Collectors.toList());
+            List<String> results = new ArrayList<>();
+            BulkValidationSummary summary = validator.validate(lines.stream(), new BulkSequenceValidator.ResultConsumer() {
+                @Override
+                public void valid(long line, String id) {
+                    results.add(line + " " + id);
+                }
+
+                @Override
+                public void invalid(long line, String id, ValidationResult result) {
+                    results.add(line + " " + id + " invalid");
+                }
+            });
+
+            List<String> expected = IntStream.range(0, 1000)
+                    .mapToObj(i -> (i + 1) + " id" + i + (i % 3 == 0 ? " invalid" : ""))
+                    .collect(Collectors.toList());
+            assertEquals(expected, results);
+            assertEquals(1000, summary.getLineCount());
+            assertEquals(334, summary.getInvalidCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void whenFileIsValidatedThenValidIdsAndErrorsAreWritten() throws IOException {
+        Path input = directory.resolve("input.tsv");
+        Files.write(input, List.of("cat-1\tAlalCfcf", "", "cat-2\tAlalAlal", "cfCfalal"));
+        Path validIds = directory.resolve("valid.txt");
+        Path errors = directory.resolve("errors.tsv");
+
+        BulkValidationSummary summary = Crossings.createBulkSequenceValidator(config, new BulkValidationConfig())
+                .validate(input, validIds, errors);
+
+        assertEquals(3, summary.getLineCount());
+        assertEquals(2, summary.getValidCount());
+        assertEquals(List.of("cat-1", "4"), Files.readAllLines(validIds));
+        List<String> errorLines = Files.readAllLines(errors);
+        assertEquals(1, errorLines.size());
+        assertTrue(errorLines.get(0).startsWith("cat-2\t3\tREPEATED_LOCUS\tInvalid sequence: AlalAlal."), errorLines.get(0));
+    }
+
+    @Test
+    public void whenStreamIsEmptyThenNothingIsValidated() {
+        BulkSequenceValidator validator = Crossings.createBulkSequenceValidator(config, new BulkValidationConfig());
+        BulkValidationSummary summary = validator.validate(Stream.empty(), new BulkSequenceValidator.ResultConsumer() {
+            @Override
+            public void valid(long line, String id) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public void invalid(long line, String id, ValidationResult result) {
+                throw new AssertionError();
+            }
+        });
+        assertEquals(0, summary.getLineCount());
+    }
+
+}
@@ -0,0 +1,263 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CacheConfig;
+import com.purrer.gentools.crossing.CachingCrossing;
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.crossing.EvictionPolicy;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.Crossing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CachingCrossingTest {
+
+    private final CrossingConfig config = new CrossingConfig();
+    private final AtomicInteger computations = new AtomicInteger();
+    private final AtomicInteger parses = new AtomicInteger();
+    private final Crossing countingCrossing;
+
+    public CachingCrossingTest() {
+        config.addAllelePairs(new AllelePair("A", "a"), new AllelePair("B", "b"), new AllelePair("C", "c"));
+        Crossing crossing = Crossings.create(config);
+        countingCrossing = new Crossing() {
+            @Override
+            public ParsedSequence parse(String sequence) {
+                parses.incrementAndGet();
+                return crossing.parse(sequence);
+            }
+
+            @Override
+            public Map<String, Integer> crossing(String sequence1, String sequence2) {
+                return crossing(parse(sequence1), parse(sequence2));
+            }
+
+            @Override
+            public Map<String, Integer> crossing(ParsedSequence sequence1, ParsedSequence sequence2) {
+                computations.incrementAndGet();
+                return crossing.crossing(sequence1, sequence2);
+            }
+        };
+    }
+
+    @Test
+    public void whenSequencesAreCanonicalThenTheyAreParsedOnce() {
+        CachingCrossing crossing = new CachingCrossing(countingCrossing);
+
+        crossing.crossing("AaBbCc", "aabbcc");
+        assertEquals(2, parses.get());
+        crossing.crossing("bBAaCC", "bbaacc");
+        assertEquals(2, computations.get());
+        assertEquals(6, parses.get());
+    }
+
+    @Test
+    public void whenSequencesDifferOnlyInOrderThenSameEntry() {
+        CachingCrossing crossing = new CachingCrossing(countingCrossing);
+
+        Map<String, Integer> result = crossing.crossing("bBAAcC", "bbaacc");
+        assertEquals(Crossings.create(config).crossing("AAbBCc", "aabbcc"), result);
+        assertEquals(result, crossing.crossing("AAbBCc", "aabbcc"));
+        assertEquals(result, crossing.crossing("aabbcc", "AABbcC"));
+        assertEquals(1, computations.get());
+        assertEquals(2, crossing.getStats().getHitCount());
+        assertEquals(1, crossing.getStats().getMissCount());
+    }
+
+    @Test
+    public void whenCacheIsFullThenLeastRecentlyUsedIsEvicted() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setMaxSize(2);
+        CachingCrossing crossing = new CachingCrossing(countingCrossing, cacheConfig);
+
+        crossing.crossing("AaBbCc", "aabbcc");
+        crossing.crossing("AABbCc", "aabbcc");
+        crossing.crossing("AaBbCc", "aabbcc");
+        crossing.crossing("AAbbCc", "aabbcc");
+        assertEquals(1, crossing.getStats().getEvictionCount());
+
+        crossing.crossing("AaBbCc", "aabbcc");
+        assertEquals(3, computations.get());
+        crossing.crossing("AABbCc", "aabbcc");
+        assertEquals(4, computations.get());
+    }
+
+    @Test
+    public void whenCacheIsFullThenLeastFrequentlyUsedIsEvicted() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setMaxSize(2);
+        cacheConfig.setEvictionPolicy(EvictionPolicy.LFU);
+        CachingCrossing crossing = new CachingCrossing(countingCrossing, cacheConfig);
+
+        crossing.crossing("AaBbCc", "aabbcc");
+        crossing.crossing("AaBbCc", "aabbcc");
+        crossing.crossing("AABbCc", "aabbcc");
+        crossing.crossing("AAbbCc", "aabbcc");
+
+        crossing.crossing("AaBbCc", "aabbcc");
+        assertEquals(3, computations.get());
+        assertEquals(1, crossing.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void whenWeightIsExceededThenEntriesAreEvicted() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setMaxWeight(8);
+        CachingCrossing crossing = new CachingCrossing(countingCrossing, cacheConfig);
+
+        crossing.crossing("AaBbCc", "aabbcc");
+        crossing.crossing("AaBbCc", "AAbbcc");
+        assertEquals(1, crossing.getStats().getSize());
+        assertEquals(8, crossing.getStats().getWeight());
+        assertThrows(IllegalArgumentException.class, () -> cacheConfig.setMaxWeight(0));
+    }
+
+    @Test
+    public void whenDiskTierIsConfiguredThenResultsSurviveRestart(@TempDir Path directory) {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setDirectory(directory);
+
+        Map<String, Integer> result = new CachingCrossing(countingCrossing, cacheConfig).crossing("AaBbCc", "aabbcc");
+        CachingCrossing restarted = new CachingCrossing(countingCrossing, cacheConfig);
+        assertEquals(result, restarted.crossing("ccbbaa", "cCbBaA"));
+        assertEquals(1, computations.get());
+        assertEquals(1, restarted.getStats().getDiskHitCount());
+        assertEquals(1.0, restarted.getStats().getHitRate());
+    }
+
+    @Test
+    public void whenDiskEntryIsMalformedThenResultIsRecomputed(@TempDir Path directory) throws IOException {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setDirectory(directory);
+        Map<String, Integer> result = new CachingCrossing(countingCrossing, cacheConfig).crossing("AaBbCc", "aabbcc");
+
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries.collect(Collectors.toList());
+        }
+        assertEquals(1, files.size());
+        List<String> lines = Files.readAllLines(files.get(0));
+        Files.write(files.get(0), List.of(lines.get(0), lines.get(1), lines.get(2), "AaBbCc"));
+
+        CachingCrossing restarted = new CachingCrossing(countingCrossing, cacheConfig);
+        assertEquals(result, restarted.crossing("AaBbCc", "aabbcc"));
+        assertEquals(2, computations.get());
+        assertEquals(0, restarted.getStats().getDiskHitCount());
+
+        CachingCrossing repaired = new CachingCrossing(countingCrossing, cacheConfig);
+        assertEquals(result, repaired.crossing("AaBbCc", "aabbcc"));
+        assertEquals(1, repaired.getStats().getDiskHitCount());
+    }
+
+    @Test
+    public void whenSequencesAreInvalidThenException() {
+        CachingCrossing crossing = new CachingCrossing(countingCrossing);
+        assertThrows(IllegalArgumentException.class, () -> crossing.crossing("AaBbCc", "aabb"));
+        assertThrows(IllegalArgumentException.class, () -> crossing.crossing("AaBb", "aaCc"));
+        assertEquals(0, crossing.getStats().getSize());
+    }
+
+    @Test
+    public void whenUnderlyingCrossingRejectsPairThenSameException() {
+        CachingCrossing crossing = new CachingCrossing(countingCrossing);
+        IllegalArgumentException expected = assertThrows(
+                IllegalArgumentException.class,
+                () -> Crossings.create(config).crossing("AaBbCc", "bbaacc")
+        );
+        IllegalArgumentException actual = assertThrows(
+                IllegalArgumentException.class,
+                () -> crossing.crossing("AaBbCc", "bbaacc")
+        );
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(0, crossing.getStats().getSize());
+    }
+
+    @Test
+    public void whenConfigDiffersThenDiskEntriesAreNotShared(@TempDir Path directory) {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setDirectory(directory);
+        Crossings.createCachingCrossing(config, cacheConfig).crossing("AaBbCc", "aabbcc");
+
+        CrossingConfig reversedConfig = new CrossingConfig();
+        reversedConfig.addAllelePairs(new AllelePair("C", "c"), new AllelePair("B", "b"), new AllelePair("A", "a"));
+        CachingCrossing reversed = Crossings.createCachingCrossing(reversedConfig, cacheConfig);
+        Map<String, Integer> result = reversed.crossing("AaBbCc", "aabbcc");
+
+        assertEquals(Crossings.create(reversedConfig).crossing("AaBbCc", "aabbcc"), result);
+        assertEquals(0, reversed.getStats().getDiskHitCount());
+
+        CachingCrossing restarted = Crossings.createCachingCrossing(config, cacheConfig);
+        restarted.crossing("AaBbCc", "aabbcc");
+        assertEquals(1, restarted.getStats().getDiskHitCount());
+    }
+
+    @Test
+    public void whenSameKeyIsMissedConcurrentlyThenResultIsComputedOnce() throws Exception {
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Crossing crossing = Crossings.create(config);
+        CachingCrossing cachingCrossing = new CachingCrossing(new Crossing() {
+            @Override
+            public ParsedSequence parse(String sequence) {
+                return crossing.parse(sequence);
+            }
+
+            @Override
+            public Map<String, Integer> crossing(String sequence1, String sequence2) {
+                return crossing(parse(sequence1), parse(sequence2));
+            }
+
+            @Override
+            public Map<String, Integer> crossing(ParsedSequence sequence1, ParsedSequence sequence2) {
+                computations.incrementAndGet();
+                computing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return crossing.crossing(sequence1, sequence2);
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Map<String, Integer>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cachingCrossing.crossing("AaBbCc", "aabbcc")));
+            computing.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cachingCrossing.crossing("aabbcc", "AaBbcC")));
+            }
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<Map<String, Integer>> result : results) {
+                assertSame(results.get(0).get(), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, cachingCrossing.getStats().getMissCount());
+        assertEquals(3, cachingCrossing.getStats().getHitCount());
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.CrossingEvent;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.CrossingMetrics;
+import com.purrer.gentools.interfaces.Crossing;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CrossingMetricsTest {
+
+    @TempDir
+    Path directory;
+
+    private final CrossingConfig config = new CrossingConfig();
+
+    public CrossingMetricsTest() {
+        config.addAllelePairs(new AllelePair("A", "a"), new AllelePair("B", "b"), new AllelePair("Cr", "cr"));
+    }
+
+    @Test
+    public void whenListenerIsSetThenEveryCrossingIsReported() {
+        List<CrossingMetrics> reported = new ArrayList<>();
+        config.setMetricsListener(reported::add);
+        Crossing crossing = Crossings.create(config);
+
+        crossing.crossing("AaBbCrCr", "AabbCrcr");
+        assertEquals(1, reported.size());
+        CrossingMetrics metrics = reported.get(0);
+        assertEquals(2, metrics.getTokenizations());
+        assertEquals(4, metrics.getMaleGametes());
+        assertEquals(4, metrics.getFemaleGametes());
+        assertEquals(16, metrics.getCells());
+        assertEquals(12, metrics.getDistinctGenotypes());
+        assertTrue(metrics.getParsingNanos() > 0);
+        assertTrue(metrics.getSquareNanos() > 0);
+
+        crossing.crossing(crossing.parse("AaBbCrCr"), crossing.parse("AABbCrCr"));
+        assertEquals(2, reported.size());
+        assertEquals(0, reported.get(1).getTokenizations());
+        assertEquals(0, reported.get(1).getParsingNanos());
+        assertEquals(2, reported.get(1).getFemaleGametes());
+    }
+
+    @Test
+    public void whenSequencesAreInvalidThenCrossingIsNotReported() {
+        List<CrossingMetrics> reported = new ArrayList<>();
+        config.setMetricsListener(reported::add);
+        Crossing crossing = Crossings.create(config);
+
+        assertThrows(IllegalArgumentException.class, () -> crossing.crossing("AaBb", "AaCrcr"));
+        assertTrue(reported.isEmpty());
+    }
+
+    @Test
+    public void whenFlightRecorderIsRunningThenCrossingEventsAreRecorded() throws IOException {
+        Crossing crossing = Crossings.create(config);
+        Path file = directory.resolve("crossing.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CrossingEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            crossing.crossing("AaBbCrcr", "AaBbCrcr");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(CrossingEvent.NAME))
+                .collect(Collectors.toList());
+        assertEquals(1, events.size());
+        assertEquals(27, events.get(0).getInt("distinctGenotypes"));
+        assertEquals(64L, events.get(0).getLong("cells"));
+        assertEquals(2, events.get(0).getInt("tokenizations"));
+    }
+
+}
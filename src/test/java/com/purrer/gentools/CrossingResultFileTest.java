@@ -0,0 +1,114 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.CrossingStrategy;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.interfaces.Crossing;
+import com.purrer.gentools.io.CrossingResultReader;
+import com.purrer.gentools.io.CrossingResultWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CrossingResultFileTest {
+
+    @TempDir
+    Path directory;
+
+    private final CrossingConfig config = new CrossingConfig();
+
+    public CrossingResultFileTest() {
+        for (char c = 'a'; c <= 'h'; c++) {
+            config.addAllelePair(new AllelePair(String.valueOf(c).toUpperCase(), String.valueOf(c)));
+        }
+        config.addAllelePair(new AllelePair("Cr", "cr"));
+        config.setCrossingStrategy(CrossingStrategy.FACTORIZED);
+    }
+
+    @Test
+    public void whenResultIsWrittenThenItIsReadBack() throws IOException {
+        Crossing crossing = Crossings.create(config);
+        Map<String, Integer> result = crossing.crossing("AaBbCcDdEeFfGgHhCrcr", "AabbCcddEeffGgHHcrcr");
+        Path file = directory.resolve("result.psr");
+        new CrossingResultWriter(config).write(result, file);
+
+        CrossingResultReader reader = CrossingResultReader.open(file);
+        assertEquals(List.copyOf(config.getAllelePairs()), reader.getAllelePairs());
+        assertEquals(result.size(), reader.size());
+        Map<String, Integer> read = new HashMap<>();
+        reader.toMap().forEach((genotype, count) -> read.put(genotype, Math.toIntExact(count)));
+        assertEquals(result, read);
+
+        result.forEach((genotype, count) -> assertEquals((long) count, reader.getCount(genotype)));
+        assertEquals(0, reader.getCount("AABBCCDDEEFFGGHHCrCr"));
+    }
+
+    @Test
+    public void whenExactResultIsWrittenThenCountsAreKept() throws IOException {
+        Crossing crossing = Crossings.create(config);
+        Path file = directory.resolve("exact.psr");
+        new CrossingResultWriter(config).write(crossing.exactCrossing("AaBb", "AaBb"), file);
+
+        CrossingResultReader reader = CrossingResultReader.open(file);
+        assertEquals(9, reader.size());
+        assertEquals(4, reader.getCount("AaBb"));
+        assertEquals(1, reader.getCount("aabb"));
+    }
+
+    @Test
+    public void whenFileIsNotResultThenException() throws IOException {
+        Path file = directory.resolve("text.psr");
+        Files.writeString(file, "{\"AaBb\": 4}");
+        assertThrows(IOException.class, () -> CrossingResultReader.open(file));
+    }
+
+    @Test
+    public void whenHeaderIsCorruptedThenException() throws IOException {
+        Path file = directory.resolve("corrupted.psr");
+        new CrossingResultWriter(config).write(Crossings.create(config).exactCrossing("AaBb", "AaBb"), file);
+        byte[] bytes = Files.readAllBytes(file);
+        // magic, version, 9 allele pairs: 8 single-letter pairs and Cr/cr
+        int wordCountOffset = Integer.BYTES + 1 + 1 + 8 * 4 + 6;
+
+        byte[] noWords = bytes.clone();
+        noWords[wordCountOffset] = 0;
+        assertCorrupted(noWords);
+
+        byte[] negativeSize = bytes.clone();
+        ByteBuffer.wrap(negativeSize).putLong(wordCountOffset + 1, -1);
+        assertCorrupted(negativeSize);
+
+        byte[] largeSize = bytes.clone();
+        ByteBuffer.wrap(largeSize).putLong(wordCountOffset + 1, Long.MAX_VALUE / 2);
+        assertCorrupted(largeSize);
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 5);
+        assertCorrupted(truncated);
+
+        ByteBuffer negativePairs = ByteBuffer.allocate(Integer.BYTES + 1 + 10);
+        negativePairs.put(bytes, 0, Integer.BYTES + 1);
+        for (int i = 0; i < 9; i++) {
+            negativePairs.put((byte) 0xFF);
+        }
+        negativePairs.put((byte) 0x01);
+        assertCorrupted(negativePairs.array());
+    }
+
+    private void assertCorrupted(byte[] bytes) throws IOException {
+        Path file = Files.write(directory.resolve("patched.psr"), bytes);
+        assertThrows(IOException.class, () -> CrossingResultReader.open(file));
+    }
+
+}
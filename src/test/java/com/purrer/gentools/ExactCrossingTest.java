@@ -0,0 +1,69 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.CrossingStrategy;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.CrossingResult;
+import com.purrer.gentools.entities.Probability;
+import com.purrer.gentools.interfaces.Crossing;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExactCrossingTest {
+
+    private static final int LOCI = 40;
+
+    @Test
+    public void whenExactCrossingThenSameCountsAsCrossing() {
+        CrossingConfig config = new CrossingConfig();
+        config.addAllelePair(new AllelePair("A", "a"));
+        config.addAllelePair(new AllelePair("B", "b"));
+        Crossing squareCrossing = Crossings.create(config);
+        config.setCrossingStrategy(CrossingStrategy.FACTORIZED);
+        Crossing factorizedCrossing = Crossings.create(config);
+
+        CrossingResult result = squareCrossing.exactCrossing("AaBb", "Aabb");
+        assertEquals(factorizedCrossing.exactCrossing("AaBb", "Aabb"), result);
+        assertEquals(BigInteger.valueOf(16), result.getTotal());
+        assertEquals(BigInteger.valueOf(4), result.getCount("AaBb"));
+        assertEquals(Probability.of(1, 4), result.getProbability("AaBb"));
+        assertEquals(squareCrossing.crossing("AaBb", "Aabb").size(), result.size());
+        assertEquals(0.25, factorizedCrossing.probabilities("AaBb", "Aabb").get("AaBb"), 1e-12);
+    }
+
+    @Test
+    public void whenCountsOverflowIntegerThenExactCrossingIsExact() {
+        CrossingConfig config = new CrossingConfig();
+        config.setCrossingStrategy(CrossingStrategy.FACTORIZED);
+        StringBuilder maleSequence = new StringBuilder();
+        StringBuilder femaleSequence = new StringBuilder();
+        for (int i = 0; i < LOCI; i++) {
+            String locus = "" + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            config.addAllelePair(new AllelePair("L" + locus, "l" + locus));
+            maleSequence.append("L").append(locus).append(i == 0 ? "l" : "L").append(locus);
+            femaleSequence.append("l").append(locus).append("l").append(locus);
+        }
+        String male = maleSequence.toString();
+        String female = femaleSequence.toString();
+        Crossing crossing = Crossings.create(config);
+
+        assertThrows(ArithmeticException.class, () -> crossing.crossing(male, female));
+
+        CrossingResult result = crossing.exactCrossing(male, female);
+        assertEquals(BigInteger.ONE.shiftLeft(2 * LOCI), result.getTotal());
+        assertEquals(2, result.size());
+        BigInteger half = BigInteger.ONE.shiftLeft(2 * LOCI - 1);
+        result.getCounts().values().forEach(count -> assertEquals(half, count));
+
+        Map<String, Double> probabilities = crossing.probabilities(male, female);
+        assertEquals(result.getProbabilities().keySet(), probabilities.keySet());
+        assertEquals(1.0, probabilities.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-12);
+    }
+
+}
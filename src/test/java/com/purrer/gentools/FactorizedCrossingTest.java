@@ -0,0 +1,155 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.CrossingStrategy;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.crossing.FactorizedCrossing;
+import com.purrer.gentools.crossing.PolyhybridCrossing;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.CrossingResult;
+import com.purrer.gentools.extractor.SymbolGameteGroupsExtractor;
+import com.purrer.gentools.interfaces.Crossing;
+import com.purrer.gentools.interfaces.GameteGroupsExtractor;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.tokenizers.AllelePairsTokenizer;
+import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.validation.SequenceValidationImpl;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FactorizedCrossingTest {
+
+    private final Set<AllelePair> allelePairs = Set.of(
+            new AllelePair("A", "a"),
+            new AllelePair("B", "b"),
+            new AllelePair("C", "c"),
+            new AllelePair("D", "d"),
+            new AllelePair("E", "e"),
+            new AllelePair("F", "f"),
+            new AllelePair("G", "g"),
+            new AllelePair("H", "h")
+    );
+    private final GameteGroupsExtractor extractor = new SymbolGameteGroupsExtractor();
+    private final SequenceValidation validation = new SequenceValidationImpl(extractor, allelePairs);
+    private final Crossing squareCrossing = new PolyhybridCrossing(
+            new GameteCombiner(validation, extractor),
+            new AllelePairsTokenizer(allelePairs),
+            validation,
+            allelePairs
+    );
+    private final Crossing factorizedCrossing = new FactorizedCrossing(validation, extractor, allelePairs);
+
+    @Test
+    public void whenCrossingThenSameResultAsPunnettSquare() {
+        assertEquals(
+                squareCrossing.crossing("AaBBccDdEEFfGGhh", "aaBbcCddeEFFGgHH"),
+                factorizedCrossing.crossing("AaBBccDdEEFfGGhh", "aaBbcCddeEFFGgHH")
+        );
+        assertEquals(
+                squareCrossing.crossing("AaBbCcDd", "AaBbCcDd"),
+                factorizedCrossing.crossing("AaBbCcDd", "AaBbCcDd")
+        );
+    }
+
+    @Test
+    public void whenConfigWithMultiCharAllelesThenSameResultAsPunnettSquare() {
+        CrossingConfig config = new CrossingConfig();
+        config.addAllelePairs(
+                new AllelePair("Al", "al"),
+                new AllelePair("Cf", "cf"),
+                new AllelePair("De", "de")
+        );
+        Crossing square = Crossings.create(config);
+        config.setCrossingStrategy(CrossingStrategy.FACTORIZED);
+        Crossing factorized = Crossings.create(config);
+
+        assertInstanceOf(FactorizedCrossing.class, factorized);
+        assertEquals(
+                square.crossing("CfcfdeDeAlAl", "cfCfdedealAl"),
+                factorized.crossing("CfcfdeDeAlAl", "cfCfdedealAl")
+        );
+    }
+
+    @Test
+    public void whenManyLociThenResultIsCalculatedWithoutSquare() {
+        CrossingConfig config = new CrossingConfig();
+        for (char c = 'a'; c <= 'z'; c++) {
+            config.addAllelePair(new AllelePair(String.valueOf(c).toUpperCase(), String.valueOf(c)));
+        }
+        config.setCrossingStrategy(CrossingStrategy.FACTORIZED);
+        Crossing crossing = Crossings.create(config);
+
+        Map<String, Integer> result = crossing.crossing(
+                "AaBbCcDdEeFfGgHhIiJjKkLlMMNN",
+                "aabbccddeeffgghhiijjkkllmmnn"
+        );
+        assertEquals(1 << 12, result.size());
+        assertEquals(1 << 16, result.get("aabbccddeeffgghhiijjkkllMmNn"));
+    }
+
+    @Test
+    public void whenCountDoesNotFitIntoIntegerThenException() {
+        CrossingConfig config = new CrossingConfig();
+        for (char c = 'a'; c <= 'p'; c++) {
+            config.addAllelePair(new AllelePair(String.valueOf(c).toUpperCase(), String.valueOf(c)));
+        }
+        config.setCrossingStrategy(CrossingStrategy.FACTORIZED);
+        Crossing crossing = Crossings.create(config);
+
+        assertThrows(
+                ArithmeticException.class,
+                () -> crossing.crossing("AABBCCDDEEFFGGHHIIJJKKLLMMNNOOPP", "aabbccddeeffgghhiijjkkllmmnnoopp")
+        );
+    }
+
+    @Test
+    public void whenSequencesAreInvalidThenException() {
+        assertThrows(IllegalArgumentException.class, () -> factorizedCrossing.crossing("AaBb", "AaCc"));
+    }
+
+    @Test
+    public void whenMostProbableGenotypesThenSameAsTopOfFullResult() {
+        FactorizedCrossing crossing = (FactorizedCrossing) factorizedCrossing;
+        CrossingResult full = crossing.exactCrossing("AaBbCCDdEe", "AabbCcDdee");
+        CrossingResult top = crossing.mostProbable("AaBbCCDdEe", "AabbCcDdee", 10);
+
+        List<BigInteger> expectedCounts = full.getCounts().values().stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(10)
+                .collect(Collectors.toList());
+        assertEquals(expectedCounts, new ArrayList<>(top.getCounts().values()));
+        assertEquals(full.getTotal(), top.getTotal());
+        top.getCounts().forEach((genotype, count) -> assertEquals(full.getCount(genotype), count));
+        assertEquals(full.getCounts(), crossing.mostProbable("AaBbCCDdEe", "AabbCcDdee", 1000).getCounts());
+    }
+
+    @Test
+    public void whenMostProbableGenotypesOf26LociThenOthersAreNotEnumerated() {
+        CrossingConfig config = new CrossingConfig();
+        StringBuilder sequence = new StringBuilder();
+        for (char c = 'a'; c <= 'z'; c++) {
+            config.addAllelePair(new AllelePair(String.valueOf(c).toUpperCase(), String.valueOf(c)));
+            sequence.append(String.valueOf(c).toUpperCase()).append(c);
+        }
+        config.setCrossingStrategy(CrossingStrategy.FACTORIZED);
+        FactorizedCrossing crossing = (FactorizedCrossing) Crossings.create(config);
+
+        CrossingResult top = crossing.mostProbable(sequence.toString(), sequence.toString(), 20);
+        assertEquals(20, top.size());
+        Map.Entry<String, BigInteger> best = top.getCounts().entrySet().iterator().next();
+        assertEquals(sequence.toString(), best.getKey());
+        assertEquals(BigInteger.TWO.pow(26), best.getValue());
+    }
+
+}
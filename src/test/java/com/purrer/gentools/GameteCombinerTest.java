@@ -0,0 +1,92 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
+import com.purrer.gentools.interfaces.GameteGroupsExtractor;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
+import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.utils.Gametes;
+import com.purrer.gentools.validation.SequenceValidationImpl;
+import com.purrer.gentools.validation.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GameteCombinerTest {
+
+    private final Set<AllelePair> allelePairs = Set.of(
+            new AllelePair("A", "a"),
+            new AllelePair("B", "b"),
+            new AllelePair("Cr", "cr")
+    );
+    private final GameteGroupsExtractor extractor =
+            new TokenizingGameteGroupsExtractor(new TrieAllelePairsTokenizer(allelePairs));
+    private final SequenceValidation validation = new SequenceValidationImpl(extractor, allelePairs);
+    private final GameteCombiner combiner = new GameteCombiner(validation, extractor);
+
+    @Test
+    public void whenGetGametesThenClassicOrder() {
+        assertEquals(
+                List.of("ABCr", "ABcr", "AbCr", "Abcr", "aBCr", "aBcr", "abCr", "abcr"),
+                combiner.getGametes("AaBbCrcr")
+        );
+    }
+
+    @Test
+    public void whenValidationDoesNotParseThenGameteGroupsOfExtractorAreUsed() {
+        SequenceValidation validatingOnly = new SequenceValidation() {
+            @Override
+            public ValidationResult validateSequence(String sequence) {
+                return validation.validateSequence(sequence);
+            }
+
+            @Override
+            public ValidationResult validateSequencePair(String firstSequence, String secondSequence) {
+                return validation.validateSequencePair(firstSequence, secondSequence);
+            }
+        };
+
+        assertEquals(
+                combiner.getGametes("AaBbCrcr"),
+                new GameteCombiner(validatingOnly, extractor).getGametes("AaBbCrcr")
+        );
+        assertEquals(List.of("AB", "Ab", "aB", "ab"), new GameteCombiner(validatingOnly).getGametes("AaBb"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new GameteCombiner(validatingOnly, extractor).getGametes("AaBbCr")
+        );
+    }
+
+    @Test
+    public void whenGametesAreLazyThenSameOrderAsList() {
+        Gametes gametes = combiner.gametes("AaBbCrcr");
+        assertEquals(8, gametes.size());
+        assertEquals("AbCr", gametes.get(2));
+        assertEquals(combiner.getGametes("AaBbCrcr"), gametes.stream().collect(Collectors.toList()));
+        assertEquals(combiner.getGametes("AaBbCrcr"), gametes.parallelStream().collect(Collectors.toList()));
+        assertThrows(IndexOutOfBoundsException.class, () -> gametes.get(8));
+    }
+
+    @Test
+    public void whenParentHasHomozygousLociThenOnlyDistinctGametesAreReturned() {
+        Map<String, Long> gametes = combiner.getDistinctGametes("AABbcrcr");
+        assertEquals(List.of("ABcr", "Abcr"), List.copyOf(gametes.keySet()));
+        assertEquals(4L, gametes.get("ABcr"));
+        assertEquals(4L, gametes.get("Abcr"));
+
+        assertEquals(Map.of("aBCr", 8L), combiner.getDistinctGametes("aaBBCrCr"));
+    }
+
+    @Test
+    public void whenSequenceIsInvalidThenException() {
+        assertThrows(IllegalArgumentException.class, () -> combiner.gametes("AaBbC"));
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.utils.GenotypeCounter;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GenotypeCounterTest {
+
+    @Test
+    public void whenGenotypesAreAddedThenCountsAreSummedUp() {
+        GenotypeCounter counter = new GenotypeCounter();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long genotype = random.nextInt(1000) - 10;
+            long count = random.nextInt(5);
+            counter.add(genotype, count);
+            expected.merge(genotype, count, Long::sum);
+        }
+
+        assertEquals(expected.size(), counter.size());
+        assertEquals(expected, counter.toMap(Long::valueOf));
+        assertEquals(expected.get(0L), counter.get(0));
+        assertEquals(0, counter.get(5000));
+    }
+
+    @Test
+    public void whenCountersAreMergedThenCountsAreSummedUp() {
+        GenotypeCounter first = new GenotypeCounter();
+        first.add(1, 2);
+        first.add(0, 1);
+        GenotypeCounter second = new GenotypeCounter();
+        second.add(1, 3);
+        second.add(7, 1);
+
+        first.addAll(second);
+        assertEquals(Map.of(0L, 1L, 1L, 5L, 7L, 1L), first.toMap(Long::valueOf));
+    }
+
+    @Test
+    public void whenCountOverflowsThenException() {
+        GenotypeCounter counter = new GenotypeCounter();
+        counter.add(1, Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> counter.add(1, 1));
+    }
+
+}
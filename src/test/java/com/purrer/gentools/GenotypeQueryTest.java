@@ -0,0 +1,65 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.crossing.GenotypePattern;
+import com.purrer.gentools.crossing.GenotypeQuery;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.entities.Probability;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GenotypeQueryTest {
+
+    private final CrossingConfig config = new CrossingConfig();
+    private final GenotypeQuery query;
+
+    public GenotypeQueryTest() {
+        config.addAllelePairs(new AllelePair("A", "a"), new AllelePair("B", "b"), new AllelePair("Cr", "cr"));
+        query = Crossings.createGenotypeQuery(config);
+    }
+
+    @Test
+    public void whenGenotypeIsQueriedThenSameAsExactCrossing() {
+        Map<String, Integer> punnettSquare = Crossings.create(config).crossing("AaBbCrcr", "aaBbCrCr");
+        int total = punnettSquare.values().stream().mapToInt(Integer::intValue).sum();
+
+        punnettSquare.forEach((genotype, count) ->
+                assertEquals(Probability.of(count, total), query.probability("AaBbCrcr", "aaBbCrCr", genotype))
+        );
+        assertEquals(Probability.ZERO, query.probability("AaBbCrcr", "aaBbCrCr", "AABbCrcr"));
+    }
+
+    @Test
+    public void whenPatternHasWildcardsThenMatchingGenotypesAreSummed() {
+        assertEquals(Probability.of(1, 4), query.probability("AaBbCrcr", "AaBbCrcr", "crcr"));
+        assertEquals(Probability.of(3, 4), query.probability("AaBbCrcr", "AaBbCrcr", "A_"));
+        assertEquals(Probability.of(3, 4), query.probability("AaBbCrcr", "AaBbCrcr", "_a"));
+        assertEquals(Probability.of(9, 64), query.probability("AaBbCrcr", "AaBbCrcr", "A_B_crcr"));
+        assertEquals(Probability.of(1, 2), query.probability("AaBbCrcr", "AaBbCrcr", "Bb"));
+    }
+
+    @Test
+    public void whenPatternIsCompiledThenItIsReused() {
+        GenotypePattern pattern = query.compile("crcrA_");
+        ParsedSequence male = query.parse("AaBbCrcr");
+        assertEquals(Probability.of(3, 16), query.probability(male, query.parse("AaBBCrcr"), pattern));
+        assertEquals(Probability.of(1, 8), query.probability(male, query.parse("aaBBCrcr"), pattern));
+    }
+
+    @Test
+    public void whenPatternIsInvalidThenException() {
+        assertThrows(IllegalArgumentException.class, () -> query.compile("A"));
+        assertThrows(IllegalArgumentException.class, () -> query.compile("Ab"));
+        assertThrows(IllegalArgumentException.class, () -> query.compile("__"));
+        assertThrows(IllegalArgumentException.class, () -> query.compile("AaaA"));
+        assertThrows(IllegalArgumentException.class, () -> query.compile("Xx"));
+        assertThrows(IllegalArgumentException.class, () -> query.probability("AaBb", "AaBb", "crcr"));
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.sampling.FrequencyEstimate;
+import com.purrer.gentools.sampling.OffspringSampler;
+import com.purrer.gentools.sampling.SamplingConfig;
+import com.purrer.gentools.sampling.SamplingResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffspringSamplerTest {
+
+    private final CrossingConfig config = new CrossingConfig();
+
+    public OffspringSamplerTest() {
+        config.addAllelePairs(new AllelePair("A", "a"), new AllelePair("B", "b"), new AllelePair("Cr", "cr"));
+    }
+
+    @Test
+    public void whenSeedIsSameThenResultDoesNotDependOnParallelism() {
+        ForkJoinPool sequentialPool = new ForkJoinPool(1);
+        ForkJoinPool parallelPool = new ForkJoinPool(4);
+        try {
+            SamplingConfig sequential = samplingConfig(100_000, sequentialPool);
+            SamplingConfig parallel = samplingConfig(100_000, parallelPool);
+
+            SamplingResult first = new OffspringSampler(config, sequential).sample("AaBbCrcr", "aaBbCrcr");
+            SamplingResult second = new OffspringSampler(config, parallel).sample("AaBbCrcr", "aaBbCrcr");
+            assertEquals(100_000, first.getSamples());
+            assertEquals(first.getCounts(), second.getCounts());
+        } finally {
+            sequentialPool.shutdown();
+            parallelPool.shutdown();
+        }
+    }
+
+    @Test
+    public void whenSamplingThenEstimatesContainExactProbabilities() {
+        SamplingResult result = new OffspringSampler(config, samplingConfig(200_000, ForkJoinPool.commonPool()))
+                .sample("AaBbCrcr", "AaBbCrcr");
+        Map<String, Double> exact = Crossings.create(config).probabilities("AaBbCrcr", "AaBbCrcr");
+
+        assertEquals(exact.keySet(), result.getCounts().keySet());
+        int misses = 0;
+        for (Map.Entry<String, Double> genotype : exact.entrySet()) {
+            FrequencyEstimate estimate = result.getEstimate(genotype.getKey());
+            assertEquals(genotype.getValue(), estimate.getFrequency(), 0.01);
+            if (!estimate.contains(genotype.getValue())) {
+                misses++;
+            }
+        }
+        assertTrue(misses <= 3, "95% intervals should contain almost all of 27 probabilities");
+    }
+
+    @Test
+    public void whenTimeLimitIsSetThenManyLociAreSampled() {
+        CrossingConfig alphabet = new CrossingConfig();
+        StringBuilder male = new StringBuilder();
+        StringBuilder female = new StringBuilder();
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            String dominant = String.valueOf(letter);
+            String recessive = dominant.toLowerCase();
+            alphabet.addAllelePairs(new AllelePair(dominant, recessive));
+            male.append(dominant).append(recessive);
+            female.append(letter % 2 == 0 ? dominant + dominant : dominant + recessive);
+        }
+        SamplingConfig samplingConfig = new SamplingConfig();
+        samplingConfig.setTimeLimit(Duration.ofMillis(50));
+
+        SamplingResult result = new OffspringSampler(alphabet, samplingConfig).sample(male.toString(), female.toString());
+        assertTrue(result.getSamples() > 0);
+        assertEquals(result.getSamples(), result.getCounts().values().stream().mapToLong(Long::longValue).sum());
+        result.getCounts().keySet().forEach(genotype -> assertEquals(52, genotype.length()));
+    }
+
+    @Test
+    public void whenTimeLimitIsTinyThenEstimatesAreIntervals() {
+        SamplingConfig samplingConfig = new SamplingConfig();
+        samplingConfig.setTimeLimit(Duration.ofNanos(1));
+
+        SamplingResult result = new OffspringSampler(config, samplingConfig).sample("AaBbCrcr", "AaBbCrcr");
+        FrequencyEstimate estimate = result.getEstimate("aabbcrcr");
+        assertTrue(0 <= estimate.getLower() && estimate.getLower() <= estimate.getUpper() && estimate.getUpper() <= 1);
+        result.getEstimates().values().forEach(drawn -> assertTrue(drawn.getLower() <= drawn.getUpper()));
+    }
+
+    @Test
+    public void whenBudgetIsNotSetThenException() {
+        assertThrows(IllegalArgumentException.class, () -> new OffspringSampler(config, new SamplingConfig()));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingConfig().setSamples(0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new OffspringSampler(config, samplingConfig(10, ForkJoinPool.commonPool())).sample("AaBb", "AaCrcr")
+        );
+    }
+
+    private static SamplingConfig samplingConfig(long samples, ForkJoinPool pool) {
+        SamplingConfig samplingConfig = new SamplingConfig();
+        samplingConfig.setSamples(samples);
+        samplingConfig.setSeed(42);
+        samplingConfig.setForkJoinPool(pool);
+        return samplingConfig;
+    }
+
+}
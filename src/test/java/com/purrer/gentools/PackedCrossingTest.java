@@ -0,0 +1,97 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.crossing.PackedCrossing;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.PackedGenotype;
+import com.purrer.gentools.utils.PackedGenotypeCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PackedCrossingTest {
+
+    private final PackedCrossing crossing = new PackedCrossing();
+
+    @Test
+    public void whenSequenceIsEncodedThenLociAreStoredInConfigOrder() {
+        CrossingConfig config = new CrossingConfig();
+        config.addAllelePairs(
+                new AllelePair("Al", "al"),
+                new AllelePair("Cf", "cf"),
+                new AllelePair("De", "de")
+        );
+        PackedGenotypeCodec codec = Crossings.createPackedGenotypeCodec(config);
+
+        PackedGenotype genotype = codec.encode("CfcfdeDeAlAl");
+        assertEquals(PackedGenotype.DOMINANT_HOMOZYGOUS, genotype.getLocusState(0));
+        assertEquals(PackedGenotype.HETEROZYGOUS, genotype.getLocusState(1));
+        assertEquals(PackedGenotype.HETEROZYGOUS, genotype.getLocusState(2));
+        assertEquals("AlAlCfcfDede", codec.decode(genotype));
+        assertEquals(genotype, codec.encode("AlAlcfCfDede"));
+        assertThrows(IllegalArgumentException.class, () -> codec.encode("AlAlCf"));
+    }
+
+    @Test
+    public void whenPackedGenotypesAreCrossedThenSameResultAsCrossing() {
+        CrossingConfig config = new CrossingConfig();
+        config.addAllelePairs(
+                new AllelePair("Al", "al"),
+                new AllelePair("Cf", "cf"),
+                new AllelePair("De", "de")
+        );
+        PackedGenotypeCodec codec = Crossings.createPackedGenotypeCodec(config);
+
+        Map<PackedGenotype, Long> packedResult = crossing.crossing(
+                codec.encode("CfcfdeDeAlAl"),
+                codec.encode("cfCfdedealAl")
+        );
+        Map<String, Integer> result = new HashMap<>();
+        packedResult.forEach((genotype, count) -> result.put(codec.decode(genotype), Math.toIntExact(count)));
+
+        assertEquals(Crossings.create(config).crossing("CfcfdeDeAlAl", "cfCfdedealAl"), result);
+    }
+
+    @Test
+    public void whenMoreThan32LociThenGenotypeUsesSeveralWords() {
+        CrossingConfig config = new CrossingConfig();
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            String locus = "" + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            config.addAllelePair(new AllelePair("L" + locus, "l" + locus));
+            sequence.append("L").append(locus).append("l").append(locus);
+        }
+        PackedGenotypeCodec codec = Crossings.createPackedGenotypeCodec(config);
+
+        PackedGenotype genotype = codec.encode(sequence.toString());
+        assertEquals(2, genotype.getWordCount());
+        assertEquals(40, genotype.getPresentLociCount());
+        assertEquals(PackedGenotype.HETEROZYGOUS, genotype.getLocusState(39));
+        assertEquals(sequence.toString(), codec.decode(genotype));
+
+        Map<PackedGenotype, Long> result = crossing.crossing(
+                codec.encode("LbjlbjLbkLbk"),
+                codec.encode("lbjlbjlbklbk")
+        );
+        assertEquals(2, result.size());
+        assertEquals(8L, result.get(codec.encode("LbjlbjLbklbk")));
+        assertEquals(8L, result.get(codec.encode("lbjlbjLbklbk")));
+    }
+
+    @Test
+    public void whenGenotypesHaveDifferentLociThenException() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> crossing.crossing(
+                        PackedGenotype.of(0).withLocusState(0, PackedGenotype.HETEROZYGOUS),
+                        PackedGenotype.of(0).withLocusState(1, PackedGenotype.HETEROZYGOUS)
+                )
+        );
+    }
+
+}
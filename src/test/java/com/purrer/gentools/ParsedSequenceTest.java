@@ -0,0 +1,104 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.FactorizedCrossing;
+import com.purrer.gentools.crossing.PolyhybridCrossing;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
+import com.purrer.gentools.interfaces.Crossing;
+import com.purrer.gentools.interfaces.GameteGroupsExtractor;
+import com.purrer.gentools.interfaces.SequenceTokenizer;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
+import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.validation.SequenceValidationImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParsedSequenceTest {
+
+    private final Set<AllelePair> allelePairs = Set.of(
+            new AllelePair("Al", "al"),
+            new AllelePair("Cf", "cf"),
+            new AllelePair("De", "de")
+    );
+    private final AtomicInteger tokenizations = new AtomicInteger();
+    private final SequenceTokenizer tokenizer = new TrieAllelePairsTokenizer(allelePairs);
+    private final GameteGroupsExtractor extractor = new TokenizingGameteGroupsExtractor(sequence -> {
+        tokenizations.incrementAndGet();
+        return tokenizer.tokenize(sequence);
+    });
+    private final SequenceValidation validation = new SequenceValidationImpl(extractor, allelePairs);
+    private final Crossing squareCrossing = new PolyhybridCrossing(new GameteCombiner(validation), validation, allelePairs);
+    private final Crossing factorizedCrossing = new FactorizedCrossing(validation, extractor, allelePairs);
+
+    @Test
+    public void whenParsedSequenceIsCrossedSeveralTimesThenItIsTokenizedOnce() {
+        ParsedSequence male = squareCrossing.parse("AlalCfcfDede");
+        ParsedSequence female = squareCrossing.parse("alalCfCfdeDe");
+        assertEquals(2, tokenizations.get());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(
+                    squareCrossing.crossing("AlalCfcfDede", "alalCfCfdeDe"),
+                    squareCrossing.crossing(male, female)
+            );
+            assertEquals(
+                    squareCrossing.crossing(male, female),
+                    factorizedCrossing.crossing(male, female)
+            );
+        }
+        assertEquals(2 + 3 * 2, tokenizations.get());
+    }
+
+    @Test
+    public void whenSequenceIsParsedThenAllelesHaveIdsOfConfig() {
+        ParsedSequence sequence = validation.parse("CfcfAlAl");
+        assertTrue(sequence.isValid());
+        assertEquals(2, sequence.getLocusCount());
+        assertEquals(0, sequence.getAlleleId(0) % 2);
+        assertEquals(sequence.getAlleleId(0) + 1, sequence.getAlleleId(1));
+        assertEquals(sequence.getAlleleId(2), sequence.getAlleleId(3));
+        assertNotEquals(sequence.getAlleleId(0) / 2, sequence.getAlleleId(2) / 2);
+    }
+
+    @Test
+    public void whenSequenceIsInvalidThenParsedSequenceKeepsValidationResult() {
+        ParsedSequence invalid = squareCrossing.parse("AlalCf");
+        assertFalse(invalid.isValid());
+        assertEquals(validation.validateSequence("AlalCf").getMessage(), invalid.getValidationResult().getMessage());
+
+        ParsedSequence valid = squareCrossing.parse("AlalCfcf");
+        assertThrows(IllegalArgumentException.class, () -> squareCrossing.crossing(valid, invalid));
+        assertThrows(IllegalArgumentException.class, () -> factorizedCrossing.crossing(invalid, valid));
+        assertFalse(validation.validateSequencePair(valid, squareCrossing.parse("AlalDede")).isValid());
+    }
+
+    @Test
+    public void whenCrossingImplementsOnlyStringCrossingThenParsedSequencesAreCrossedBySourceSequences() {
+        Crossing legacyCrossing = (sequence1, sequence2) -> squareCrossing.crossing(sequence1, sequence2);
+
+        ParsedSequence male = legacyCrossing.parse("AlalCfcfDede");
+        assertEquals("AlalCfcfDede", male.getSequence());
+        assertEquals(0, tokenizations.get());
+        assertFalse(male.isValidated());
+        assertFalse(legacyCrossing.parse("garbage").isValid());
+        assertEquals(
+                squareCrossing.crossing("AlalCfcfDede", "alalCfCfdeDe"),
+                legacyCrossing.crossing(male, legacyCrossing.parse("alalCfCfdeDe"))
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> legacyCrossing.crossing(legacyCrossing.parse("AlalCf"), legacyCrossing.parse("Alal"))
+        );
+    }
+
+}
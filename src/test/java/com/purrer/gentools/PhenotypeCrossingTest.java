@@ -0,0 +1,99 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.crossing.PhenotypeCrossing;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.PhenotypeResult;
+import com.purrer.gentools.entities.Probability;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PhenotypeCrossingTest {
+
+    private final CrossingConfig config = new CrossingConfig();
+    private final PhenotypeCrossing crossing;
+
+    public PhenotypeCrossingTest() {
+        config.addAllelePairs(new AllelePair("A", "a"), new AllelePair("B", "b"), new AllelePair("Cr", "cr"));
+        crossing = Crossings.createPhenotypeCrossing(config);
+    }
+
+    @Test
+    public void whenDihybridHeterozygotesAreCrossedThenRatioIs9331() {
+        PhenotypeResult result = crossing.phenotypes("AaBb", "AaBb");
+        assertEquals(
+                Map.of(
+                        "A_B_", BigInteger.valueOf(9),
+                        "A_bb", BigInteger.valueOf(3),
+                        "aaB_", BigInteger.valueOf(3),
+                        "aabb", BigInteger.ONE
+                ),
+                result.getRatio()
+        );
+        assertEquals(Probability.of(9, 16), result.getProbability("A_B_"));
+        assertEquals(BigInteger.ZERO, result.getCount("A_"));
+    }
+
+    @Test
+    public void whenPhenotypesAreComputedThenSameAsCollapsedPunnettSquare() {
+        Map<String, Integer> punnettSquare = Crossings.create(config).crossing("AaBBCrcr", "aaBbCrcr");
+        Map<String, BigInteger> expected = new HashMap<>();
+        punnettSquare.forEach((genotype, count) ->
+                expected.merge(phenotypeOf(genotype), BigInteger.valueOf(count), BigInteger::add)
+        );
+
+        PhenotypeResult result = crossing.phenotypes("AaBBCrcr", "aaBbCrcr");
+        assertEquals(expected, result.getCounts());
+        expected.forEach((phenotype, count) -> assertEquals(count, result.getCount(phenotype)));
+    }
+
+    @Test
+    public void whenManyLociThenPhenotypeIsComputedWithoutSquare() {
+        CrossingConfig alphabet = new CrossingConfig();
+        StringBuilder sequence = new StringBuilder();
+        StringBuilder phenotype = new StringBuilder();
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            String dominant = String.valueOf(letter);
+            alphabet.addAllelePairs(new AllelePair(dominant, dominant.toLowerCase()));
+            sequence.append(dominant).append(dominant.toLowerCase());
+            phenotype.append(dominant).append(PhenotypeResult.ANY_ALLELE);
+        }
+        PhenotypeResult result = Crossings.createPhenotypeCrossing(alphabet)
+                .phenotypes(sequence.toString(), sequence.toString());
+        assertEquals(Probability.of(BigInteger.valueOf(3).pow(26), BigInteger.valueOf(4).pow(26)),
+                result.getProbability(phenotype.toString()));
+    }
+
+    @Test
+    public void whenSequencesAreInvalidThenException() {
+        assertThrows(IllegalArgumentException.class, () -> crossing.phenotypes("AaBb", "AaCrcr"));
+        assertThrows(IllegalArgumentException.class, () -> crossing.phenotypes("AaB", "AaBb"));
+    }
+
+    private String phenotypeOf(String genotype) {
+        StringBuilder phenotype = new StringBuilder();
+        int offset = 0;
+        while (offset < genotype.length()) {
+            for (AllelePair pair : config.getAllelePairs()) {
+                if (genotype.startsWith(pair.getDominant(), offset)) {
+                    phenotype.append(pair.getDominant()).append(PhenotypeResult.ANY_ALLELE);
+                } else if (genotype.startsWith(pair.getRecessive(), offset)) {
+                    phenotype.append(pair.getRecessive()).append(pair.getRecessive());
+                } else {
+                    continue;
+                }
+                offset += pair.getDominant().length() + pair.getRecessive().length();
+                break;
+            }
+        }
+        return phenotype.toString();
+    }
+
+}
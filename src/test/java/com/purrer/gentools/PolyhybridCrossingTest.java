@@ -1,10 +1,14 @@
 package com.purrer.gentools;
 
 import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.CrossingStrategy;
 import com.purrer.gentools.crossing.Crossings;
 import com.purrer.gentools.crossing.PolyhybridCrossing;
 import com.purrer.gentools.extractor.SymbolGameteGroupsExtractor;
 import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.CrossingResult;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
 import com.purrer.gentools.interfaces.Crossing;
 import com.purrer.gentools.interfaces.GameteGroupsExtractor;
 import com.purrer.gentools.interfaces.SequenceTokenizer;
@@ -14,10 +18,15 @@ import com.purrer.gentools.utils.GameteCombiner;
 import com.purrer.gentools.validation.SequenceValidationImpl;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class PolyhybridCrossingTest {
 
@@ -49,6 +58,99 @@ public class PolyhybridCrossingTest {
         System.out.println("Crossing took " + time + " milliseconds");
     }
 
+    @Test
+    public void testParallelCrossing() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Crossing parallelCrossing = new PolyhybridCrossing(combiner, tokenizer, validation, allelePairs, pool);
+            assertEquals(
+                    crossing.crossing("AaBbCcDdEeFfGgHh", "aaBbCcddEeFfGGHh"),
+                    parallelCrossing.crossing("AaBbCcDdEeFfGgHh", "aaBbCcddEeFfGGHh")
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCrossingDoesNotTokenizeGametes() {
+        boolean[] parsing = {true};
+        int[] tokenizations = {0};
+        SequenceTokenizer parsingOnlyTokenizer = sequence -> {
+            if (!parsing[0]) {
+                throw new AssertionError("Sequence " + sequence + " should not be tokenized");
+            }
+            tokenizations[0]++;
+            return tokenizer.tokenize(sequence);
+        };
+        SequenceValidation validation = new SequenceValidationImpl(
+                new TokenizingGameteGroupsExtractor(parsingOnlyTokenizer),
+                allelePairs
+        );
+        Crossing crossing = new PolyhybridCrossing(new GameteCombiner(validation), validation, allelePairs);
+
+        ParsedSequence male = crossing.parse("aAbB");
+        ParsedSequence female = crossing.parse("aabb");
+        parsing[0] = false;
+        assertEquals(2, tokenizations[0]);
+        assertEquals(this.crossing.crossing("aAbB", "aabb"), crossing.crossing(male, female));
+        assertEquals(2, tokenizations[0]);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testReorderingOfCrossedGametes() {
+        Set<AllelePair> orderedPairs = new LinkedHashSet<>(List.of(
+                new AllelePair("A", "a"),
+                new AllelePair("B", "b"),
+                new AllelePair("C", "c")
+        ));
+        Crossing crossing = new PolyhybridCrossing(combiner, tokenizer, validation, orderedPairs) {
+            @Override
+            public Map<String, Integer> crossing(String maleSequence, String femaleSequence) {
+                return Map.of(reorder(maleSequence + femaleSequence), 1);
+            }
+        };
+        assertEquals(Map.of("AaBbCc", 1), crossing.crossing("bCa", "AcB"));
+    }
+
+    @Test
+    public void testExactCrossingOfHomozygousLoci() {
+        CrossingConfig config = new CrossingConfig();
+        StringBuilder sequence = new StringBuilder();
+        for (int locus = 0; locus < 32; locus++) {
+            String dominant = "" + (char) ('A' + locus / 26) + (char) ('a' + locus % 26);
+            config.addAllelePairs(new AllelePair(dominant, dominant.toLowerCase()));
+            sequence.append(dominant).append(dominant);
+        }
+
+        Crossing crossing = Crossings.create(config);
+        CrossingResult result = crossing.exactCrossing(sequence.toString(), sequence.toString());
+        assertEquals(BigInteger.ONE.shiftLeft(64), result.getTotal());
+        assertEquals(Map.of(sequence.toString(), BigInteger.ONE.shiftLeft(64)), result.getCounts());
+        assertThrows(ArithmeticException.class, () -> crossing.crossing(sequence.toString(), sequence.toString()));
+    }
+
+    @Test
+    public void testCrossingOfMoreLociThanFitIntoLong() {
+        CrossingConfig config = new CrossingConfig();
+        StringBuilder male = new StringBuilder();
+        StringBuilder female = new StringBuilder();
+        for (int locus = 0; locus < 40; locus++) {
+            String dominant = "" + (char) ('A' + locus / 26) + (char) ('a' + locus % 26);
+            String recessive = dominant.toLowerCase();
+            config.addAllelePairs(new AllelePair(dominant, recessive));
+            male.append(dominant).append(locus % 13 == 0 ? recessive : dominant);
+            female.append(locus % 10 == 0 ? dominant : recessive).append(recessive);
+        }
+
+        CrossingResult result = Crossings.create(config).exactCrossing(male.toString(), female.toString());
+        config.setCrossingStrategy(CrossingStrategy.FACTORIZED);
+        assertEquals(Crossings.create(config).exactCrossing(male.toString(), female.toString()).getCounts(), result.getCounts());
+        assertEquals(3 * 64, result.getCounts().size());
+        assertEquals(BigInteger.ONE.shiftLeft(80), result.getTotal());
+    }
+
     @Test
     public void testCrossingReordering() {
         CrossingConfig config = new CrossingConfig();
@@ -0,0 +1,81 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.population.GenotypeDistribution;
+import com.purrer.gentools.population.PopulationEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PopulationEngineTest {
+
+    private static final double DELTA = 1e-12;
+
+    private final CrossingConfig config = new CrossingConfig();
+    private final PopulationEngine engine;
+
+    public PopulationEngineTest() {
+        config.addAllelePairs(new AllelePair("A", "a"), new AllelePair("B", "b"), new AllelePair("Cr", "cr"));
+        engine = new PopulationEngine(config);
+    }
+
+    @Test
+    public void whenParentalLinesAreCrossedThenF1IsHeterozygous() {
+        GenotypeDistribution f1 = engine.cross(engine.distribution("AABBCrCr"), engine.distribution("aabbcrcr"));
+        assertEquals(Map.of("AaBbCrcr", 1.0), engine.decode(f1));
+    }
+
+    @Test
+    public void whenRandomMatingThenSameAsPunnettSquare() {
+        GenotypeDistribution f1 = engine.distribution("AaBbCrcr");
+        Map<String, Double> f2 = engine.decode(engine.randomMating(f1, 1));
+        Map<String, Double> expected = Crossings.create(config).probabilities("AaBbCrcr", "AaBbCrcr");
+
+        assertEquals(expected.keySet(), f2.keySet());
+        expected.forEach((genotype, probability) -> assertEquals(probability, f2.get(genotype), DELTA));
+    }
+
+    @Test
+    public void whenRandomMatingThenHardyWeinbergEquilibrium() {
+        GenotypeDistribution f2 = engine.randomMating(engine.distribution("AaBBCrCr"), 1);
+        Map<String, Double> f12 = engine.decode(engine.randomMating(f2, 10));
+        assertEquals(0.25, f12.get("AABBCrCr"), DELTA);
+        assertEquals(0.5, f12.get("AaBBCrCr"), DELTA);
+        assertEquals(0.25, f12.get("aaBBCrCr"), DELTA);
+    }
+
+    @Test
+    public void whenSelfingThenHeterozygosityHalvesEveryGeneration() {
+        Map<String, Double> f11 = engine.decode(engine.selfing(engine.distribution("AaBBCrCr"), 10));
+        assertEquals(1.0 / 1024, f11.get("AaBBCrCr"), DELTA);
+        assertEquals((1 - 1.0 / 1024) / 2, f11.get("AABBCrCr"), DELTA);
+        assertEquals((1 - 1.0 / 1024) / 2, f11.get("aaBBCrCr"), DELTA);
+    }
+
+    @Test
+    public void whenBackcrossThenRecurrentParentGenotypeIsRestored() {
+        GenotypeDistribution recurrentParent = engine.distribution("AABBcrcr");
+        Map<String, Double> bc1 = engine.decode(engine.backcross(engine.distribution("AaBbCrcr"), recurrentParent, 1));
+        Map<String, Double> expected = Crossings.create(config).probabilities("AaBbCrcr", "AABBcrcr");
+        assertEquals(expected.keySet(), bc1.keySet());
+
+        Map<String, Double> bc10 = engine.decode(engine.backcross(engine.distribution("AaBbCrcr"), recurrentParent, 10));
+        assertEquals(Math.pow(1 - 1.0 / 1024, 3), bc10.get("AABBcrcr"), DELTA);
+        assertEquals(1.0, bc10.values().stream().mapToDouble(Double::doubleValue).sum(), DELTA);
+    }
+
+    @Test
+    public void whenGenotypesHaveDifferentLociThenException() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> engine.cross(engine.distribution("AaBb"), engine.distribution("AaCrcr"))
+        );
+        assertThrows(IllegalArgumentException.class, () -> engine.selfing(engine.distribution("AaBb"), -1));
+    }
+
+}
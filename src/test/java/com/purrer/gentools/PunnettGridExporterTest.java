@@ -0,0 +1,87 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.CrossingConfig;
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.crossing.GridFormat;
+import com.purrer.gentools.crossing.PunnettGridExporter;
+import com.purrer.gentools.entities.AllelePair;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PunnettGridExporterTest {
+
+    private final CrossingConfig config = new CrossingConfig();
+    private final PunnettGridExporter exporter;
+
+    public PunnettGridExporterTest() {
+        config.addAllelePairs(new AllelePair("A", "a"), new AllelePair("B", "b"), new AllelePair("Cr", "cr"));
+        exporter = Crossings.createPunnettGridExporter(config);
+    }
+
+    @Test
+    public void whenDihybridGridIsExportedThenClassicLayout() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exporter.export("AaBb", "AaBb", GridFormat.CSV, output);
+
+        assertEquals(
+                ",AB,Ab,aB,ab\n"
+                        + "AB,AABB,AABb,AaBB,AaBb\n"
+                        + "Ab,AABb,AAbb,AaBb,Aabb\n"
+                        + "aB,AaBB,AaBb,aaBB,aaBb\n"
+                        + "ab,AaBb,Aabb,aaBb,aabb\n",
+                output.toString(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    public void whenGridIsExportedThenCellsMatchCrossing() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exporter.export("AaBbCrcr", "aaBbcrCr", GridFormat.TSV, Channels.newChannel(output));
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(9, lines.length);
+        Map<String, Integer> cells = new HashMap<>();
+        for (int row = 1; row < lines.length; row++) {
+            String[] values = lines[row].split("\t");
+            assertEquals(9, values.length);
+            for (int column = 1; column < values.length; column++) {
+                cells.merge(values[column], 1, Integer::sum);
+            }
+        }
+        assertEquals(Crossings.create(config).crossing("AaBbCrcr", "aaBbcrCr"), cells);
+    }
+
+    @Test
+    public void whenGridIsLargerThanBufferThenAllRowsAreWritten() throws IOException {
+        CrossingConfig letters = new CrossingConfig();
+        for (char c = 'a'; c <= 'h'; c++) {
+            letters.addAllelePair(new AllelePair(String.valueOf(c).toUpperCase(), String.valueOf(c)));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Crossings.createPunnettGridExporter(letters)
+                .export("AaBbCcDdEeFfGgHh", "AaBbCcDdEeFfGgHh", GridFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(257, lines.length);
+        assertEquals("abcdefgh,AaBbCcDdEeFfGgHh", lines[256].substring(0, 25));
+        assertEquals("aabbccddeeffgghh", lines[256].substring(lines[256].lastIndexOf(',') + 1));
+    }
+
+    @Test
+    public void whenSequencesAreInvalidThenException() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> exporter.export("AaBb", "AaCrcr", GridFormat.CSV, new ByteArrayOutputStream())
+        );
+    }
+
+}
@@ -3,16 +3,25 @@ package com.purrer.gentools;
 import com.purrer.gentools.extractor.SymbolGameteGroupsExtractor;
 import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
 import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.entities.GametePair;
+import com.purrer.gentools.entities.ParsedSequence;
+import com.purrer.gentools.interfaces.AlleleIdTokenizer;
 import com.purrer.gentools.interfaces.GameteGroupsExtractor;
 import com.purrer.gentools.interfaces.SequenceTokenizer;
 import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
 import com.purrer.gentools.validation.SequenceValidationImpl;
+import com.purrer.gentools.validation.ValidationErrorCode;
 import com.purrer.gentools.validation.ValidationResult;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SequenceValidationTest {
@@ -88,6 +97,16 @@ public class SequenceValidationTest {
         assertTrue(validationResult.getMessage().contains("Gamete 'A' have more than one pair"));
     }
 
+    @Test
+    public void whenSequenceHasSeveralPairsOfSameAllelesThenFalse() {
+        GameteGroupsExtractor extractor = new TokenizingGameteGroupsExtractor(new TrieAllelePairsTokenizer(allelePairs));
+        SequenceValidation validation = new SequenceValidationImpl(extractor, allelePairs);
+
+        ValidationResult validationResult = validation.validateSequence("AaBbaA");
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getMessage().contains("Sequence should not contain repeating gamete pairs"));
+    }
+
     @Test
     public void whenSequenceHasNonLettersThenFalse() {
         ValidationResult validationResult = sequenceValidation.validateSequence(sequenceWithNonLetters);
@@ -111,6 +130,28 @@ public class SequenceValidationTest {
         assertFalse(validationResult.isValid());
     }
 
+    @Test
+    public void whenSequencePairIsInvalidThenFirstErrorIsReportedWithoutUnexpectedError() {
+        SequenceValidation trieValidation = new SequenceValidationImpl(
+                new TokenizingGameteGroupsExtractor(new TrieAllelePairsTokenizer(allelePairs)),
+                allelePairs
+        );
+        for (SequenceValidation validation : List.of(sequenceValidation, trieValidation)) {
+            assertEquals(
+                    ValidationErrorCode.DIFFERENT_LENGTHS,
+                    validation.validateSequencePair("AaBbCc", "AaBb").getErrorCode()
+            );
+            assertEquals(
+                    validation.validateSequence("AaXx").getErrorCode(),
+                    validation.validateSequencePair("AaXx", "AaBb").getErrorCode()
+            );
+            assertEquals(
+                    ValidationErrorCode.DIFFERENT_ALLELES,
+                    validation.validateSequencePair("AaBb", "AaCc").getErrorCode()
+            );
+        }
+    }
+
     @Test
     public void whenSequencesHasDifferentGametesSetThenFalse() {
         ValidationResult validationResult = sequenceValidation.validateSequencePair(normalSequence0, normalSequence3);
@@ -129,4 +170,97 @@ public class SequenceValidationTest {
         assertTrue(validationResult.isValid());
     }
 
+    @Test
+    public void whenValidatedWithAlleleIdsThenSameResultsAsWithGameteGroups() {
+        TrieAllelePairsTokenizer trieTokenizer = new TrieAllelePairsTokenizer(allelePairsForTokens);
+        SequenceValidation idValidation =
+                new SequenceValidationImpl(new TokenizingGameteGroupsExtractor(trieTokenizer), allelePairsForTokens);
+        SequenceValidation tokenValidation =
+                new SequenceValidationImpl(new TokenizingGameteGroupsExtractor(trieTokenizer::tokenize), allelePairsForTokens);
+
+        for (String sequence : List.of("AaAaBbbBbbCccCccDdDd", "AaaaDdDd", "", "AaAabbbbbbAaaa", "AaBbb", "AaAaBbb", "Aa1a", "AaXx")) {
+            ValidationResult expected = tokenValidation.validateSequence(sequence);
+            ValidationResult actual = idValidation.validateSequence(sequence);
+            assertEquals(expected.isValid(), actual.isValid(), sequence);
+            assertEquals(expected.getErrorCode(), actual.getErrorCode(), sequence);
+            assertEquals(
+                    tokenValidation.parse(sequence).getGameteGroups(),
+                    idValidation.parse(sequence).getGameteGroups(),
+                    sequence
+            );
+            ParsedSequence expectedParsed = tokenValidation.parse(sequence);
+            ParsedSequence actualParsed = idValidation.parse(sequence);
+            for (int position = 0; position < expectedParsed.getLocusCount() * 2; position++) {
+                assertEquals(expectedParsed.getAllele(position), actualParsed.getAllele(position), sequence);
+                assertEquals(expectedParsed.getAlleleId(position), actualParsed.getAlleleId(position), sequence);
+            }
+        }
+    }
+
+    @Test
+    public void whenValidSequenceIsValidatedWithAlleleIdsThenNothingIsAllocated() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SequenceValidation validation = new SequenceValidationImpl(
+                new TokenizingGameteGroupsExtractor(new TrieAllelePairsTokenizer(allelePairsForTokens)),
+                allelePairsForTokens
+        );
+        String sequence = "AaAaBbbBbbCccCccDdDd";
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(validation.validateSequence(sequence).isValid());
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            validation.validateSequence(sequence);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertTrue(allocated < 10_000, "Allocated " + allocated + " bytes");
+    }
+
+    @Test
+    public void whenSequenceIsInvalidThenErrorCodeAndPositionAreReportedWithoutGameteGroups() {
+        GameteGroupsExtractor extractor = new GameteGroupsExtractor() {
+            private final TrieAllelePairsTokenizer trieTokenizer = new TrieAllelePairsTokenizer(allelePairsForTokens);
+
+            @Override
+            public List<GametePair> getGameteGroups(String sequence) {
+                throw new AssertionError("Gamete groups should not be extracted");
+            }
+
+            @Override
+            public AlleleIdTokenizer getAlleleIdTokenizer() {
+                return trieTokenizer;
+            }
+        };
+        SequenceValidation validation = new SequenceValidationImpl(extractor, allelePairsForTokens);
+
+        assertError(validation.validateSequence(null), ValidationErrorCode.NULL_SEQUENCE, ValidationResult.NO_POSITION);
+        assertError(validation.validateSequence("AaAa1"), ValidationErrorCode.NON_LETTER, 4);
+        assertError(validation.validateSequence("AaAaXx"), ValidationErrorCode.UNPARSABLE, 4);
+        assertError(validation.validateSequence("AaAaBbb"), ValidationErrorCode.UNPARSABLE, 4);
+        assertError(validation.validateSequence("AaAaBbbbbbaaAa"), ValidationErrorCode.REPEATED_LOCUS, 10);
+        assertError(validation.validateSequence("AaAaBbbDd"), ValidationErrorCode.UNEXPECTED_ALLELE, 7);
+        assertTrue(validation.validateSequence("AaAaBbbbbb").isValid());
+
+        ValidationResult result = validation.validateSequence("AaAaBbb");
+        assertEquals("Invalid sequence: AaAaBbb. Allele 'Bbb' on position 4 doesn't have a pair", result.getMessage());
+        assertEquals(ValidationErrorCode.UNPARSABLE, validation.parse("AaAaBbb").getValidationResult().getErrorCode());
+    }
+
+    @Test
+    public void whenResultsAreCombinedThenInvalidResultIsKept() {
+        ValidationResult invalid = ValidationResult.invalid("first");
+        assertSame(ValidationResult.valid(), ValidationResult.valid().and(ValidationResult.valid()));
+        assertSame(invalid, invalid.and(ValidationResult.valid()));
+        assertSame(invalid, ValidationResult.valid().and(invalid));
+        assertEquals(ValidationErrorCode.UNSPECIFIED, invalid.getErrorCode());
+    }
+
+    private static void assertError(ValidationResult result, ValidationErrorCode errorCode, int position) {
+        assertFalse(result.isValid());
+        assertEquals(errorCode, result.getErrorCode());
+        assertEquals(position, result.getPosition());
+    }
+
 }
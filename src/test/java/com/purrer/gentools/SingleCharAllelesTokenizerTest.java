@@ -0,0 +1,110 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.crossing.Crossings;
+import com.purrer.gentools.crossing.PolyhybridCrossing;
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.extractor.TokenizingGameteGroupsExtractor;
+import com.purrer.gentools.interfaces.Crossing;
+import com.purrer.gentools.interfaces.SequenceValidation;
+import com.purrer.gentools.interfaces.Token;
+import com.purrer.gentools.tokenizers.SingleCharAllelesTokenizer;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
+import com.purrer.gentools.utils.GameteCombiner;
+import com.purrer.gentools.validation.SequenceValidationImpl;
+import com.purrer.gentools.validation.SingleCharSequenceValidation;
+import com.purrer.gentools.validation.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleCharAllelesTokenizerTest {
+
+    private final Set<AllelePair> allelePairs = new LinkedHashSet<>(List.of(
+            new AllelePair("A", "a"),
+            new AllelePair("B", "b"),
+            new AllelePair("C", "c")
+    ));
+
+    private final SingleCharAllelesTokenizer tokenizer = new SingleCharAllelesTokenizer(allelePairs);
+    private final TrieAllelePairsTokenizer trieTokenizer = new TrieAllelePairsTokenizer(allelePairs);
+
+    @Test
+    public void whenTokenizeThenSameTokensAndIdsAsTrieTokenizer() {
+        String sequence = "aABbCC";
+        assertEquals(values(trieTokenizer.tokenize(sequence)), values(tokenizer.tokenize(sequence)));
+
+        int[] alleleIds = new int[sequence.length()];
+        int[] trieAlleleIds = new int[sequence.length()];
+        assertEquals(trieTokenizer.tokenize(sequence, trieAlleleIds), tokenizer.tokenize(sequence, alleleIds));
+        assertArrayEquals(new int[]{1, 0, 2, 3, 4, 4}, alleleIds);
+        assertArrayEquals(trieAlleleIds, alleleIds);
+    }
+
+    @Test
+    public void whenSequenceHasUnknownAlleleThenSameErrorAsTrieTokenizer() {
+        String sequence = "AaBbXc";
+        RuntimeException expected = assertThrows(RuntimeException.class, () -> trieTokenizer.tokenize(sequence));
+        RuntimeException actual = assertThrows(RuntimeException.class, () -> tokenizer.tokenize(sequence));
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(-(4 + 1), tokenizer.tokenize("AaBb\u00e9c", new int[6]));
+    }
+
+    @Test
+    public void whenAlleleIsLongerThanCharThenNotSupported() {
+        Set<AllelePair> pairs = Set.of(new AllelePair("A", "a"), new AllelePair("Bb", "bb"));
+        assertFalse(SingleCharAllelesTokenizer.supports(pairs));
+        assertTrue(SingleCharAllelesTokenizer.supports(allelePairs));
+        assertThrows(IllegalArgumentException.class, () -> new SingleCharAllelesTokenizer(pairs));
+    }
+
+    @Test
+    public void whenSingleCharValidationThenSameResultsAsGeneralValidation() {
+        SequenceValidation validation = new SingleCharSequenceValidation(
+                new TokenizingGameteGroupsExtractor(tokenizer),
+                allelePairs
+        );
+        SequenceValidation generalValidation = new SequenceValidationImpl(
+                new TokenizingGameteGroupsExtractor(trieTokenizer::tokenize),
+                allelePairs
+        );
+
+        for (String sequence : List.of("AaBbCc", "ccAA", "", "AaBbAa", "AaB", "AaBc", "Aa1a", "AaXx", "aAbBcC")) {
+            ValidationResult expected = generalValidation.validateSequence(sequence);
+            ValidationResult actual = validation.validateSequence(sequence);
+            assertEquals(expected.isValid(), actual.isValid(), sequence);
+            assertEquals(expected.getErrorCode(), actual.getErrorCode(), sequence);
+        }
+    }
+
+    @Test
+    public void whenDefaultCrossingThenSameResultsAsTrieCrossing() {
+        Set<AllelePair> latinPairs = new LinkedHashSet<>();
+        for (char c = 'a'; c <= 'z'; c++) {
+            latinPairs.add(new AllelePair(String.valueOf(Character.toUpperCase(c)), String.valueOf(c)));
+        }
+        SequenceValidation trieValidation = new SequenceValidationImpl(
+                new TokenizingGameteGroupsExtractor(new TrieAllelePairsTokenizer(latinPairs)),
+                latinPairs
+        );
+        Crossing trieCrossing = new PolyhybridCrossing(new GameteCombiner(trieValidation), trieValidation, latinPairs);
+
+        assertEquals(
+                trieCrossing.crossing("AaBbCcZz", "aABbcCzZ"),
+                Crossings.createDefaultCrossing().crossing("AaBbCcZz", "aABbcCzZ")
+        );
+    }
+
+    private static List<String> values(List<Token> tokens) {
+        return tokens.stream().map(Token::getTokenValue).collect(Collectors.toList());
+    }
+
+}
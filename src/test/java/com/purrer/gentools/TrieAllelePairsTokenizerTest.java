@@ -0,0 +1,88 @@
+package com.purrer.gentools;
+
+import com.purrer.gentools.entities.AllelePair;
+import com.purrer.gentools.interfaces.Token;
+import com.purrer.gentools.tokenizers.AllelePairsTokenizer;
+import com.purrer.gentools.tokenizers.TrieAllelePairsTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrieAllelePairsTokenizerTest {
+
+    private final Set<AllelePair> complexLetterAllelePairs = Set.of(
+            new AllelePair("An", "an"),
+            new AllelePair("Bec", "bec"),
+            new AllelePair("One", "Two"),
+            new AllelePair("All", "None")
+    );
+
+    private final Set<AllelePair> prefixAllelePairs = Set.of(
+            new AllelePair("A", "a"),
+            new AllelePair("Ab", "ab")
+    );
+
+    private final TrieAllelePairsTokenizer complexLetterTokenizer = new TrieAllelePairsTokenizer(complexLetterAllelePairs);
+
+    @Test
+    public void whenTokenizeThenSameTokensAsAllelePairsTokenizer() {
+        String sequence = "AnAnTwoOnebecbecAllNone";
+        assertEquals(
+                values(new AllelePairsTokenizer(complexLetterAllelePairs).tokenize(sequence)),
+                values(complexLetterTokenizer.tokenize(sequence))
+        );
+    }
+
+    @Test
+    public void whenAlleleIsPrefixOfAnotherThenLongestMatchIsTaken() {
+        TrieAllelePairsTokenizer tokenizer = new TrieAllelePairsTokenizer(prefixAllelePairs);
+        assertEquals(List.of("Ab", "ab", "A", "a"), values(tokenizer.tokenize("AbabAa")));
+    }
+
+    @Test
+    public void whenSequenceHasUnknownAlleleThenException() {
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> complexLetterTokenizer.tokenize("AnAnTwoOnebecbxcAllNone")
+        );
+        assertTrue(exception.getMessage().contains("on position from: 13 to 15 near '...becbxcAl...'"));
+    }
+
+    @Test
+    public void whenTokenizedIntoIdsThenIdsFollowOrderOfPairs() {
+        TrieAllelePairsTokenizer tokenizer = new TrieAllelePairsTokenizer(new LinkedHashSet<>(List.of(
+                new AllelePair("Ab", "ab"),
+                new AllelePair("A", "a")
+        )));
+        int[] alleleIds = new int[6];
+        assertEquals(4, tokenizer.tokenize("AbabAa", alleleIds));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 0, 0}, alleleIds);
+
+        short[] shortIds = new short[6];
+        assertEquals(4, tokenizer.tokenize("aAabAb", shortIds));
+        assertArrayEquals(new short[]{3, 2, 1, 0, 0, 0}, shortIds);
+
+        assertEquals(4, tokenizer.getAlleleCount());
+        assertEquals("ab", tokenizer.getAllele(1));
+    }
+
+    @Test
+    public void whenIdsCannotBeTokenizedThenNegativePosition() {
+        int[] alleleIds = new int[32];
+        assertEquals(-(13 + 1), complexLetterTokenizer.tokenize("AnAnTwoOnebecbxcAllNone", alleleIds));
+        assertThrows(IllegalArgumentException.class, () -> complexLetterTokenizer.tokenize("AnAnAn", new int[2]));
+    }
+
+    private static List<String> values(List<Token> tokens) {
+        return tokens.stream().map(Token::getTokenValue).collect(Collectors.toList());
+    }
+
+}